@@ -0,0 +1,83 @@
+package com.mjc.school.benchmark.aspect;
+
+import com.mjc.school.service.aspect.ValidationAspect;
+import com.mjc.school.service.dto.PaginationDtoRequest;
+import com.mjc.school.service.validator.Valid;
+import com.mjc.school.service.validator.ValidatorImpl;
+import com.mjc.school.service.validator.checker.ConstraintChecker;
+import com.mjc.school.service.validator.checker.CountStrategyChecker;
+import com.mjc.school.service.validator.checker.CursorTokenChecker;
+import com.mjc.school.service.validator.checker.MaxConstraintChecker;
+import com.mjc.school.service.validator.checker.MinConstraintChecker;
+import com.mjc.school.service.validator.checker.NotNullConstraintChecker;
+import com.mjc.school.service.validator.checker.SizeConstraintChecker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A call with a validated parameter made directly, through a proxy without advice and through a proxy
+ * advised by the validation aspect, the differences being the proxy and the advice overhead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationAspectBenchmark {
+    private PaginatedReads direct;
+    private PaginatedReads proxied;
+    private PaginatedReads advised;
+    private PaginationDtoRequest pagination;
+
+    @Setup
+    public void setUp() {
+        List<ConstraintChecker> checkers = List.of(new NotNullConstraintChecker(), new MinConstraintChecker(),
+            new MaxConstraintChecker(), new SizeConstraintChecker(), new CursorTokenChecker(), new CountStrategyChecker());
+        direct = new PaginatedReads();
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new PaginatedReads());
+        proxyFactory.setProxyTargetClass(true);
+        proxied = proxyFactory.getProxy();
+
+        AspectJProxyFactory advisedFactory = new AspectJProxyFactory(new PaginatedReads());
+        advisedFactory.setProxyTargetClass(true);
+        advisedFactory.addAspect(new ValidationAspect(new ValidatorImpl(checkers)));
+        advised = advisedFactory.getProxy();
+
+        pagination = new PaginationDtoRequest(2, 20, null, "exact");
+    }
+
+    @Benchmark
+    public int direct() {
+        return direct.readAll(pagination);
+    }
+
+    @Benchmark
+    public int proxied() {
+        return proxied.readAll(pagination);
+    }
+
+    @Benchmark
+    public int advised() {
+        return advised.readAll(pagination);
+    }
+
+    public static class PaginatedReads {
+        public int readAll(@Valid PaginationDtoRequest pagination) {
+            return pagination.getPage();
+        }
+    }
+}
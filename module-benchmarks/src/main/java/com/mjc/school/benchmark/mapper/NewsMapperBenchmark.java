@@ -0,0 +1,107 @@
+package com.mjc.school.benchmark.mapper;
+
+import com.mjc.school.repository.model.Author;
+import com.mjc.school.repository.model.News;
+import com.mjc.school.repository.model.Tag;
+import com.mjc.school.repository.query.AuthorView;
+import com.mjc.school.repository.query.CommentView;
+import com.mjc.school.repository.query.NewsView;
+import com.mjc.school.repository.query.TagView;
+import com.mjc.school.service.dto.NewsDtoResponse;
+import com.mjc.school.service.mapper.AuthorMapper;
+import com.mjc.school.service.mapper.CommentMapper;
+import com.mjc.school.service.mapper.NewsMapper;
+import com.mjc.school.service.mapper.TagMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * News entities and news views mapped to responses, one at a time and a page at a time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NewsMapperBenchmark {
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private NewsMapper newsMapper;
+    private News news;
+    private List<News> newsPage;
+    private List<NewsView> newsViewPage;
+
+    @Setup
+    public void setUp() throws IllegalAccessException {
+        // the generated mappers are spring components, their collaborators are set the way injection would
+        newsMapper = Mappers.getMapper(NewsMapper.class);
+        wire(newsMapper, Mappers.getMapper(AuthorMapper.class), Mappers.getMapper(TagMapper.class),
+            Mappers.getMapper(CommentMapper.class));
+
+        LocalDateTime now = LocalDateTime.now();
+        Author author = new Author(1L, "benchmarkAuthor", now, now);
+        List<Tag> tags = List.of(new Tag(1L, "benchmarkTag1"), new Tag(2L, "benchmarkTag2"), new Tag(3L, "benchmarkTag3"));
+        AuthorView authorView = new AuthorView(1L, "benchmarkAuthor", now, now);
+        List<TagView> tagViews = List.of(new TagView(1L, "benchmarkTag1"), new TagView(2L, "benchmarkTag2"),
+            new TagView(3L, "benchmarkTag3"));
+        List<CommentView> commentViews = new ArrayList<>();
+        for (long i = 1; i <= 5; i++) {
+            commentViews.add(new CommentView(i, "benchmarkComment" + i, now, now));
+        }
+
+        newsPage = new ArrayList<>();
+        newsViewPage = new ArrayList<>();
+        for (long i = 1; i <= pageSize; i++) {
+            newsPage.add(new News(i, "benchmarkTitle" + i, "benchmarkContent" + i, now, now, author, tags, null));
+            newsViewPage.add(new NewsView(i, "benchmarkTitle" + i, "benchmarkContent" + i, now, now, authorView, tagViews,
+                commentViews, 42L));
+        }
+        news = newsPage.get(0);
+    }
+
+    @Benchmark
+    public NewsDtoResponse modelToDto() {
+        return newsMapper.modelToDto(news);
+    }
+
+    @Benchmark
+    public List<NewsDtoResponse> modelListToDtoList() {
+        return newsMapper.modelListToDtoList(newsPage);
+    }
+
+    @Benchmark
+    public List<NewsDtoResponse> viewListToDtoList() {
+        return newsMapper.viewListToDtoList(newsViewPage);
+    }
+
+    private static void wire(Object mapper, Object... collaborators) throws IllegalAccessException {
+        for (Class<?> type = mapper.getClass(); type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                for (Object collaborator : collaborators) {
+                    if (field.getType().isInstance(collaborator)) {
+                        field.setAccessible(true);
+                        field.set(mapper, collaborator);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.mjc.school.benchmark.mapper;
+
+import com.mjc.school.repository.filter.SearchCriteria;
+import com.mjc.school.repository.sorting.Sorting;
+import com.mjc.school.service.dto.SearchFilterDtoRequest;
+import com.mjc.school.service.dto.SortingDtoRequest;
+import com.mjc.school.service.filter.NewsSearchFilterMapper;
+import com.mjc.school.service.sort.NewsSortingMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorting and filter parameters of a news listing parsed into sortings and search criteria, which
+ * {@code createSorting} and {@code createSearchCriteria} do for every listing request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestMapperBenchmark {
+    private NewsSortingMapper sortingMapper;
+    private NewsSearchFilterMapper searchFilterMapper;
+    private SortingDtoRequest defaultSorting;
+    private SortingDtoRequest sorting;
+    private SearchFilterDtoRequest searchFilter;
+
+    @Setup
+    public void setUp() {
+        sortingMapper = new NewsSortingMapper();
+        searchFilterMapper = new NewsSearchFilterMapper();
+        defaultSorting = new SortingDtoRequest(null);
+        sorting = new SortingDtoRequest(List.of("createdDate:desc", "title:asc"));
+        searchFilter = new SearchFilterDtoRequest(List.of("title:benchmark", "tagName:benchmarkTag", "authorName:benchmarkAuthor"));
+    }
+
+    @Benchmark
+    public List<Sorting> defaultSorting() {
+        return sortingMapper.map(defaultSorting);
+    }
+
+    @Benchmark
+    public List<Sorting> sorting() {
+        return sortingMapper.map(sorting);
+    }
+
+    @Benchmark
+    public List<SearchCriteria> searchCriteria() {
+        return searchFilterMapper.map(searchFilter);
+    }
+}
@@ -0,0 +1,106 @@
+package com.mjc.school.benchmark.serialization;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mjc.school.config.WebConfiguration;
+import com.mjc.school.service.dto.AuthorDtoResponse;
+import com.mjc.school.service.dto.CommentForNewsDtoResponse;
+import com.mjc.school.service.dto.NewsDtoResponse;
+import com.mjc.school.service.dto.PageDtoResponse;
+import com.mjc.school.service.dto.TagDtoResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A page of news responses written as HAL by an object mapper set up like the application one, with the
+ * links the controllers add and without any.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageSerializationBenchmark {
+    private static final String BASE_URI = "http://localhost:8080/api/v1/news/";
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private PageDtoResponse<NewsDtoResponse> pageWithLinks;
+    private PageDtoResponse<NewsDtoResponse> pageWithoutLinks;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new WebConfiguration().sparseFieldsCustomizer().customize(builder);
+        objectMapper = builder.build();
+        objectMapper.registerModule(new Jackson2HalModule());
+        objectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+            new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+
+        List<NewsDtoResponse> withLinks = new ArrayList<>();
+        List<NewsDtoResponse> withoutLinks = new ArrayList<>();
+        for (long i = 1; i <= pageSize; i++) {
+            NewsDtoResponse news = news(i);
+            news.add(Link.of(BASE_URI + i).withSelfRel());
+            news.add(Link.of(BASE_URI + i + "/tags?page=1&size=10").withRel("tagsNames"));
+            news.add(Link.of(BASE_URI + i + "/comments?page=1&size=10").withRel("comments"));
+            news.add(Link.of(BASE_URI + i + "/author").withRel("authorName"));
+            withLinks.add(news);
+            withoutLinks.add(news(i));
+        }
+        pageWithLinks = new PageDtoResponse<>(withLinks, 1, 10);
+        pageWithoutLinks = new PageDtoResponse<>(withoutLinks, 1, 10);
+    }
+
+    @Benchmark
+    public byte[] pageWithLinks() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pageWithLinks);
+    }
+
+    @Benchmark
+    public byte[] pageWithoutLinks() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pageWithoutLinks);
+    }
+
+    private static NewsDtoResponse news(long id) {
+        LocalDateTime now = LocalDateTime.now();
+        List<CommentForNewsDtoResponse> comments = new ArrayList<>();
+        for (long i = 1; i <= 5; i++) {
+            comments.add(new CommentForNewsDtoResponse(i, "benchmarkComment" + i, now, now));
+        }
+        return NewsDtoResponse.builder()
+            .id(id)
+            .title("benchmarkTitle" + id)
+            .content("benchmarkContent" + id)
+            .createdDate(now)
+            .lastUpdatedDate(now)
+            .authorDto(new AuthorDtoResponse(1L, "benchmarkAuthor", now, now))
+            .tagDtos(List.of(new TagDtoResponse(1L, "benchmarkTag1"), new TagDtoResponse(2L, "benchmarkTag2")))
+            .commentForNewsDtos(comments)
+            .commentCount(42L)
+            .build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.mjc.school.benchmark.validator;
+
+import com.mjc.school.service.dto.NewsDtoCreateRequest;
+import com.mjc.school.service.dto.NewsDtoCreateRequest_Validator;
+import com.mjc.school.service.dto.PaginationDtoRequest;
+import com.mjc.school.service.dto.PaginationDtoRequest_Validator;
+import com.mjc.school.service.validator.ValidatorImpl;
+import com.mjc.school.service.validator.checker.ConstraintChecker;
+import com.mjc.school.service.validator.checker.CountStrategyChecker;
+import com.mjc.school.service.validator.checker.CursorTokenChecker;
+import com.mjc.school.service.validator.checker.MaxConstraintChecker;
+import com.mjc.school.service.validator.checker.MinConstraintChecker;
+import com.mjc.school.service.validator.checker.NotNullConstraintChecker;
+import com.mjc.school.service.validator.checker.SizeConstraintChecker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The validator with its cached field plans against the same validator using the generated validators,
+ * for a valid request, which is the common case, and an invalid one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidatorBenchmark {
+    private ValidatorImpl reflectiveValidator;
+    private ValidatorImpl generatedValidator;
+    private PaginationDtoRequest pagination;
+    private NewsDtoCreateRequest validCreateRequest;
+    private NewsDtoCreateRequest invalidCreateRequest;
+
+    @Setup
+    public void setUp() {
+        CursorTokenChecker cursorTokenChecker = new CursorTokenChecker();
+        CountStrategyChecker countStrategyChecker = new CountStrategyChecker();
+        List<ConstraintChecker> checkers = List.of(new NotNullConstraintChecker(), new MinConstraintChecker(),
+            new MaxConstraintChecker(), new SizeConstraintChecker(), cursorTokenChecker, countStrategyChecker);
+        reflectiveValidator = new ValidatorImpl(checkers);
+        generatedValidator = new ValidatorImpl(checkers, List.of(
+            new PaginationDtoRequest_Validator(cursorTokenChecker, countStrategyChecker),
+            new NewsDtoCreateRequest_Validator()));
+        pagination = new PaginationDtoRequest(2, 20, null, "exact");
+        validCreateRequest = new NewsDtoCreateRequest("benchmarkTitle", "benchmarkContent", null, "benchmarkAuthor",
+            List.of("benchmarkTag"));
+        invalidCreateRequest = new NewsDtoCreateRequest(null, "tiny", null, "ab", null);
+    }
+
+    @Benchmark
+    public List<String> reflectivePagination() {
+        return reflectiveValidator.validate(pagination, null);
+    }
+
+    @Benchmark
+    public List<String> generatedPagination() {
+        return generatedValidator.validate(pagination, null);
+    }
+
+    @Benchmark
+    public List<String> reflectiveValidCreateRequest() {
+        return reflectiveValidator.validate(validCreateRequest, null);
+    }
+
+    @Benchmark
+    public List<String> generatedValidCreateRequest() {
+        return generatedValidator.validate(validCreateRequest, null);
+    }
+
+    @Benchmark
+    public List<String> reflectiveInvalidCreateRequest() {
+        return reflectiveValidator.validate(invalidCreateRequest, null);
+    }
+
+    @Benchmark
+    public List<String> generatedInvalidCreateRequest() {
+        return generatedValidator.validate(invalidCreateRequest, null);
+    }
+}
@@ -0,0 +1,84 @@
+package com.mjc.school.controller.impl;
+
+import com.mjc.school.service.dto.AuthorDtoResponse;
+import com.mjc.school.service.dto.NewsDtoResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * The links the controllers add to every response they return, built from the current request, against
+ * building the same news links with {@code linkTo(methodOn(...))}. In this package since the controllers'
+ * link helpers are package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+// the request is bound to the thread running the benchmark
+@State(Scope.Thread)
+public class HateoasLinksBenchmark {
+    private LocalDateTime now;
+
+    @Setup
+    public void setUp() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/news");
+        request.setServerName("localhost");
+        request.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        now = LocalDateTime.now();
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public NewsDtoResponse newsLinks() {
+        return NewsRestController.addHateoasLinksToNewsDtoResponse(NewsDtoResponse.builder()
+            .id(1L)
+            .title("benchmarkTitle")
+            .content("benchmarkContent")
+            .build());
+    }
+
+    @Benchmark
+    public NewsDtoResponse newsLinksWithMethodOn() {
+        NewsDtoResponse dtoResponse = NewsDtoResponse.builder()
+            .id(1L)
+            .title("benchmarkTitle")
+            .content("benchmarkContent")
+            .build();
+        dtoResponse.add(linkTo(methodOn(NewsRestController.class).readById(dtoResponse.getId(), null, null)).withSelfRel());
+        dtoResponse.add(linkTo(methodOn(NewsRestController.class).readTagsByNewsId(dtoResponse.getId(), 1, 10, null)).withRel("tagsNames"));
+        dtoResponse.add(linkTo(methodOn(NewsRestController.class).readCommentsByNewsId(dtoResponse.getId(),
+            1, 10, null, Collections.emptyList())).withRel("comments"));
+        dtoResponse.add(linkTo(methodOn(NewsRestController.class).readAuthorByNewsId(dtoResponse.getId())).withRel("authorName"));
+        return dtoResponse;
+    }
+
+    @Benchmark
+    public AuthorDtoResponse authorLinks() {
+        return AuthorRestController.addHateoasLinksToAuthorDtoResponse(new AuthorDtoResponse(1L, "benchmarkAuthor", now, now));
+    }
+}
@@ -1,14 +1,25 @@
 package com.mjc.school.repository;
 
+import com.mjc.school.repository.filter.SearchCriteria;
 import com.mjc.school.repository.pagination.Page;
 import com.mjc.school.repository.pagination.Pagination;
 import com.mjc.school.repository.model.Author;
+import com.mjc.school.repository.query.AuthorView;
 import com.mjc.school.repository.query.AuthorWithNewsCount;
+import com.mjc.school.repository.query.VersionView;
+import com.mjc.school.repository.sorting.Sorting;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface AuthorRepository extends BaseRepository<Author, Long> {
     Optional<Author> readByNewsId(Long newsId);
     Optional<Author> readByName(String name);
+    Optional<Author> readCachedByName(String name);
+    List<Author> readByNames(Collection<String> names);
+    List<Author> ensureByNames(Collection<String> names);
     Page<AuthorWithNewsCount> readWithNewsCount(Pagination pagination);
+    Page<AuthorView> readAllViews(Pagination pagination, List<Sorting> sorting, List<SearchCriteria> searchCriteria);
+    Optional<VersionView> readVersionById(Long id);
 }
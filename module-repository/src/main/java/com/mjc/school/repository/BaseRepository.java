@@ -13,6 +13,8 @@ public interface BaseRepository<T extends BaseEntity<K>, K> {
 
     Page<T> readAll(Pagination pagination, List<Sorting> sorting, List<SearchCriteria> searchCriteria);
 
+    Page<T> readAll(Pagination pagination, List<Sorting> sorting, List<SearchCriteria> searchCriteria, String entityGraph);
+
     Optional<T> readById(K id);
 
     T create(T entity);
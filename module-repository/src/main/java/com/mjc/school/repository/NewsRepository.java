@@ -1,6 +1,52 @@
 package com.mjc.school.repository;
 
+import com.mjc.school.repository.filter.SearchCriteria;
 import com.mjc.school.repository.model.News;
+import com.mjc.school.repository.pagination.Page;
+import com.mjc.school.repository.pagination.Pagination;
+import com.mjc.school.repository.query.NewsAssociation;
+import com.mjc.school.repository.query.NewsSearchView;
+import com.mjc.school.repository.query.NewsView;
+import com.mjc.school.repository.query.VersionView;
+import com.mjc.school.repository.sorting.Sorting;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface NewsRepository extends BaseRepository<News, Long> {
+    Page<NewsView> readAllViews(Pagination pagination, List<Sorting> sorting, List<SearchCriteria> searchCriteria);
+
+    /**
+     * Views with only the given associations read, the others stay empty.
+     */
+    Page<NewsView> readAllViews(Pagination pagination, List<Sorting> sorting, List<SearchCriteria> searchCriteria,
+                                Set<NewsAssociation> associations);
+
+    /**
+     * Views of the given news in the order of the ids, ids of missing news are skipped.
+     */
+    List<NewsView> readViewsByIds(List<Long> ids);
+
+    List<NewsView> readViewsByIds(List<Long> ids, Set<NewsAssociation> associations);
+
+    List<NewsSearchView> readAllSearchViews();
+
+    /**
+     * Views of all news in id order, read through a forward-only cursor and handed over chunk by chunk,
+     * so memory does not grow with the table. Has to run inside a transaction that keeps the cursor open.
+     */
+    void readAllViewsInChunks(Consumer<List<NewsView>> chunkConsumer);
+
+    /**
+     * Version of the news together with its author, tags and comments, read without loading any of them.
+     */
+    Optional<VersionView> readVersionById(Long id);
+
+    /**
+     * Inserts the news and their tag links with JDBC batches and sets the generated ids and audit dates.
+     * Author and tags have to exist already.
+     */
+    List<News> createAll(List<News> newsList);
 }
@@ -1,14 +1,21 @@
 package com.mjc.school.repository;
 
+import com.mjc.school.repository.filter.SearchCriteria;
 import com.mjc.school.repository.pagination.Page;
 import com.mjc.school.repository.pagination.Pagination;
 import com.mjc.school.repository.sorting.Sorting;
 import com.mjc.school.repository.model.Tag;
+import com.mjc.school.repository.query.TagView;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface TagRepository extends BaseRepository<Tag, Long> {
     Page<Tag> readByNewsId(Long newsId, Pagination pagination);
     Optional<Tag> readByName(String name);
+    Optional<Tag> readCachedByName(String name);
+    List<Tag> readByNames(Collection<String> names);
+    List<Tag> ensureByNames(Collection<String> names);
+    Page<TagView> readAllViews(Pagination pagination, List<Sorting> sorting, List<SearchCriteria> searchCriteria);
 }
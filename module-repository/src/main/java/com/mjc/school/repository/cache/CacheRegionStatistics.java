@@ -0,0 +1,11 @@
+package com.mjc.school.repository.cache;
+
+/**
+ * Hit, miss and put counts of one second-level cache region since startup.
+ */
+public record CacheRegionStatistics(String region,
+                                    long hitCount,
+                                    long missCount,
+                                    long putCount,
+                                    long elementCountInMemory) {
+}
@@ -0,0 +1,108 @@
+package com.mjc.school.repository.cache;
+
+import com.mjc.school.repository.filter.SearchCriteria;
+import com.mjc.school.repository.routing.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Entity counts per filter signature, bounded in size and age. Entries of an entity class are evicted
+ * whenever its rows are written, once immediately and once more when the writing transaction completes.
+ * Counts read on a replica are not cached, as they may miss writes the primary already committed.
+ */
+@Component
+public class PageCountCache {
+    private final long ttlMillis;
+    private final Map<CountKey, CachedCount> counts;
+    private final Map<Class<?>, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public PageCountCache(@Value("${repository.page-count-cache.ttl-seconds:30}") long ttlSeconds,
+                          @Value("${repository.page-count-cache.max-size:10000}") int maxSize) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.counts = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CountKey, CachedCount> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    public Long getOrCount(Class<?> entityClass, List<SearchCriteria> searchCriteria, Supplier<Long> counter) {
+        CountKey key = new CountKey(entityClass, canonicalForm(searchCriteria));
+        long now = System.currentTimeMillis();
+        CachedCount cached = counts.get(key);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.count();
+        }
+        long generation = generation(entityClass).get();
+        Long count = counter.get();
+        // a write that happened while counting makes the result stale, so it is not cached
+        if (generation == generation(entityClass).get() && !ReplicaRoutingDataSource.isReadingFromReplica()) {
+            counts.put(key, new CachedCount(count, now + ttlMillis));
+        }
+        return count;
+    }
+
+    public void invalidate(Class<?> entityClass) {
+        evict(entityClass);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(entityClass);
+                }
+            });
+        }
+    }
+
+    private void evict(Class<?> entityClass) {
+        generation(entityClass).incrementAndGet();
+        synchronized (counts) {
+            counts.keySet().removeIf(key -> key.entityClass().equals(entityClass));
+        }
+    }
+
+    private AtomicLong generation(Class<?> entityClass) {
+        return generations.computeIfAbsent(entityClass, c -> new AtomicLong());
+    }
+
+    // criteria are ANDed, so neither their order nor repetitions change the count; fields and values are kept
+    // apart, a value can hold any character
+    private static List<Criterion> canonicalForm(List<SearchCriteria> searchCriteria) {
+        if (searchCriteria == null || searchCriteria.isEmpty()) {
+            return List.of();
+        }
+        TreeSet<Criterion> criteria = new TreeSet<>();
+        for (SearchCriteria criterion : searchCriteria) {
+            criteria.add(new Criterion(criterion.getField().trim(), String.valueOf(criterion.getValue()).trim()));
+        }
+        return List.copyOf(criteria);
+    }
+
+    private record CountKey(Class<?> entityClass, List<Criterion> searchCriteria) {
+    }
+
+    private record Criterion(String field, String value) implements Comparable<Criterion> {
+        private static final Comparator<Criterion> ORDER = Comparator.comparing(Criterion::field).thenComparing(Criterion::value);
+
+        @Override
+        public int compareTo(Criterion other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    private record CachedCount(Long count, long expiresAt) {
+    }
+}
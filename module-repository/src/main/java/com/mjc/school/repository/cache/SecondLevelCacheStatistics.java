@@ -0,0 +1,36 @@
+package com.mjc.school.repository.cache;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Per-region counts of the Hibernate second-level cache, the entity, natural id and query cache regions alike.
+ * Hibernate only counts with hibernate.generate_statistics enabled, otherwise every count stays 0.
+ */
+@Component
+public class SecondLevelCacheStatistics {
+    @PersistenceUnit
+    private EntityManagerFactory entityManagerFactory;
+
+    public List<CacheRegionStatistics> readRegionStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<CacheRegionStatistics> regions = new ArrayList<>();
+        String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regionNames);
+        for (String regionName : regionNames) {
+            org.hibernate.stat.CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                regions.add(new CacheRegionStatistics(regionName, region.getHitCount(), region.getMissCount(),
+                    region.getPutCount(), region.getElementCountInMemory()));
+            }
+        }
+        return regions;
+    }
+}
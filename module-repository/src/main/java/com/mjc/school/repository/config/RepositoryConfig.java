@@ -1,9 +1,105 @@
 package com.mjc.school.repository.config;
 
+import com.mjc.school.repository.routing.ReplicaRoutingDataSource;
+import com.mjc.school.repository.routing.ReplicaSelection;
+import com.mjc.school.repository.statistics.StatementCountingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
 @EnableJpaAuditing
 public class RepositoryConfig {
+    // (database server cores * 2) + effective spindles, beyond that connections only queue inside the database
+    @Value("${repository.datasource.maximum-pool-size:10}")
+    private int maximumPoolSize;
+    // a request waiting longer than this for a connection fails instead of queuing behind a saturated pool
+    @Value("${repository.datasource.connection-timeout-ms:2000}")
+    private long connectionTimeoutMs;
+    // Connection.isValid, a protocol level ping, with no test query
+    @Value("${repository.datasource.validation-timeout-ms:1000}")
+    private long validationTimeoutMs;
+    // idle connections are pinged at most this often instead of validated on every borrow after idling
+    @Value("${repository.datasource.keepalive-time-ms:300000}")
+    private long keepaliveTimeMs;
+    // below the server's and any firewall's idle connection timeouts
+    @Value("${repository.datasource.max-lifetime-ms:1800000}")
+    private long maxLifetimeMs;
+    // longer than the slowest legitimate transaction, the batch import and the export included
+    @Value("${repository.datasource.leak-detection-threshold-ms:60000}")
+    private long leakDetectionThresholdMs;
+    // executions of a statement after which the driver switches it to a server-side prepared statement
+    @Value("${repository.datasource.prepare-threshold:3}")
+    private int prepareThreshold;
+    @Value("${repository.datasource.prepared-statement-cache-queries:256}")
+    private int preparedStatementCacheQueries;
+    @Value("${repository.datasource.prepared-statement-cache-size-mib:5}")
+    private int preparedStatementCacheSizeMib;
+    // read-only transactions go to these replicas, with the primary's credentials; none routes everything to the primary
+    @Value("${repository.datasource.replica-urls:}")
+    private List<String> replicaUrls;
+    @Value("${repository.datasource.replica-selection:round-robin}")
+    private String replicaSelection;
+    @Value("${repository.datasource.replica-max-lag-ms:1000}")
+    private long replicaMaxLagMs;
+    @Value("${repository.datasource.replica-lag-check-interval-ms:1000}")
+    private long replicaLagCheckIntervalMs;
+    // PostgreSQL's by default, empty to not check the lag, for replicas that cannot answer it
+    @Value("${repository.datasource.replica-lag-query:#{null}}")
+    private String replicaLagQuery;
+    @Value("${repository.datasource.read-your-writes-window-ms:5000}")
+    private long readYourWritesWindowMs;
+
+    /**
+     * Fixed-size pools, minimum idle being the maximum size, so that a burst does not wait for connections
+     * to be opened. The pools record acquire latency, active, idle and pending counts and timeouts as
+     * hikaricp.connections.* metrics when there is a meter registry. With replicas, read-only transactions are
+     * routed to them by {@link ReplicaRoutingDataSource}, each replica having a pool sized like the primary's.
+     */
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource primary = pool("news-pool", properties.determineUrl(), properties, meterRegistry);
+        if (replicaUrls.isEmpty()) {
+            return new StatementCountingDataSource(primary);
+        }
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            replicas.add(pool("news-replica-pool-" + i, replicaUrls.get(i).trim(), properties, meterRegistry));
+        }
+        String lagQuery = replicaLagQuery == null ? ReplicaRoutingDataSource.POSTGRESQL_LAG_QUERY
+            : replicaLagQuery.isBlank() ? null : replicaLagQuery;
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primary, replicas,
+            ReplicaSelection.of(replicaSelection), replicaMaxLagMs, readYourWritesWindowMs, lagQuery, replicaLagCheckIntervalMs);
+        // a connection is only obtained once the transaction is known to be read-only or not
+        return new StatementCountingDataSource(new LazyConnectionDataSourceProxy(routingDataSource));
+    }
+
+    private HikariDataSource pool(String poolName, String url, DataSourceProperties properties,
+                                  ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).url(url).build();
+        dataSource.setPoolName(poolName);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setMinimumIdle(maximumPoolSize);
+        dataSource.setConnectionTimeout(connectionTimeoutMs);
+        dataSource.setValidationTimeout(validationTimeoutMs);
+        dataSource.setKeepaliveTime(keepaliveTimeMs);
+        dataSource.setMaxLifetime(maxLifetimeMs);
+        dataSource.setLeakDetectionThreshold(leakDetectionThresholdMs);
+        dataSource.addDataSourceProperty("prepareThreshold", prepareThreshold);
+        dataSource.addDataSourceProperty("preparedStatementCacheQueries", preparedStatementCacheQueries);
+        dataSource.addDataSourceProperty("preparedStatementCacheSizeMiB", preparedStatementCacheSizeMib);
+        meterRegistry.ifAvailable(registry -> dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return dataSource;
+    }
 }
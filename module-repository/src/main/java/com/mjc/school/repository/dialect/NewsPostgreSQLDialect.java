@@ -0,0 +1,27 @@
+package com.mjc.school.repository.dialect;
+
+import org.hibernate.dialect.PostgreSQL94Dialect;
+import org.hibernate.dialect.function.SQLFunctionTemplate;
+import org.hibernate.type.StandardBasicTypes;
+
+public class NewsPostgreSQLDialect extends PostgreSQL94Dialect {
+    public static final String COUNT_OVER_FUNCTION = "count_over";
+    public static final String FTS_MATCH_FUNCTION = "fts_match";
+    public static final String FTS_RANK_FUNCTION = "fts_rank";
+
+    // has to stay identical to the expression of the news_search_vector_idx index, otherwise the index is not used
+    private static final String SEARCH_VECTOR = "(setweight(to_tsvector('english', coalesce(?1, '')), 'A')" +
+        " || setweight(to_tsvector('english', coalesce(?2, '')), 'B'))";
+
+    public NewsPostgreSQLDialect() {
+        super();
+        // total row count of the result set before LIMIT/OFFSET, available to HQL and criteria queries
+        registerFunction(COUNT_OVER_FUNCTION, new SQLFunctionTemplate(StandardBasicTypes.LONG, "count(*) over()"));
+        // fts_match(title, content, query) and fts_rank(title, content, query), title weighted above content
+        registerFunction(FTS_MATCH_FUNCTION, new SQLFunctionTemplate(StandardBasicTypes.BOOLEAN,
+            "(" + SEARCH_VECTOR + " @@ plainto_tsquery('english', ?3))"));
+        // ts_rank is a real, cast so that the value written into a cursor compares equal when read back
+        registerFunction(FTS_RANK_FUNCTION, new SQLFunctionTemplate(StandardBasicTypes.DOUBLE,
+            "cast(ts_rank(" + SEARCH_VECTOR + ", plainto_tsquery('english', ?3)) as double precision)"));
+    }
+}
@@ -0,0 +1,7 @@
+package com.mjc.school.repository.exception;
+
+public class InvalidCursorRepositoryException extends RuntimeException {
+    public InvalidCursorRepositoryException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,32 @@
+package com.mjc.school.repository.id;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Sequence generator handing out ids from blocks allocated with a single nextval, pooled-lo by default.
+ * The allocation size of the mapping can be overridden per sequence with the Hibernate setting
+ * {@code repository.id.allocation-size.<sequence name>}; the increment of the database sequence has to be
+ * changed with it, Hibernate refuses to start on a mismatch.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+    public static final String STRATEGY = "com.mjc.school.repository.id.PooledSequenceGenerator";
+    public static final String ALLOCATION_SIZE_SETTING_PREFIX = "repository.id.allocation-size.";
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        Object allocationSize = serviceRegistry.getService(ConfigurationService.class).getSettings()
+            .get(ALLOCATION_SIZE_SETTING_PREFIX + params.getProperty(SEQUENCE_PARAM));
+        if (allocationSize != null) {
+            params.setProperty(INCREMENT_PARAM, allocationSize.toString().trim());
+        }
+        params.putIfAbsent(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, params, serviceRegistry);
+    }
+}
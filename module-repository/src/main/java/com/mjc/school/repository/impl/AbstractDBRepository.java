@@ -1,8 +1,13 @@
 package com.mjc.school.repository.impl;
 
 import com.mjc.school.repository.BaseRepository;
+import com.mjc.school.repository.cache.PageCountCache;
+import com.mjc.school.repository.dialect.NewsPostgreSQLDialect;
 import com.mjc.school.repository.exception.EntityConflictRepositoryException;
+import com.mjc.school.repository.exception.InvalidCursorRepositoryException;
+import com.mjc.school.repository.pagination.Cursor;
 import com.mjc.school.repository.pagination.Page;
+import com.mjc.school.repository.pagination.PageCountStrategy;
 import com.mjc.school.repository.pagination.Pagination;
 import com.mjc.school.repository.sorting.Sorting;
 import com.mjc.school.repository.sorting.SortOrder;
@@ -11,13 +16,29 @@ import com.mjc.school.repository.model.BaseEntity;
 import javax.persistence.criteria.*;
 import javax.persistence.metamodel.EntityType;
 import org.hibernate.PersistentObjectException;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.jpa.QueryHints;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import javax.persistence.*;
+import java.io.Serializable;
 import java.lang.reflect.ParameterizedType;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Function;
 
 @SuppressWarnings("unchecked")
 public abstract class AbstractDBRepository<T extends BaseEntity<K>, K> implements BaseRepository<T, K> {
@@ -25,6 +46,11 @@ public abstract class AbstractDBRepository<T extends BaseEntity<K>, K> implement
     @PersistenceContext
     protected EntityManager entityManager;
 
+    @Autowired
+    protected PageCountCache pageCountCache;
+
+    private static final String GRAPH_HINT = "javax.persistence.fetchgraph";
+
     protected final Class<T> entityClass;
     private final Class<K> idClass;
 
@@ -38,37 +64,161 @@ public abstract class AbstractDBRepository<T extends BaseEntity<K>, K> implement
 
     @Override
     public Page<T> readAll(Pagination pagination, List<Sorting> sorting, List<SearchCriteria> searchCriteria) {
+        return readAll(pagination, sorting, searchCriteria, getDefaultEntityGraph());
+    }
+
+    @Override
+    public Page<T> readAll(Pagination pagination, List<Sorting> sorting, List<SearchCriteria> searchCriteria, String entityGraph) {
+        if (entityGraph == null) {
+            return readPage(pagination, sorting, searchCriteria, root -> root);
+        }
+        // the page is chosen on ids alone, its associations are then fetched in a constant number of queries
+        Page<K> idPage = readIdPage(pagination, sorting, searchCriteria);
+        return idPage.withEntities(readByIds(idPage.entities(), entityGraph));
+    }
+
+    /**
+     * Page of read-only views: the page is chosen on ids and the views are then selected by the given
+     * constructor expression query, which has to restrict its rows with an {@code :ids} parameter.
+     * The views are not managed, so nothing is snapshotted for dirty checking and no proxies are created.
+     */
+    protected <R> Page<R> readViews(Pagination pagination, List<Sorting> sorting, List<SearchCriteria> searchCriteria,
+                                    String viewQuery, Class<R> viewClass, Function<R, K> viewId) {
+        Page<K> idPage = readIdPage(pagination, sorting, searchCriteria);
+        if (idPage.entities().isEmpty()) {
+            return idPage.withEntities(new ArrayList<>());
+        }
+        List<R> views = entityManager.createQuery(viewQuery, viewClass)
+            .setParameter("ids", idPage.entities())
+            .setHint(QueryHints.HINT_CACHEABLE, isViewQueryCacheable())
+            .getResultList();
+        return idPage.withEntities(orderByKeys(idPage.entities(), views, viewId));
+    }
+
+    /**
+     * Whether the view rows read by id go through the query cache. Only worth it for rarely written entities:
+     * any write to the queried tables through Hibernate invalidates every cached result over them.
+     */
+    protected boolean isViewQueryCacheable() {
+        return false;
+    }
+
+    /**
+     * Entity by its simple natural id, resolved through the natural id cache when the entity declares one.
+     */
+    protected Optional<T> readByNaturalId(Object naturalId) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(entityClass).loadOptional(naturalId);
+    }
+
+    /**
+     * Entity by its simple natural id when the session or the second level cache holds both its id and its
+     * state, empty otherwise. Never reads the database, so empty does not mean that there is no such entity.
+     */
+    protected Optional<T> readCachedByNaturalId(Object naturalId) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMetamodel().entityPersister(entityClass);
+        // looks in the session, then in the natural id cache region
+        Serializable id = session.getPersistenceContext().getNaturalIdHelper()
+            .findCachedNaturalIdResolution(persister, new Object[]{naturalId});
+        if (id == null || id == PersistenceContext.NaturalIdHelper.INVALID_NATURAL_ID_REFERENCE) {
+            return Optional.empty();
+        }
+        if (session.getPersistenceContext().getEntity(session.generateEntityKey(id, persister)) == null
+            && !session.getFactory().getCache().containsEntity(entityClass, id)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(entityManager.find(entityClass, id));
+    }
+
+    protected Page<K> readIdPage(Pagination pagination, List<Sorting> sorting, List<SearchCriteria> searchCriteria) {
+        return readPage(pagination, sorting, searchCriteria, root -> root.<K>get(getIdFieldName()));
+    }
+
+    /**
+     * Entity graph applied by {@link #readAll(Pagination, List, List)} and {@link #readById(Object)},
+     * null to read plain entities in a single query.
+     */
+    protected String getDefaultEntityGraph() {
+        return null;
+    }
+
+    private <R> Page<R> readPage(Pagination pagination, List<Sorting> sorting, List<SearchCriteria> searchCriteria,
+                                 Function<Root<T>, Selection<? extends R>> rowSelection) {
         CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<T> criteriaQuery = criteriaBuilder.createQuery(entityClass);
+        CriteriaQuery<Tuple> criteriaQuery = criteriaBuilder.createTupleQuery();
         final Root<T> root = criteriaQuery.from(entityClass);
 
-        setOrder(sorting, criteriaBuilder, criteriaQuery, root);
+        // count(*) over() would only see the rows past the cursor, so seek pages count separately
+        boolean windowCount = PageCountStrategy.WINDOW.equals(pagination.countStrategy()) && pagination.cursor() == null;
+        List<Sorting> keysetSorting = getKeysetSorting(sorting);
+        List<Expression<?>> keysetExpressions = new ArrayList<>();
+        for (Sorting sort : keysetSorting) {
+            keysetExpressions.add(getSortExpression(sort.field(), searchCriteria, criteriaBuilder, root));
+        }
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(rowSelection.apply(root));
+        selections.addAll(keysetExpressions);
+        if (windowCount) {
+            selections.add(criteriaBuilder.function(NewsPostgreSQLDialect.COUNT_OVER_FUNCTION, Long.class));
+        }
+        criteriaQuery.multiselect(selections);
+
+        setOrder(keysetSorting, keysetExpressions, criteriaBuilder, criteriaQuery);
 
         List<Predicate> predicates = new ArrayList<>();
 
         getPredicateBySearchCriteria(searchCriteria, criteriaBuilder, root, predicates);
 
+        if (pagination.cursor() != null) {
+            predicates.add(getSeekPredicate(pagination.cursor(), keysetSorting, keysetExpressions, criteriaBuilder));
+        }
+
         if (!predicates.isEmpty()) {
             criteriaQuery.where(predicates.toArray(new Predicate[predicates.size()]));
         }
 
         final int currentPage = pagination.page();
         final int pageSize = pagination.pageSize();
-        TypedQuery<T> typedQuery = entityManager.createQuery(criteriaQuery);
-        typedQuery.setFirstResult((currentPage - 1) * pageSize);
-        typedQuery.setMaxResults(pageSize);
-        return new Page<T>(typedQuery.getResultList(), currentPage, countPages(searchCriteria, pageSize));
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(criteriaQuery);
+        if (pagination.cursor() == null) {
+            typedQuery.setFirstResult((currentPage - 1) * pageSize);
+        }
+        // one extra row tells whether there is a page after this one
+        typedQuery.setMaxResults(pageSize + 1);
+        List<Tuple> rows = typedQuery.getResultList();
+        boolean hasNextPage = rows.size() > pageSize;
+        if (hasNextPage) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        List<R> entities = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            entities.add((R) row.get(0));
+        }
+        String nextCursor = hasNextPage ? createCursor(rows.get(rows.size() - 1), keysetSorting).encode() : null;
+        Long windowTotal = windowCount && !rows.isEmpty() ? (Long) rows.get(0).get(selections.size() - 1) : null;
+        Integer pageCount = countPages(pagination, searchCriteria, windowTotal);
+        return new Page<>(entities, currentPage, pageCount, hasNextPage, nextCursor, pagination.countStrategy());
     }
 
     protected abstract void getPredicateBySearchCriteria(List<SearchCriteria> searchCriteria, CriteriaBuilder criteriaBuilder, Root<T> root, List<Predicate> predicates);
 
-    protected void setOrder(List<Sorting> sorting, CriteriaBuilder criteriaBuilder, CriteriaQuery<T> criteriaQuery, Root<T> root) {
+    /**
+     * Expression a sorting field orders by; an entity attribute unless the repository computes the field,
+     * possibly from the search criteria of the same query.
+     */
+    protected Expression<?> getSortExpression(String field, List<SearchCriteria> searchCriteria, CriteriaBuilder criteriaBuilder, Root<T> root) {
+        return root.get(field);
+    }
+
+    protected void setOrder(List<Sorting> sorting, List<Expression<?>> sortExpressions, CriteriaBuilder criteriaBuilder, CriteriaQuery<?> criteriaQuery) {
         if(sorting == null || sorting.isEmpty()){
             return;
         }
         List<Order> orders = new ArrayList<>();
-        for (Sorting sort : sorting) {
-            Path<Object> fieldPath = root.get(sort.field());
+        for (int i = 0; i < sorting.size(); i++) {
+            Sorting sort = sorting.get(i);
+            Expression<?> fieldPath = sortExpressions.get(i);
             Order order = SortOrder.ASC.equals(sort.order()) ? criteriaBuilder.asc(fieldPath) :
                 criteriaBuilder.desc(fieldPath);
             orders.add(order);
@@ -76,7 +226,114 @@ public abstract class AbstractDBRepository<T extends BaseEntity<K>, K> implement
         criteriaQuery.orderBy(orders);
     }
 
-    protected int countPages(List<SearchCriteria> searchCriteria, int pageSize) {
+    /**
+     * Requested sorting with the id appended as a tiebreaker, so that the order is total
+     * and the last row of a page can be used as a seek position for the next one.
+     */
+    protected List<Sorting> getKeysetSorting(List<Sorting> sorting) {
+        String idFieldName = getIdFieldName();
+        List<Sorting> keysetSorting = new ArrayList<>();
+        if (sorting != null) {
+            keysetSorting.addAll(sorting);
+        }
+        if (keysetSorting.stream().noneMatch(sort -> sort.field().equals(idFieldName))) {
+            SortOrder idOrder = keysetSorting.isEmpty() ? SortOrder.ASC : keysetSorting.get(keysetSorting.size() - 1).order();
+            keysetSorting.add(new Sorting(idFieldName, idOrder));
+        }
+        return keysetSorting;
+    }
+
+    /**
+     * Row value comparison (k1, k2, ..., id) > (v1, v2, ..., vId) expanded into
+     * (k1 > v1) OR (k1 = v1 AND k2 > v2) OR ..., which also works for mixed sort directions.
+     * Null keys follow the PostgreSQL default of sorting nulls last in ascending and first in descending order.
+     *
+     * @throws InvalidCursorRepositoryException if the cursor is malformed, was created for another sorting
+     *                                          or holds a key value of the wrong type
+     */
+    static Predicate getSeekPredicate(String cursorToken, List<Sorting> keysetSorting, List<Expression<?>> keysetExpressions,
+                                      CriteriaBuilder criteriaBuilder) {
+        List<Object> values;
+        try {
+            values = Cursor.decode(cursorToken).values(keysetSorting.stream().map(Sorting::field).toList(),
+                keysetExpressions.stream().<Class<?>>map(Expression::getJavaType).toList());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorRepositoryException(e.getMessage());
+        }
+        List<Predicate> alternatives = new ArrayList<>();
+        List<Predicate> equalPrefix = new ArrayList<>();
+        for (int i = 0; i < keysetSorting.size(); i++) {
+            Expression<?> fieldPath = keysetExpressions.get(i);
+            Object value = values.get(i);
+            List<Predicate> alternative = new ArrayList<>(equalPrefix);
+            alternative.add(getBeyondPredicate(criteriaBuilder, fieldPath, value, keysetSorting.get(i).order()));
+            alternatives.add(criteriaBuilder.and(alternative.toArray(new Predicate[alternative.size()])));
+            equalPrefix.add(value == null ? criteriaBuilder.isNull(fieldPath) : criteriaBuilder.equal(fieldPath, value));
+        }
+        return criteriaBuilder.or(alternatives.toArray(new Predicate[alternatives.size()]));
+    }
+
+    private static Predicate getBeyondPredicate(CriteriaBuilder criteriaBuilder, Expression<?> fieldPath, Object value, SortOrder order) {
+        boolean ascending = SortOrder.ASC.equals(order);
+        if (value == null) {
+            // nothing follows the trailing nulls of an ascending order, everything else follows the leading ones
+            return ascending ? criteriaBuilder.disjunction() : criteriaBuilder.isNotNull(fieldPath);
+        }
+        Predicate beyond;
+        if (value instanceof LocalDateTime dateTime) {
+            beyond = compare(criteriaBuilder, (Expression<LocalDateTime>) fieldPath, dateTime, order);
+        } else if (value instanceof Long number) {
+            beyond = compare(criteriaBuilder, (Expression<Long>) fieldPath, number, order);
+        } else if (value instanceof Double number) {
+            beyond = compare(criteriaBuilder, (Expression<Double>) fieldPath, number, order);
+        } else {
+            beyond = compare(criteriaBuilder, (Expression<String>) fieldPath, value.toString(), order);
+        }
+        return ascending ? criteriaBuilder.or(beyond, criteriaBuilder.isNull(fieldPath)) : beyond;
+    }
+
+    private static <Y extends Comparable<? super Y>> Predicate compare(CriteriaBuilder criteriaBuilder, Expression<Y> fieldPath, Y value, SortOrder order) {
+        return SortOrder.ASC.equals(order) ? criteriaBuilder.greaterThan(fieldPath, value) :
+            criteriaBuilder.lessThan(fieldPath, value);
+    }
+
+    private Cursor createCursor(Tuple row, List<Sorting> keysetSorting) {
+        Map<String, String> keys = new LinkedHashMap<>();
+        for (int i = 0; i < keysetSorting.size(); i++) {
+            Object value = row.get(i + 1);
+            keys.put(keysetSorting.get(i).field(), value == null ? null : value.toString());
+        }
+        return new Cursor(keys);
+    }
+
+    /**
+     * Page count according to the requested {@link PageCountStrategy}; null for {@link PageCountStrategy#HAS_NEXT}.
+     *
+     * @param windowTotal total selected with count(*) over() along with the page rows, null if it was not selected
+     *                    or the page was empty
+     */
+    protected Integer countPages(Pagination pagination, List<SearchCriteria> searchCriteria, Long windowTotal) {
+        Long entityCount = switch (pagination.countStrategy()) {
+            case EXACT -> countEntities(searchCriteria);
+            case WINDOW -> windowTotal != null ? windowTotal : countEntities(searchCriteria);
+            case ESTIMATE -> estimateEntities(searchCriteria);
+            case HAS_NEXT -> null;
+        };
+        if (entityCount == null) {
+            return null;
+        }
+        final int pageSize = pagination.pageSize();
+        if (entityCount % pageSize == 0) {
+            return (int) (entityCount / pageSize);
+        }
+        return (int) (entityCount / pageSize) + 1;
+    }
+
+    protected Long countEntities(List<SearchCriteria> searchCriteria) {
+        return pageCountCache.getOrCount(entityClass, searchCriteria, () -> countEntitiesInDB(searchCriteria));
+    }
+
+    private Long countEntitiesInDB(List<SearchCriteria> searchCriteria) {
         CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
         CriteriaQuery<Long> countQuery = criteriaBuilder.createQuery(Long.class);
         final Root<T> root = countQuery.from(entityClass);
@@ -88,23 +345,153 @@ public abstract class AbstractDBRepository<T extends BaseEntity<K>, K> implement
         }
 
         countQuery.select(criteriaBuilder.count(root));
-        Long entityCount = entityManager.createQuery(countQuery).getSingleResult();
+        return entityManager.createQuery(countQuery).getSingleResult();
+    }
 
-        if (entityCount % pageSize == 0) {
-            return (int) (entityCount / pageSize);
+    /**
+     * Row count estimated by the PostgreSQL planner statistics. Only meaningful for the whole table,
+     * so filtered pages and never analyzed tables (reltuples = -1) are counted exactly.
+     */
+    protected Long estimateEntities(List<SearchCriteria> searchCriteria) {
+        if (searchCriteria != null && !searchCriteria.isEmpty()) {
+            return countEntities(searchCriteria);
         }
-        return (int) (entityCount / pageSize) + 1;
+        Object estimate = entityManager
+            .createNativeQuery("SELECT reltuples FROM pg_class WHERE oid = CAST(?1 AS regclass)")
+            .setParameter(1, entityClass.getAnnotation(Table.class).name())
+            .getSingleResult();
+        long entityCount = ((Number) estimate).longValue();
+        return entityCount < 0 ? countEntities(searchCriteria) : entityCount;
     }
 
     @Override
     public Optional<T> readById(K id) {
-        return Optional.ofNullable(entityManager.find(entityClass, id));
+        String entityGraph = getDefaultEntityGraph();
+        if (entityGraph == null) {
+            return Optional.ofNullable(entityManager.find(entityClass, id));
+        }
+        return readByIds(List.of(id), entityGraph).stream().findFirst();
+    }
+
+    /**
+     * Entities with the given ids, in the order of the ids, with the attributes of the named entity graph fetched.
+     * Only one collection is join fetched together with the entities; every further collection of the graph
+     * is fetched by its own query to avoid a cartesian product of the joined rows.
+     */
+    protected List<T> readByIds(List<K> ids, String entityGraph) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        EntityType<T> entityType = entityManager.getMetamodel().entity(entityClass);
+        EntityGraph<T> joinedGraph = entityManager.createEntityGraph(entityClass);
+        List<String> separatelyFetched = new ArrayList<>();
+        boolean collectionJoined = false;
+        for (AttributeNode<?> attributeNode : entityManager.getEntityGraph(entityGraph).getAttributeNodes()) {
+            String attributeName = attributeNode.getAttributeName();
+            if (entityType.getAttribute(attributeName).isCollection()) {
+                if (collectionJoined) {
+                    separatelyFetched.add(attributeName);
+                    continue;
+                }
+                collectionJoined = true;
+            }
+            joinedGraph.addAttributeNodes(attributeName);
+        }
+
+        String selectByIds = "SELECT DISTINCT e FROM " + entityType.getName() + " e%s WHERE e." + getIdFieldName() + " IN :ids";
+        List<T> entities = entityManager.createQuery(String.format(selectByIds, ""), entityClass)
+            .setParameter("ids", ids)
+            .setHint(GRAPH_HINT, joinedGraph)
+            .setHint(QueryHints.HINT_PASS_DISTINCT_THROUGH, false)
+            .getResultList();
+        for (String attributeName : separatelyFetched) {
+            // initializes the collection of the entities already in the persistence context
+            entityManager.createQuery(String.format(selectByIds, " LEFT JOIN FETCH e." + attributeName), entityClass)
+                .setParameter("ids", ids)
+                .setHint(QueryHints.HINT_PASS_DISTINCT_THROUGH, false)
+                .getResultList();
+        }
+
+        return orderByKeys(ids, entities, T::getId);
+    }
+
+    /**
+     * Entities with the given values of a unique name field, in the order of the names.
+     */
+    protected List<T> readByNames(Collection<String> names, String nameField, Function<T, String> entityName) {
+        if (names.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Set<String> distinctNames = new LinkedHashSet<>(names);
+        List<T> entities = entityManager
+            .createQuery("SELECT e FROM " + entityClass.getSimpleName() + " e WHERE e." + nameField + " IN :names", entityClass)
+            .setParameter("names", distinctNames)
+            .getResultList();
+        return orderByKeys(distinctNames, entities, entityName);
+    }
+
+    /**
+     * Inserts the rows missing for the given names and returns the entities of all the names, in the order
+     * of the names, with a single statement. The name field is mapped to a unique column of the same name:
+     * names that already have a row are skipped by ON CONFLICT and read by the same statement. Extra columns
+     * of the inserted rows are given as a leading-comma list of columns and a matching list of SQL values.
+     */
+    protected List<T> ensureByNames(Collection<String> names, String nameField, Function<T, String> entityName,
+                                    String extraColumns, String extraValues) {
+        if (names.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Set<String> distinctNames = new LinkedHashSet<>(names);
+        String table = entityClass.getAnnotation(Table.class).name();
+        StringJoiner rows = new StringJoiner(", ");
+        for (int i = 1; i <= distinctNames.size(); i++) {
+            rows.add("(?" + i + ")");
+        }
+        Query query = entityManager.createNativeQuery(
+            "WITH input (name) AS (VALUES " + rows + "), " +
+                "inserted AS (INSERT INTO " + table + " (" + nameField + extraColumns + ")" +
+                " SELECT name" + extraValues + " FROM input ON CONFLICT (" + nameField + ") DO NOTHING RETURNING *) " +
+                "SELECT * FROM inserted " +
+                "UNION ALL SELECT e.* FROM " + table + " e INNER JOIN input ON e." + nameField + " = input.name",
+            entityClass);
+        int position = 1;
+        for (String name : distinctNames) {
+            query.setParameter(position++, name);
+        }
+        List<T> entities = new ArrayList<>(query.getResultList());
+        evictPageCounts();
+
+        if (entities.size() < distinctNames.size()) {
+            // a row committed by a concurrent transaction after the statement started is neither inserted nor seen
+            Set<String> missingNames = new LinkedHashSet<>(distinctNames);
+            for (T entity : entities) {
+                missingNames.remove(entityName.apply(entity));
+            }
+            entities.addAll(readByNames(missingNames, nameField, entityName));
+        }
+        return orderByKeys(distinctNames, entities, entityName);
+    }
+
+    private <R, Y> List<R> orderByKeys(Collection<Y> keys, List<R> rows, Function<R, Y> rowKey) {
+        Map<Y, R> rowsByKey = new HashMap<>();
+        for (R row : rows) {
+            rowsByKey.put(rowKey.apply(row), row);
+        }
+        List<R> orderedRows = new ArrayList<>(keys.size());
+        for (Y key : keys) {
+            R row = rowsByKey.get(key);
+            if (row != null) {
+                orderedRows.add(row);
+            }
+        }
+        return orderedRows;
     }
 
     @Override
     public T create(T entity) {
         try {
             entityManager.persist(entity);
+            evictPageCounts();
             return entity;
         } catch (PersistentObjectException | ConstraintViolationException e) {
             throw new EntityConflictRepositoryException(e.getMessage());
@@ -113,9 +500,11 @@ public abstract class AbstractDBRepository<T extends BaseEntity<K>, K> implement
 
     @Override
     public T update(T entity) {
-        return readById(entity.getId()).map(existingEntity -> {
+        return Optional.ofNullable(entityManager.find(entityClass, entity.getId())).map(existingEntity -> {
             update(existingEntity, entity);
             T updated = entityManager.merge(existingEntity);
+            // updated fields may be filtered on, e.g. news title or tags
+            evictPageCounts();
             // flush is needed for auditable entities to get actual value of @LastModifiedDate field
             entityManager.flush();
             return updated;
@@ -127,13 +516,13 @@ public abstract class AbstractDBRepository<T extends BaseEntity<K>, K> implement
         if (id != null) {
             T entityRef = getReference(id);
             entityManager.remove(entityRef);
+            evictPageCounts();
         }
     }
 
     @Override
     public boolean existById(K id) {
-        EntityType<T> entityType = entityManager.getMetamodel().entity(entityClass);
-        String idFieldName = entityType.getId(idClass).getName();
+        String idFieldName = getIdFieldName();
 
         Query query = entityManager
             .createQuery("SELECT COUNT(*) FROM " + entityClass.getSimpleName() + " WHERE " + idFieldName + " = ?1")
@@ -147,4 +536,24 @@ public abstract class AbstractDBRepository<T extends BaseEntity<K>, K> implement
         return entityManager.getReference(this.entityClass, id);
     }
 
+    /**
+     * Entities whose filtered counts depend on rows of this one, e.g. news filtered by tags.name
+     * have to be recounted when a tag changes.
+     */
+    protected List<Class<?>> getCountDependentEntities() {
+        return List.of();
+    }
+
+    protected void evictPageCounts() {
+        pageCountCache.invalidate(entityClass);
+        for (Class<?> dependentEntity : getCountDependentEntities()) {
+            pageCountCache.invalidate(dependentEntity);
+        }
+    }
+
+    protected String getIdFieldName() {
+        EntityType<T> entityType = entityManager.getMetamodel().entity(entityClass);
+        return entityType.getId(idClass).getName();
+    }
+
 }
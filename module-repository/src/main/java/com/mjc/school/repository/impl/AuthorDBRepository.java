@@ -2,11 +2,17 @@ package com.mjc.school.repository.impl;
 
 import com.mjc.school.repository.AuthorRepository;
 import com.mjc.school.repository.NewsRepository;
+import com.mjc.school.repository.dialect.NewsPostgreSQLDialect;
 import com.mjc.school.repository.filter.SearchCriteria;
 import com.mjc.school.repository.model.Author;
+import com.mjc.school.repository.model.News;
 import com.mjc.school.repository.pagination.Page;
+import com.mjc.school.repository.pagination.PageCountStrategy;
 import com.mjc.school.repository.pagination.Pagination;
+import com.mjc.school.repository.query.AuthorView;
 import com.mjc.school.repository.query.AuthorWithNewsCount;
+import com.mjc.school.repository.query.VersionView;
+import com.mjc.school.repository.sorting.Sorting;
 import javax.persistence.NoResultException;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
@@ -16,12 +22,18 @@ import javax.persistence.criteria.Root;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public class AuthorDBRepository extends AbstractDBRepository<Author, Long> implements AuthorRepository {
+    private static final String NAME_FIELD = "name";
+    private static final String AUTHOR_VIEW_QUERY = "SELECT new " + AuthorView.class.getName() +
+        "(a.id, a.name, a.createdDate, a.lastUpdatedDate) FROM Author a WHERE a.id IN :ids";
+    private static final String AUTHOR_VERSION_QUERY = "SELECT a.lastUpdatedDate FROM Author a WHERE a.id = :id";
 
     @Autowired
     private NewsRepository newsRepository;
@@ -33,6 +45,11 @@ public class AuthorDBRepository extends AbstractDBRepository<Author, Long> imple
         }
     }
 
+    @Override
+    protected List<Class<?>> getCountDependentEntities() {
+        return List.of(News.class);
+    }
+
     @Override
     protected void getPredicateBySearchCriteria(List<SearchCriteria> searchCriteria, CriteriaBuilder criteriaBuilder, Root<Author> root, List<Predicate> predicates) {
         if(searchCriteria==null || searchCriteria.isEmpty()){
@@ -45,6 +62,23 @@ public class AuthorDBRepository extends AbstractDBRepository<Author, Long> imple
         }
     }
 
+    @Override
+    public Page<AuthorView> readAllViews(Pagination pagination, List<Sorting> sorting, List<SearchCriteria> searchCriteria) {
+        return readViews(pagination, sorting, searchCriteria, AUTHOR_VIEW_QUERY, AuthorView.class, AuthorView::id);
+    }
+
+    @Override
+    public Optional<VersionView> readVersionById(Long id) {
+        List<LocalDateTime> lastUpdatedDates = entityManager.createQuery(AUTHOR_VERSION_QUERY, LocalDateTime.class)
+            .setParameter("id", id)
+            .getResultList();
+        if (lastUpdatedDates.isEmpty()) {
+            return Optional.empty();
+        }
+        LocalDateTime lastUpdatedDate = lastUpdatedDates.get(0);
+        return Optional.of(new VersionView(lastUpdatedDate, String.valueOf(lastUpdatedDate)));
+    }
+
     @Override
     public Optional<Author> readByNewsId(Long newsId) {
         TypedQuery<Author> typedQuery = entityManager
@@ -57,17 +91,31 @@ public class AuthorDBRepository extends AbstractDBRepository<Author, Long> imple
         }
     }
 
+    @Override
+    public List<Author> readByNames(Collection<String> names) {
+        return readByNames(names, NAME_FIELD, Author::getName);
+    }
+
+    @Override
+    public List<Author> ensureByNames(Collection<String> names) {
+        // the insert bypasses the auditing listener
+        return ensureByNames(names, NAME_FIELD, Author::getName,
+            ", created_date, last_updated_date", ", LOCALTIMESTAMP, LOCALTIMESTAMP");
+    }
+
     @Override
     public Optional<Author> readByName(String name) {
-        TypedQuery<Author> typedQuery = entityManager
-                .createQuery("SELECT a FROM Author a WHERE a.name = :authorName", Author.class)
-                .setParameter("authorName", name)
-                .setMaxResults(1);
-        try {
-            return Optional.of(typedQuery.getSingleResult());
-        } catch (NoResultException ex) {
-            return Optional.empty();
-        }
+        return readByNaturalId(name);
+    }
+
+    @Override
+    public Optional<Author> readCachedByName(String name) {
+        return readCachedByNaturalId(name);
+    }
+
+    @Override
+    protected boolean isViewQueryCacheable() {
+        return true;
     }
 
     @Override
@@ -75,15 +123,27 @@ public class AuthorDBRepository extends AbstractDBRepository<Author, Long> imple
         List<AuthorWithNewsCount> results = new ArrayList<>();
         final int currentPage = pagination.page();
         final int pageSize = pagination.pageSize();
+        boolean windowCount = PageCountStrategy.WINDOW.equals(pagination.countStrategy());
+        // over the grouped rows count(*) over() is the number of authors
+        String windowSelection = windowCount ? ", " + NewsPostgreSQLDialect.COUNT_OVER_FUNCTION + "()" : "";
         Query query = entityManager
-            .createQuery("SELECT a, COUNT (n) AS newsCount FROM Author a LEFT JOIN a.news n GROUP BY a.id ORDER BY newsCount DESC");
+            .createQuery("SELECT a, COUNT (n) AS newsCount" + windowSelection +
+                " FROM Author a LEFT JOIN a.news n GROUP BY a.id ORDER BY newsCount DESC, a.id");
         query.setFirstResult((currentPage - 1) * pageSize);
-        query.setMaxResults(pageSize);
+        query.setMaxResults(pageSize + 1);
         List x = query.getResultList();
+        boolean hasNextPage = x.size() > pageSize;
+        if (hasNextPage) {
+            x = x.subList(0, pageSize);
+        }
+        Long windowTotal = null;
         for(Object o : x) {
             Object[] y = (Object[])o;
             results.add(new AuthorWithNewsCount((Author) y[0], (Long) y[1]));
+            if (windowCount) {
+                windowTotal = (Long) y[2];
+            }
         }
-        return new Page<>(results, currentPage, countPages(null, pageSize));
+        return new Page<>(results, currentPage, countPages(pagination, null, windowTotal), hasNextPage, null, pagination.countStrategy());
     }
 }
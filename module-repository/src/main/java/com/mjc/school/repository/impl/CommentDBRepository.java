@@ -7,32 +7,20 @@ import com.mjc.school.repository.model.News;
 import com.mjc.school.repository.pagination.Page;
 import com.mjc.school.repository.pagination.Pagination;
 import com.mjc.school.repository.sorting.Sorting;
-import javax.persistence.TypedQuery;
-import javax.persistence.criteria.*;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public class CommentDBRepository extends AbstractDBRepository<Comment, Long> implements CommentRepository {
+    private static final String NEWS_ID_FIELD = "news.id";
 
     @Override
     public Page<Comment> readByNewsId(Long newsId, Pagination pagination, List<Sorting> sorting) {
-        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Comment> criteriaQuery = criteriaBuilder.createQuery(Comment.class);
-        final Root<Comment> root = criteriaQuery.from(Comment.class);
-        Join<News, Comment> join = root.join("news");
-
-        criteriaQuery.select(root).where(criteriaBuilder.equal(join.get("id"), newsId));
-
-        setOrder(sorting, criteriaBuilder, criteriaQuery, root);
-
-        final int currentPage = pagination.page();
-        final int pageSize = pagination.pageSize();
-        TypedQuery<Comment> typedQuery = entityManager.createQuery(criteriaQuery);
-        typedQuery.setFirstResult((currentPage - 1) * pageSize);
-        typedQuery.setMaxResults(pageSize);
-        return new Page<>(typedQuery.getResultList(), currentPage, countPages(null, pageSize));
+        return readAll(pagination, sorting, List.of(new SearchCriteria(NEWS_ID_FIELD, newsId)));
     }
 
     @Override
@@ -48,6 +36,13 @@ public class CommentDBRepository extends AbstractDBRepository<Comment, Long> imp
 
     @Override
     protected void getPredicateBySearchCriteria(List<SearchCriteria> searchCriteria, CriteriaBuilder criteriaBuilder, Root<Comment> root, List<Predicate> predicates) {
-
+        if(searchCriteria==null || searchCriteria.isEmpty()){
+            return;
+        }
+        for (SearchCriteria criteria : searchCriteria) {
+            if(criteria.getField().equals(NEWS_ID_FIELD)){
+                predicates.add(criteriaBuilder.equal(root.get("news").get("id"), criteria.getValue()));
+            }
+        }
     }
 }
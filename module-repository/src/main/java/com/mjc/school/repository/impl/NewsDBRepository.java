@@ -1,20 +1,84 @@
 package com.mjc.school.repository.impl;
 
 import com.mjc.school.repository.NewsRepository;
+import com.mjc.school.repository.dialect.NewsPostgreSQLDialect;
+import com.mjc.school.repository.exception.EntityConflictRepositoryException;
 import com.mjc.school.repository.filter.SearchCriteria;
 import com.mjc.school.repository.model.Author;
 import com.mjc.school.repository.model.Comment;
 import com.mjc.school.repository.model.News;
 import com.mjc.school.repository.model.Tag;
+import com.mjc.school.repository.pagination.Page;
+import com.mjc.school.repository.pagination.Pagination;
+import com.mjc.school.repository.query.CommentView;
+import com.mjc.school.repository.query.NewsAssociation;
+import com.mjc.school.repository.query.NewsSearchView;
+import com.mjc.school.repository.query.NewsView;
+import com.mjc.school.repository.query.TagView;
+import com.mjc.school.repository.query.VersionView;
+import com.mjc.school.repository.sorting.Sorting;
 import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.query.Query;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Repository
 public class NewsDBRepository extends AbstractDBRepository<News, Long> implements NewsRepository {
+    private static final String SEARCH_FIELD = "search";
+    private static final String RANK_FIELD = "rank";
+    private static final String NEWS_VIEW_QUERY = "SELECT new " + NewsView.class.getName() +
+        "(n.id, n.title, n.content, n.createdDate, n.lastUpdatedDate, a.id, a.name, a.createdDate, a.lastUpdatedDate)" +
+        " FROM News n LEFT JOIN n.author a WHERE n.id IN :ids";
+    private static final String NEWS_VIEW_WITHOUT_CONTENT_QUERY = "SELECT new " + NewsView.class.getName() +
+        "(n.id, n.title, n.createdDate, n.lastUpdatedDate, a.id, a.name, a.createdDate, a.lastUpdatedDate)" +
+        " FROM News n LEFT JOIN n.author a WHERE n.id IN :ids";
+    private static final String NEWS_TAGS_QUERY = "SELECT n.id, t.id, t.name FROM News n INNER JOIN n.tags t WHERE n.id IN :ids ORDER BY t.id";
+    private static final String ALL_NEWS_VIEWS_QUERY = "SELECT new " + NewsView.class.getName() +
+        "(n.id, n.title, n.content, n.createdDate, n.lastUpdatedDate, a.id, a.name, a.createdDate, a.lastUpdatedDate)" +
+        " FROM News n LEFT JOIN n.author a ORDER BY n.id";
+    private static final String NEWS_SEARCH_VIEW_QUERY = "SELECT new " + NewsSearchView.class.getName() +
+        "(n.id, n.title, n.createdDate, n.lastUpdatedDate, a.name) FROM News n LEFT JOIN n.author a";
+    private static final String ALL_NEWS_TAGS_QUERY = "SELECT n.id, t.id, t.name FROM News n INNER JOIN n.tags t";
+    private static final String INSERT_NEWS_SQL =
+        "INSERT INTO news (title, content, created_date, last_updated_date, author_id) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_NEWS_TAG_SQL = "INSERT INTO newstags (news_id, tag_id) VALUES (?, ?)";
+    // the lateral subquery walks the (news_id, created_date) index once per news and stops at the limit
+    private static final String LATEST_NEWS_COMMENTS_SQL = "SELECT n.id, c.id, c.content, c.created_date, c.last_updated_date" +
+        " FROM news n CROSS JOIN LATERAL (SELECT lc.id, lc.content, lc.created_date, lc.last_updated_date FROM comments lc" +
+        " WHERE lc.news_id = n.id ORDER BY lc.created_date DESC, lc.id DESC LIMIT :limit) c" +
+        " WHERE n.id IN (:ids) ORDER BY n.id, c.created_date DESC, c.id DESC";
+    private static final String NEWS_COMMENT_COUNTS_QUERY = "SELECT c.news.id, COUNT(c) FROM Comment c WHERE c.news.id IN :ids GROUP BY c.news.id";
+    private static final String NEWS_VERSION_QUERY = "SELECT n.lastUpdatedDate, a.id, a.lastUpdatedDate," +
+        " (SELECT COUNT(c) FROM Comment c WHERE c.news = n), (SELECT MAX(c.lastUpdatedDate) FROM Comment c WHERE c.news = n)" +
+        " FROM News n LEFT JOIN n.author a WHERE n.id = :id";
+    private static final String NEWS_TAG_VERSION_QUERY = "SELECT t.id, t.name FROM News n INNER JOIN n.tags t WHERE n.id = :id ORDER BY t.id";
+
+    @Value("${repository.news-export.fetch-size:500}")
+    private int exportFetchSize;
+    @Value("${repository.news.latest-comments:5}")
+    private int latestComments;
 
     @Override
     void update(News prevState, News nextState) {
@@ -38,6 +102,240 @@ public class NewsDBRepository extends AbstractDBRepository<News, Long> implement
 //        }
     }
 
+    @Override
+    public Page<NewsView> readAllViews(Pagination pagination, List<Sorting> sorting, List<SearchCriteria> searchCriteria) {
+        return readAllViews(pagination, sorting, searchCriteria, EnumSet.allOf(NewsAssociation.class));
+    }
+
+    @Override
+    public Page<NewsView> readAllViews(Pagination pagination, List<Sorting> sorting, List<SearchCriteria> searchCriteria,
+                                       Set<NewsAssociation> associations) {
+        Page<NewsView> page = readViews(pagination, sorting, searchCriteria, newsViewQuery(associations), NewsView.class, NewsView::id);
+        return page.withEntities(addAssociations(page.entities(), associations));
+    }
+
+    @Override
+    public List<NewsView> readViewsByIds(List<Long> ids) {
+        return readViewsByIds(ids, EnumSet.allOf(NewsAssociation.class));
+    }
+
+    @Override
+    public List<NewsView> readViewsByIds(List<Long> ids, Set<NewsAssociation> associations) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, NewsView> viewsById = new HashMap<>();
+        for (NewsView view : entityManager.createQuery(newsViewQuery(associations), NewsView.class).setParameter("ids", ids).getResultList()) {
+            viewsById.put(view.id(), view);
+        }
+        List<NewsView> views = new ArrayList<>(viewsById.size());
+        for (Long id : ids) {
+            NewsView view = viewsById.get(id);
+            if (view != null) {
+                views.add(view);
+            }
+        }
+        return addAssociations(views, associations);
+    }
+
+    @Override
+    public List<NewsSearchView> readAllSearchViews() {
+        Map<Long, NewsSearchView> viewsById = new LinkedHashMap<>();
+        for (NewsSearchView view : entityManager.createQuery(NEWS_SEARCH_VIEW_QUERY, NewsSearchView.class).getResultList()) {
+            viewsById.put(view.id(), view);
+        }
+        for (Object[] row : entityManager.createQuery(ALL_NEWS_TAGS_QUERY, Object[].class).getResultList()) {
+            NewsSearchView view = viewsById.get((Long) row[0]);
+            if (view != null) {
+                view.tags().add(new TagView((Long) row[1], (String) row[2]));
+            }
+        }
+        return new ArrayList<>(viewsById.values());
+    }
+
+    @Override
+    public void readAllViewsInChunks(Consumer<List<NewsView>> chunkConsumer) {
+        Query<NewsView> query = entityManager.unwrap(Session.class).createQuery(ALL_NEWS_VIEWS_QUERY, NewsView.class)
+            // without a fetch size the PostgreSQL driver reads the whole result before the first row
+            .setFetchSize(exportFetchSize)
+            .setReadOnly(true);
+        List<NewsView> chunk = new ArrayList<>(exportFetchSize);
+        try (ScrollableResults rows = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (rows.next()) {
+                chunk.add((NewsView) rows.get(0));
+                if (chunk.size() == exportFetchSize) {
+                    handOver(chunk, chunkConsumer);
+                    chunk = new ArrayList<>(exportFetchSize);
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            handOver(chunk, chunkConsumer);
+        }
+    }
+
+    private void handOver(List<NewsView> chunk, Consumer<List<NewsView>> chunkConsumer) {
+        chunkConsumer.accept(addAssociations(chunk, EnumSet.allOf(NewsAssociation.class)));
+        entityManager.clear();
+    }
+
+    @Override
+    public Optional<VersionView> readVersionById(Long id) {
+        List<Object[]> rows = entityManager.createQuery(NEWS_VERSION_QUERY, Object[].class).setParameter("id", id).getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] row = rows.get(0);
+        LocalDateTime lastModified = latest(latest((LocalDateTime) row[0], (LocalDateTime) row[2]), (LocalDateTime) row[4]);
+        // a deleted comment or a renamed tag leaves no date, so their count and the tag names are part of the version
+        StringBuilder fingerprint = new StringBuilder()
+            .append(row[0]).append('|').append(row[1]).append('|').append(row[2]).append('|')
+            .append(row[3]).append('|').append(row[4]);
+        for (Object[] tag : entityManager.createQuery(NEWS_TAG_VERSION_QUERY, Object[].class).setParameter("id", id).getResultList()) {
+            fingerprint.append('|').append(tag[0]).append(':').append(tag[1]);
+        }
+        return Optional.of(new VersionView(lastModified, fingerprint.toString()));
+    }
+
+    private static LocalDateTime latest(LocalDateTime first, LocalDateTime second) {
+        if (first == null) {
+            return second;
+        }
+        return second == null || first.isAfter(second) ? first : second;
+    }
+
+    private static String newsViewQuery(Set<NewsAssociation> associations) {
+        return associations.contains(NewsAssociation.CONTENT) ? NEWS_VIEW_QUERY : NEWS_VIEW_WITHOUT_CONTENT_QUERY;
+    }
+
+    private List<NewsView> addAssociations(List<NewsView> views, Set<NewsAssociation> associations) {
+        if (views.isEmpty() || associations.isEmpty()) {
+            return views;
+        }
+        List<Long> ids = views.stream().map(NewsView::id).toList();
+        List<NewsView> associatedViews = views;
+        if (associations.contains(NewsAssociation.TAGS)) {
+            Map<Long, List<TagView>> tagsByNews = new HashMap<>();
+            for (Object[] row : entityManager.createQuery(NEWS_TAGS_QUERY, Object[].class).setParameter("ids", ids).getResultList()) {
+                tagsByNews.computeIfAbsent((Long) row[0], newsId -> new ArrayList<>()).add(new TagView((Long) row[1], (String) row[2]));
+            }
+            associatedViews = associatedViews.stream()
+                .map(view -> view.withTags(tagsByNews.getOrDefault(view.id(), List.of())))
+                .toList();
+        }
+        if (!associations.contains(NewsAssociation.COMMENTS)) {
+            return associatedViews;
+        }
+        @SuppressWarnings("unchecked")
+        List<Object[]> commentRows = entityManager.createNativeQuery(LATEST_NEWS_COMMENTS_SQL)
+            .setParameter("ids", ids)
+            .setParameter("limit", latestComments)
+            .getResultList();
+        Map<Long, List<CommentView>> commentsByNews = new HashMap<>();
+        for (Object[] row : commentRows) {
+            commentsByNews.computeIfAbsent(((Number) row[0]).longValue(), newsId -> new ArrayList<>())
+                .add(new CommentView(((Number) row[1]).longValue(), (String) row[2], toLocalDateTime(row[3]), toLocalDateTime(row[4])));
+        }
+        Map<Long, Long> commentCounts = new HashMap<>();
+        for (Object[] row : entityManager.createQuery(NEWS_COMMENT_COUNTS_QUERY, Object[].class).setParameter("ids", ids).getResultList()) {
+            commentCounts.put((Long) row[0], (Long) row[1]);
+        }
+        return associatedViews.stream()
+            .map(view -> view.withComments(commentsByNews.getOrDefault(view.id(), List.of()), commentCounts.getOrDefault(view.id(), 0L)))
+            .toList();
+    }
+
+    private static LocalDateTime toLocalDateTime(Object timestamp) {
+        return timestamp == null ? null : ((Timestamp) timestamp).toLocalDateTime();
+    }
+
+    @Override
+    public List<News> createAll(List<News> newsList) {
+        if (newsList.isEmpty()) {
+            return newsList;
+        }
+        // authors and tags created for these news have to reach the database before the plain JDBC inserts
+        entityManager.flush();
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        try {
+            entityManager.unwrap(Session.class).doWork(connection -> {
+                try (PreparedStatement newsStatement = connection.prepareStatement(INSERT_NEWS_SQL, new String[]{"id"})) {
+                    for (News news : newsList) {
+                        newsStatement.setString(1, news.getTitle());
+                        newsStatement.setString(2, news.getContent());
+                        newsStatement.setTimestamp(3, timestamp);
+                        newsStatement.setTimestamp(4, timestamp);
+                        if (news.getAuthor() != null) {
+                            newsStatement.setLong(5, news.getAuthor().getId());
+                        } else {
+                            newsStatement.setNull(5, Types.BIGINT);
+                        }
+                        newsStatement.addBatch();
+                    }
+                    newsStatement.executeBatch();
+                    try (ResultSet generatedIds = newsStatement.getGeneratedKeys()) {
+                        for (News news : newsList) {
+                            generatedIds.next();
+                            news.setId(generatedIds.getLong(1));
+                        }
+                    }
+                }
+                try (PreparedStatement tagStatement = connection.prepareStatement(INSERT_NEWS_TAG_SQL)) {
+                    for (News news : newsList) {
+                        if (news.getTags() == null) {
+                            continue;
+                        }
+                        for (Tag tag : news.getTags()) {
+                            tagStatement.setLong(1, news.getId());
+                            tagStatement.setLong(2, tag.getId());
+                            tagStatement.addBatch();
+                        }
+                    }
+                    tagStatement.executeBatch();
+                }
+            });
+        } catch (ConstraintViolationException e) {
+            throw new EntityConflictRepositoryException(e.getMessage());
+        }
+        for (News news : newsList) {
+            news.setCreatedDate(now);
+            news.setLastUpdatedDate(now);
+        }
+        evictPageCounts();
+        return newsList;
+    }
+
+    @Override
+    protected String getDefaultEntityGraph() {
+        // the news response carries the author and the tags, its latest comments are read with the views
+        return News.WITH_TAGS_GRAPH;
+    }
+
+    @Override
+    protected List<Class<?>> getCountDependentEntities() {
+        // deleting news cascades to its comments, which are also filtered by news.id
+        return List.of(Tag.class, Comment.class);
+    }
+
+    @Override
+    protected Expression<?> getSortExpression(String field, List<SearchCriteria> searchCriteria, CriteriaBuilder criteriaBuilder, Root<News> root) {
+        if (!RANK_FIELD.equals(field)) {
+            return super.getSortExpression(field, searchCriteria, criteriaBuilder, root);
+        }
+        // relevance to the search filter of the same request, every row ranks 0 without one
+        String query = "";
+        if (searchCriteria != null) {
+            for (SearchCriteria criteria : searchCriteria) {
+                if (SEARCH_FIELD.equals(criteria.getField())) {
+                    query = criteria.getValue().toString().trim();
+                }
+            }
+        }
+        return criteriaBuilder.function(NewsPostgreSQLDialect.FTS_RANK_FUNCTION, Double.class,
+            root.get("title"), root.get("content"), criteriaBuilder.literal(query));
+    }
+
     @Override
     protected void getPredicateBySearchCriteria(List<SearchCriteria> searchCriteria, CriteriaBuilder criteriaBuilder, Root<News> root, List<Predicate> predicates) {
         if(searchCriteria==null || searchCriteria.isEmpty()){
@@ -57,6 +355,10 @@ public class NewsDBRepository extends AbstractDBRepository<News, Long> implement
                 case "title", "content":
                     predicates.add(criteriaBuilder.like(root.get(criteria.getField()), "%" + criteria.getValue().toString().trim() + "%"));
                     break;
+                case SEARCH_FIELD:
+                    predicates.add(criteriaBuilder.isTrue(criteriaBuilder.function(NewsPostgreSQLDialect.FTS_MATCH_FUNCTION, Boolean.class,
+                        root.get("title"), root.get("content"), criteriaBuilder.literal(criteria.getValue().toString().trim()))));
+                    break;
                 default:
                     throw new IllegalArgumentException("Entity " + entityClass.getName() + " does not have field " + criteria.getField() + " allowed for filtering.");
             }
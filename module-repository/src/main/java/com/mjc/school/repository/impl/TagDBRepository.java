@@ -6,16 +6,23 @@ import com.mjc.school.repository.model.News;
 import com.mjc.school.repository.model.Tag;
 import com.mjc.school.repository.pagination.Page;
 import com.mjc.school.repository.pagination.Pagination;
-import javax.persistence.NoResultException;
-import javax.persistence.TypedQuery;
-import javax.persistence.criteria.*;
+import com.mjc.school.repository.query.TagView;
+import com.mjc.school.repository.sorting.Sorting;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public class TagDBRepository extends AbstractDBRepository<Tag, Long> implements TagRepository {
+    private static final String NEWS_ID_FIELD = "news.id";
+    private static final String NAME_FIELD = "name";
+    private static final String TAG_VIEW_QUERY = "SELECT new " + TagView.class.getName() + "(t.id, t.name)" +
+        " FROM Tag t WHERE t.id IN :ids";
 
     @Override
     void update(Tag prevState, Tag nextState) {
@@ -24,6 +31,11 @@ public class TagDBRepository extends AbstractDBRepository<Tag, Long> implements
         }
     }
 
+    @Override
+    protected List<Class<?>> getCountDependentEntities() {
+        return List.of(News.class);
+    }
+
     @Override
     protected void getPredicateBySearchCriteria(List<SearchCriteria> searchCriteria, CriteriaBuilder criteriaBuilder, Root<Tag> root, List<Predicate> predicates) {
         if(searchCriteria==null || searchCriteria.isEmpty()){
@@ -33,36 +45,44 @@ public class TagDBRepository extends AbstractDBRepository<Tag, Long> implements
             if(criteria.getField().equals("name")){
                 predicates.add(criteriaBuilder.like(root.get(criteria.getField()), "%" + criteria.getValue().toString().trim() + "%"));
             }
+            if(criteria.getField().equals(NEWS_ID_FIELD)){
+                predicates.add(criteriaBuilder.equal(root.join("news").get("id"), criteria.getValue()));
+            }
         }
     }
 
     @Override
     public Page<Tag> readByNewsId(Long newsId, Pagination pagination) {
-        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Tag> criteriaQuery = criteriaBuilder.createQuery(Tag.class);
-        final Root<Tag> root = criteriaQuery.from(Tag.class);
-        Join<News, Tag> join = root.join("news");
+        return readAll(pagination, null, List.of(new SearchCriteria(NEWS_ID_FIELD, newsId)));
+    }
 
-        criteriaQuery.select(root).where(criteriaBuilder.equal(join.get("id"), newsId));
+    @Override
+    public Page<TagView> readAllViews(Pagination pagination, List<Sorting> sorting, List<SearchCriteria> searchCriteria) {
+        return readViews(pagination, sorting, searchCriteria, TAG_VIEW_QUERY, TagView.class, TagView::id);
+    }
+
+    @Override
+    public List<Tag> readByNames(Collection<String> names) {
+        return readByNames(names, NAME_FIELD, Tag::getName);
+    }
 
-        final int currentPage = pagination.page();
-        final int pageSize = pagination.pageSize();
-        TypedQuery<Tag> typedQuery = entityManager.createQuery(criteriaQuery);
-        typedQuery.setFirstResult((currentPage - 1) * pageSize);
-        typedQuery.setMaxResults(pageSize);
-        return new Page<>(typedQuery.getResultList(),currentPage, countPages(null, pageSize));
+    @Override
+    public List<Tag> ensureByNames(Collection<String> names) {
+        return ensureByNames(names, NAME_FIELD, Tag::getName, "", "");
     }
 
     @Override
     public Optional<Tag> readByName(String name) {
-        TypedQuery<Tag> typedQuery = entityManager
-                .createQuery("SELECT t FROM Tag t WHERE t.name = :tagName", Tag.class)
-                .setParameter("tagName", name)
-                .setMaxResults(1);
-        try {
-            return Optional.of(typedQuery.getSingleResult());
-        } catch (NoResultException ex) {
-            return Optional.empty();
-        }
+        return readByNaturalId(name);
+    }
+
+    @Override
+    public Optional<Tag> readCachedByName(String name) {
+        return readCachedByNaturalId(name);
+    }
+
+    @Override
+    protected boolean isViewQueryCacheable() {
+        return true;
     }
 }
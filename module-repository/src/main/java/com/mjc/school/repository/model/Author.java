@@ -1,6 +1,14 @@
 package com.mjc.school.repository.model;
 
 import javax.persistence.*;
+import com.mjc.school.repository.id.PooledSequenceGenerator;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -13,13 +21,23 @@ import java.util.Objects;
 @Entity
 @Table(name = "authors")
 @EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Author.CACHE_REGION)
+@NaturalIdCache(region = Author.NATURAL_ID_CACHE_REGION)
 public class Author implements BaseEntity<Long> {
+    public static final String CACHE_REGION = "authors";
+    public static final String NATURAL_ID_CACHE_REGION = "authors-by-name";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "author_id_generator")
+    @GenericGenerator(name = "author_id_generator", strategy = PooledSequenceGenerator.STRATEGY, parameters = {
+        @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "authors_seq"),
+        @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50")})
     @Column(name = "id")
     private Long id;
 
-    @Column(name = "name")
+    @NaturalId(mutable = true)
+    @Column(name = "name", unique = true)
     private String name;
 
     @CreatedDate
@@ -1,6 +1,10 @@
 package com.mjc.school.repository.model;
 
 import javax.persistence.*;
+import com.mjc.school.repository.id.PooledSequenceGenerator;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -12,9 +16,26 @@ import java.util.Objects;
 @Entity
 @Table(name = "news")
 @EntityListeners(AuditingEntityListener.class)
+@NamedEntityGraphs({
+    @NamedEntityGraph(name = News.SUMMARY_GRAPH, attributeNodes = @NamedAttributeNode("author")),
+    @NamedEntityGraph(name = News.WITH_TAGS_GRAPH, attributeNodes = {
+        @NamedAttributeNode("author"),
+        @NamedAttributeNode("tags")}),
+    @NamedEntityGraph(name = News.FULL_GRAPH, attributeNodes = {
+        @NamedAttributeNode("author"),
+        @NamedAttributeNode("tags"),
+        @NamedAttributeNode("comments")})
+})
 public class News implements BaseEntity<Long> {
+    public static final String SUMMARY_GRAPH = "News.summary";
+    public static final String WITH_TAGS_GRAPH = "News.withTags";
+    public static final String FULL_GRAPH = "News.full";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "news_id_generator")
+    @GenericGenerator(name = "news_id_generator", strategy = PooledSequenceGenerator.STRATEGY, parameters = {
+        @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "news_seq"),
+        @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50")})
     @Column(name = "id")
     private Long id;
 
@@ -1,6 +1,14 @@
 package com.mjc.school.repository.model;
 
 import javax.persistence.*;
+import com.mjc.school.repository.id.PooledSequenceGenerator;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.util.Objects;
@@ -9,13 +17,23 @@ import java.util.Set;
 @Entity
 @Table(name = "tags")
 @EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Tag.CACHE_REGION)
+@NaturalIdCache(region = Tag.NATURAL_ID_CACHE_REGION)
 public class Tag implements BaseEntity<Long> {
+    public static final String CACHE_REGION = "tags";
+    public static final String NATURAL_ID_CACHE_REGION = "tags-by-name";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tag_id_generator")
+    @GenericGenerator(name = "tag_id_generator", strategy = PooledSequenceGenerator.STRATEGY, parameters = {
+        @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "tags_seq"),
+        @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50")})
     @Column(name = "id")
     private Long id;
 
-    @Column(name = "name")
+    @NaturalId(mutable = true)
+    @Column(name = "name", unique = true)
     private String name;
 
     @ManyToMany(mappedBy = "tags", fetch = FetchType.LAZY)
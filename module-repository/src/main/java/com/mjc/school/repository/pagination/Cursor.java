@@ -0,0 +1,89 @@
+package com.mjc.school.repository.pagination;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Seek position of keyset pagination: the sort key values of the last row of a page, in sorting order.
+ * A null sort key is encoded as a field without a value, so that it can not be confused with the string "null".
+ */
+public record Cursor(Map<String, String> keys) {
+    private static final String KEY_DELIMITER = "&";
+    private static final String VALUE_DELIMITER = "=";
+
+    public Cursor {
+        keys = Collections.unmodifiableMap(new LinkedHashMap<>(keys));
+    }
+
+    public String encode() {
+        String rawCursor = keys.entrySet().stream()
+            .map(key -> key.getValue() == null ? URLEncoder.encode(key.getKey(), UTF_8) :
+                URLEncoder.encode(key.getKey(), UTF_8) + VALUE_DELIMITER + URLEncoder.encode(key.getValue(), UTF_8))
+            .collect(Collectors.joining(KEY_DELIMITER));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(rawCursor.getBytes(UTF_8));
+    }
+
+    public static Cursor decode(String token) {
+        String rawCursor = new String(Base64.getUrlDecoder().decode(token), UTF_8);
+        Map<String, String> keys = new LinkedHashMap<>();
+        for (String key : rawCursor.split(KEY_DELIMITER)) {
+            String[] fieldAndValue = key.split(VALUE_DELIMITER, -1);
+            if (fieldAndValue.length > 2 || fieldAndValue[0].isEmpty()) {
+                throw new IllegalArgumentException("Malformed pagination cursor: " + token);
+            }
+            String field = URLDecoder.decode(fieldAndValue[0], UTF_8);
+            if (keys.containsKey(field)) {
+                throw new IllegalArgumentException("Malformed pagination cursor: " + token);
+            }
+            keys.put(field, fieldAndValue.length == 2 ? URLDecoder.decode(fieldAndValue[1], UTF_8) : null);
+        }
+        return new Cursor(keys);
+    }
+
+    /**
+     * Sort key values converted to the given types, one per field.
+     *
+     * @throws IllegalArgumentException if the cursor was not created for these fields or a value can not be parsed
+     */
+    public List<Object> values(List<String> fields, List<Class<?>> types) {
+        if (!fields.equals(new ArrayList<>(keys.keySet()))) {
+            throw new IllegalArgumentException("Pagination cursor does not match sorting " + fields + ".");
+        }
+        List<Object> values = new ArrayList<>(fields.size());
+        for (int i = 0; i < fields.size(); i++) {
+            values.add(parse(types.get(i), keys.get(fields.get(i))));
+        }
+        return values;
+    }
+
+    private static Object parse(Class<?> type, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            if (LocalDateTime.class.equals(type)) {
+                return LocalDateTime.parse(value);
+            }
+            if (Long.class.equals(type) || long.class.equals(type)) {
+                return Long.valueOf(value);
+            }
+            if (Double.class.equals(type) || double.class.equals(type)) {
+                return Double.valueOf(value);
+            }
+            return value;
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Pagination cursor value " + value + " is not a " + type.getSimpleName() + ".", e);
+        }
+    }
+}
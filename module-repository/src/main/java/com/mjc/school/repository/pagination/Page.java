@@ -2,5 +2,20 @@ package com.mjc.school.repository.pagination;
 
 import java.util.List;
 
-public record Page<T>(List<T> entities, int currentPage, int pageCount) {
+/**
+ * pageCount is null when the page was read with {@link PageCountStrategy#HAS_NEXT}.
+ */
+public record Page<T>(List<T> entities,
+                      int currentPage,
+                      Integer pageCount,
+                      boolean hasNextPage,
+                      String nextCursor,
+                      PageCountStrategy countStrategy) {
+    public Page(List<T> entities, int currentPage, int pageCount) {
+        this(entities, currentPage, pageCount, currentPage < pageCount, null, PageCountStrategy.EXACT);
+    }
+
+    public <R> Page<R> withEntities(List<R> entities) {
+        return new Page<>(entities, currentPage, pageCount, hasNextPage, nextCursor, countStrategy);
+    }
 }
@@ -0,0 +1,25 @@
+package com.mjc.school.repository.pagination;
+
+import java.util.Arrays;
+
+public enum PageCountStrategy {
+    // separate COUNT(*) query with the same predicates
+    EXACT,
+    // total taken from count(*) over() selected along with the page rows
+    WINDOW,
+    // planner estimate from pg_class.reltuples, exact count when the page is filtered
+    ESTIMATE,
+    // no counting at all, only whether a next page exists
+    HAS_NEXT;
+
+    public static boolean isStrategyExisted(final String strategyName) {
+        return Arrays.stream(values()).anyMatch(strategy -> strategy.name().equalsIgnoreCase(strategyName));
+    }
+
+    public static PageCountStrategy fromName(final String strategyName) {
+        if (strategyName == null || strategyName.isBlank()) {
+            return EXACT;
+        }
+        return valueOf(strategyName.trim().toUpperCase());
+    }
+}
@@ -1,4 +1,17 @@
 package com.mjc.school.repository.pagination;
 
-public record Pagination(int page, int pageSize) {
+public record Pagination(int page, int pageSize, String cursor, PageCountStrategy countStrategy) {
+    public Pagination {
+        if (countStrategy == null) {
+            countStrategy = PageCountStrategy.EXACT;
+        }
+    }
+
+    public Pagination(int page, int pageSize) {
+        this(page, pageSize, null, PageCountStrategy.EXACT);
+    }
+
+    public Pagination(int page, int pageSize, String cursor) {
+        this(page, pageSize, cursor, PageCountStrategy.EXACT);
+    }
 }
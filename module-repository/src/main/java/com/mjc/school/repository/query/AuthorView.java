@@ -0,0 +1,9 @@
+package com.mjc.school.repository.query;
+
+import java.time.LocalDateTime;
+
+public record AuthorView(Long id,
+                         String name,
+                         LocalDateTime createdDate,
+                         LocalDateTime lastUpdatedDate) {
+}
@@ -0,0 +1,9 @@
+package com.mjc.school.repository.query;
+
+import java.time.LocalDateTime;
+
+public record CommentView(Long id,
+                          String content,
+                          LocalDateTime createdDate,
+                          LocalDateTime lastUpdatedDate) {
+}
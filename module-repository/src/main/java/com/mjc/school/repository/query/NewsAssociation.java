@@ -0,0 +1,11 @@
+package com.mjc.school.repository.query;
+
+/**
+ * Parts of a {@link NewsView} that can be left out: the collections read with extra queries, and the content,
+ * the largest column of the news row.
+ */
+public enum NewsAssociation {
+    TAGS,
+    COMMENTS,
+    CONTENT
+}
@@ -0,0 +1,21 @@
+package com.mjc.school.repository.query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The news fields an in-memory search index is built from, tags are added after the news rows have been selected.
+ */
+public record NewsSearchView(Long id,
+                             String title,
+                             LocalDateTime createdDate,
+                             LocalDateTime lastUpdatedDate,
+                             String authorName,
+                             List<TagView> tags) {
+
+    // used by the constructor expression of the search row query
+    public NewsSearchView(Long id, String title, LocalDateTime createdDate, LocalDateTime lastUpdatedDate, String authorName) {
+        this(id, title, createdDate, lastUpdatedDate, authorName, new ArrayList<>());
+    }
+}
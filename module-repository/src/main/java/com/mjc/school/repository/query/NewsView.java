@@ -0,0 +1,60 @@
+package com.mjc.school.repository.query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read-only news row, tags and comments are added after the news rows have been selected. The comments
+ * are the latest ones only, the count is of all of them and null when they were not read. The lists are
+ * immutable, so a view can be shared by cached responses.
+ */
+public record NewsView(Long id,
+                       String title,
+                       String content,
+                       LocalDateTime createdDate,
+                       LocalDateTime lastUpdatedDate,
+                       AuthorView author,
+                       List<TagView> tags,
+                       List<CommentView> comments,
+                       Long commentCount) {
+
+    public NewsView {
+        tags = tags == null ? List.of() : List.copyOf(tags);
+        comments = comments == null ? List.of() : List.copyOf(comments);
+    }
+
+    // used by the constructor expression of the news row query
+    public NewsView(Long id,
+                    String title,
+                    String content,
+                    LocalDateTime createdDate,
+                    LocalDateTime lastUpdatedDate,
+                    Long authorId,
+                    String authorName,
+                    LocalDateTime authorCreatedDate,
+                    LocalDateTime authorLastUpdatedDate) {
+        this(id, title, content, createdDate, lastUpdatedDate,
+            authorId == null ? null : new AuthorView(authorId, authorName, authorCreatedDate, authorLastUpdatedDate),
+            List.of(), List.of(), null);
+    }
+
+    // used by the constructor expression of the news row query without the content
+    public NewsView(Long id,
+                    String title,
+                    LocalDateTime createdDate,
+                    LocalDateTime lastUpdatedDate,
+                    Long authorId,
+                    String authorName,
+                    LocalDateTime authorCreatedDate,
+                    LocalDateTime authorLastUpdatedDate) {
+        this(id, title, null, createdDate, lastUpdatedDate, authorId, authorName, authorCreatedDate, authorLastUpdatedDate);
+    }
+
+    public NewsView withTags(List<TagView> tags) {
+        return new NewsView(id, title, content, createdDate, lastUpdatedDate, author, tags, comments, commentCount);
+    }
+
+    public NewsView withComments(List<CommentView> comments, Long commentCount) {
+        return new NewsView(id, title, content, createdDate, lastUpdatedDate, author, tags, comments, commentCount);
+    }
+}
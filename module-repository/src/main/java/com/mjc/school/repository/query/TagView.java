@@ -0,0 +1,5 @@
+package com.mjc.school.repository.query;
+
+public record TagView(Long id,
+                      String name) {
+}
@@ -0,0 +1,11 @@
+package com.mjc.school.repository.query;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version of everything a read of one entity returns: the latest change date, and a fingerprint that also
+ * changes with the changes that leave no date behind, like deletes or tag renames.
+ */
+public record VersionView(LocalDateTime lastModified,
+                          String fingerprint) {
+}
@@ -0,0 +1,24 @@
+package com.mjc.school.repository.routing;
+
+/**
+ * The client the current thread works for, which sees its own writes: its reads go to the primary for a
+ * while after it wrote. Null when the client is unknown.
+ */
+public final class ClientContext {
+    private static final ThreadLocal<String> CLIENT = new ThreadLocal<>();
+
+    private ClientContext() {
+    }
+
+    public static void setClient(String client) {
+        CLIENT.set(client);
+    }
+
+    public static String getClient() {
+        return CLIENT.get();
+    }
+
+    public static void clear() {
+        CLIENT.remove();
+    }
+}
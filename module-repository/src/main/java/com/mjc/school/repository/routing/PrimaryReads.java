@@ -0,0 +1,32 @@
+package com.mjc.school.repository.routing;
+
+import java.util.function.Supplier;
+
+/**
+ * Sends the reads of the current thread to the primary while a task runs, for reads whose result outlives the
+ * request, such as a cached response or the version a client's copy is compared with, and must not be stale.
+ */
+public final class PrimaryReads {
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static <T> T call(Supplier<T> task) {
+        Boolean previous = ACTIVE.get();
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                ACTIVE.remove();
+            } else {
+                ACTIVE.set(previous);
+            }
+        }
+    }
+
+    public static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+}
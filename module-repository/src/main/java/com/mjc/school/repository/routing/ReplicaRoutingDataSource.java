@@ -0,0 +1,228 @@
+package com.mjc.school.repository.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary. A replica lagging more than
+ * the maximum lag, or that could not be asked for its lag, is skipped, and reads go to the primary when no
+ * replica is left. A client's reads go to the primary during the read-your-writes window after it opened
+ * a read-write transaction, see {@link ClientContext}, and any reads go to the primary inside
+ * {@link PrimaryReads#call}.
+ * <p>
+ * The data source is chosen when a connection is obtained, so the read-only flag of the transaction must be
+ * known by then: wrap this data source in a {@code LazyConnectionDataSourceProxy}.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    // 0 when the replica replayed all it received, the age of the last replayed transaction otherwise
+    public static final String POSTGRESQL_LAG_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+        + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+    private static final long UNAVAILABLE = Long.MAX_VALUE;
+    // expired writes are removed from then on
+    private static final int MAX_TRACKED_CLIENTS = 10_000;
+    // bound to a transaction that obtained a connection to a replica
+    private static final Object REPLICA_READ_KEY = new Object();
+
+    private final DataSource primary;
+    private final Replica[] replicas;
+    private final ReplicaSelection selection;
+    private final long maxLagMs;
+    private final long readYourWritesWindowNanos;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Map<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService lagChecker;
+
+    /**
+     * @param lagQuery query answering the lag of a replica in milliseconds, null to not check the lag. When it
+     *                 is checked, a replica is unavailable until its lag was first answered
+     */
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    List<DataSource> replicas,
+                                    ReplicaSelection selection,
+                                    long maxLagMs,
+                                    long readYourWritesWindowMs,
+                                    String lagQuery,
+                                    long lagCheckIntervalMs) {
+        this.primary = primary;
+        long initialLagMs = lagQuery == null ? 0 : UNAVAILABLE;
+        this.replicas = replicas.stream().map(replica -> new Replica(replica, initialLagMs)).toArray(Replica[]::new);
+        this.selection = selection;
+        this.maxLagMs = maxLagMs;
+        this.readYourWritesWindowNanos = TimeUnit.MILLISECONDS.toNanos(readYourWritesWindowMs);
+        if (lagQuery == null || this.replicas.length == 0) {
+            this.lagChecker = null;
+        } else {
+            this.lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "replica-lag-checker");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.lagChecker.scheduleWithFixedDelay(() -> checkLag(lagQuery), 0, lagCheckIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route().getConnection(username, password);
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (lagChecker != null) {
+            lagChecker.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private DataSource route() {
+        String client = ClientContext.getClient();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (client != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                recordWrite(client);
+            }
+            return primary;
+        }
+        if (readsFromPrimary()) {
+            return primary;
+        }
+        Replica replica = selection == ReplicaSelection.LEAST_LOADED ? leastLoaded() : nextInTurn();
+        if (replica == null) {
+            return primary;
+        }
+        markReplicaRead();
+        return replica.dataSource;
+    }
+
+    /**
+     * Whether the reads of the current thread go to the primary whatever the replicas' lag: inside
+     * {@link PrimaryReads#call}, and for a client during the read-your-writes window.
+     */
+    public boolean readsFromPrimary() {
+        String client = ClientContext.getClient();
+        return PrimaryReads.isActive() || client != null && wroteRecently(client);
+    }
+
+    /**
+     * Whether the current transaction reads from a replica, which may lag behind the primary: what it reads
+     * must not be cached beyond it.
+     */
+    public static boolean isReadingFromReplica() {
+        return TransactionSynchronizationManager.hasResource(REPLICA_READ_KEY);
+    }
+
+    private static void markReplicaRead() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+            || TransactionSynchronizationManager.hasResource(REPLICA_READ_KEY)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(REPLICA_READ_KEY, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(REPLICA_READ_KEY);
+            }
+        });
+    }
+
+    private Replica nextInTurn() {
+        int first = Math.floorMod(nextReplica.getAndIncrement(), Math.max(replicas.length, 1));
+        for (int i = 0; i < replicas.length; i++) {
+            Replica replica = replicas[(first + i) % replicas.length];
+            if (replica.lagMs <= maxLagMs) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private Replica leastLoaded() {
+        Replica leastLoaded = null;
+        int leastActive = Integer.MAX_VALUE;
+        for (Replica replica : replicas) {
+            if (replica.lagMs <= maxLagMs) {
+                int active = replica.activeConnections();
+                if (active < leastActive) {
+                    leastLoaded = replica;
+                    leastActive = active;
+                }
+            }
+        }
+        return leastLoaded;
+    }
+
+    private void recordWrite(String client) {
+        long now = System.nanoTime();
+        lastWriteNanos.put(client, now);
+        if (lastWriteNanos.size() > MAX_TRACKED_CLIENTS) {
+            lastWriteNanos.values().removeIf(written -> now - written > readYourWritesWindowNanos);
+        }
+    }
+
+    private boolean wroteRecently(String client) {
+        Long written = lastWriteNanos.get(client);
+        return written != null && System.nanoTime() - written <= readYourWritesWindowNanos;
+    }
+
+    private void checkLag(String lagQuery) {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                replica.lagMs = resultSet.next() ? resultSet.getLong(1) : UNAVAILABLE;
+            } catch (SQLException | RuntimeException e) {
+                replica.lagMs = UNAVAILABLE;
+            }
+        }
+    }
+
+    // for tests, which do not query the lag
+    void setLag(int replica, long lagMs) {
+        replicas[replica].lagMs = lagMs;
+    }
+
+    private static final class Replica {
+        private final DataSource dataSource;
+        private volatile long lagMs;
+
+        private Replica(DataSource dataSource, long lagMs) {
+            this.dataSource = dataSource;
+            this.lagMs = lagMs;
+        }
+
+        private int activeConnections() {
+            if (dataSource instanceof HikariDataSource hikari) {
+                HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+                return pool == null ? 0 : pool.getActiveConnections();
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.mjc.school.repository.routing;
+
+public enum ReplicaSelection {
+    ROUND_ROBIN,
+    // the replica with the fewest connections in use
+    LEAST_LOADED;
+
+    public static ReplicaSelection of(String name) {
+        return valueOf(name.trim().replace('-', '_').toUpperCase());
+    }
+}
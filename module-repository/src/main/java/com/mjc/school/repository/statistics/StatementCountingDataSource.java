@@ -0,0 +1,155 @@
+package com.mjc.school.repository.statistics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Counts the statements executed through its connections into the {@link StatementStatistics} of the
+ * executing thread. Statements executed while nothing is counted and their result sets are not counted.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource implements AutoCloseable {
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+    }
+
+    // closes the pools it wraps along with the application context
+    @Override
+    public void close() throws Exception {
+        DataSource target = getTargetDataSource();
+        while (!(target instanceof AutoCloseable) && target instanceof DelegatingDataSource delegating) {
+            target = delegating.getTargetDataSource();
+        }
+        if (target instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, DelegatingHandler handler) {
+        return type.cast(Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private abstract static class DelegatingHandler implements InvocationHandler {
+        protected final Object target;
+
+        DelegatingHandler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            // equal to itself only, since the target does not know its proxy
+            if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+                return proxy == args[0];
+            }
+            return handle(method, args);
+        }
+
+        protected abstract Object handle(Method method, Object[] args) throws Throwable;
+
+        protected Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static class ConnectionHandler extends DelegatingHandler {
+        ConnectionHandler(Connection target) {
+            super(target);
+        }
+
+        @Override
+        protected Object handle(Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(method, args);
+            // createStatement, prepareStatement and prepareCall
+            if (result instanceof Statement) {
+                return proxy(method.getReturnType().asSubclass(Statement.class), new StatementHandler(result));
+            }
+            return result;
+        }
+    }
+
+    private static class StatementHandler extends DelegatingHandler {
+        StatementHandler(Object target) {
+            super(target);
+        }
+
+        @Override
+        protected Object handle(Method method, Object[] args) throws Throwable {
+            StatementStatistics statistics = StatementStatistics.current();
+            String name = method.getName();
+            if (statistics == null) {
+                return invokeTarget(method, args);
+            }
+            if (!name.startsWith("execute")) {
+                Object result = invokeTarget(method, args);
+                return name.equals("getResultSet") ? countRows(result, statistics) : result;
+            }
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = invokeTarget(method, args);
+            } finally {
+                statistics.recordStatement(System.nanoTime() - start);
+            }
+            if (result instanceof Integer updated) {
+                statistics.recordRows(Math.max(updated, 0));
+            } else if (result instanceof Long updated) {
+                statistics.recordRows(Math.max(updated, 0));
+            } else if (result instanceof int[] updated) {
+                for (int rows : updated) {
+                    statistics.recordRows(Math.max(rows, 0));
+                }
+            } else if (result instanceof long[] updated) {
+                for (long rows : updated) {
+                    statistics.recordRows(Math.max(rows, 0));
+                }
+            }
+            return countRows(result, statistics);
+        }
+
+        private static Object countRows(Object result, StatementStatistics statistics) {
+            return result instanceof ResultSet ? proxy(ResultSet.class, new ResultSetHandler(result, statistics)) : result;
+        }
+    }
+
+    private static class ResultSetHandler extends DelegatingHandler {
+        // the counts the statement was executed in
+        private final StatementStatistics statistics;
+
+        ResultSetHandler(Object target, StatementStatistics statistics) {
+            super(target);
+            this.statistics = statistics;
+        }
+
+        @Override
+        protected Object handle(Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(method, args);
+            if (result == Boolean.TRUE && method.getName().equals("next")) {
+                statistics.recordRows(1);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.mjc.school.repository.statistics;
+
+/**
+ * Statements executed, rows they read or changed and the time spent executing them, counted for the current
+ * thread between {@link #start()} and {@link #stop()}. A batch counts as one statement, since it is one
+ * round trip. Nested counts are added to the enclosing ones when stopped.
+ */
+public final class StatementStatistics {
+    private static final ThreadLocal<StatementStatistics> CURRENT = new ThreadLocal<>();
+
+    private final StatementStatistics enclosing;
+    private int statements;
+    private long rows;
+    private long nanos;
+
+    private StatementStatistics(StatementStatistics enclosing) {
+        this.enclosing = enclosing;
+    }
+
+    public static StatementStatistics start() {
+        StatementStatistics statistics = new StatementStatistics(CURRENT.get());
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Stops the counts of the current thread started last, null when none were started.
+     */
+    public static StatementStatistics stop() {
+        StatementStatistics statistics = CURRENT.get();
+        if (statistics == null) {
+            return null;
+        }
+        StatementStatistics enclosing = statistics.enclosing;
+        if (enclosing == null) {
+            CURRENT.remove();
+        } else {
+            enclosing.statements += statistics.statements;
+            enclosing.rows += statistics.rows;
+            enclosing.nanos += statistics.nanos;
+            CURRENT.set(enclosing);
+        }
+        return statistics;
+    }
+
+    /**
+     * The counts of the current thread, null when nothing is counted.
+     */
+    public static StatementStatistics current() {
+        return CURRENT.get();
+    }
+
+    void recordStatement(long nanos) {
+        statements++;
+        this.nanos += nanos;
+    }
+
+    void recordRows(long rows) {
+        this.rows += rows;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d statements, %d rows, %.3f ms", statements, rows, nanos / 1_000_000.0);
+    }
+}
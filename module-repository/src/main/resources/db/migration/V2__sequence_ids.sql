@@ -0,0 +1,28 @@
+-- Ids move from identity/serial columns to sequences the application allocates from in blocks of 50
+-- (pooled-lo). Column defaults use the same sequences, so rows inserted by plain SQL never collide
+-- with ids handed out by Hibernate.
+
+CREATE SEQUENCE IF NOT EXISTS news_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS authors_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS tags_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq INCREMENT BY 50;
+
+SELECT setval('news_seq', COALESCE((SELECT MAX(id) FROM news), 0) + 1, false);
+SELECT setval('authors_seq', COALESCE((SELECT MAX(id) FROM authors), 0) + 1, false);
+SELECT setval('tags_seq', COALESCE((SELECT MAX(id) FROM tags), 0) + 1, false);
+SELECT setval('comments_seq', COALESCE((SELECT MAX(id) FROM comments), 0) + 1, false);
+
+ALTER TABLE news ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE authors ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE tags ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+ALTER TABLE news ALTER COLUMN id SET DEFAULT nextval('news_seq');
+ALTER TABLE authors ALTER COLUMN id SET DEFAULT nextval('authors_seq');
+ALTER TABLE tags ALTER COLUMN id SET DEFAULT nextval('tags_seq');
+ALTER TABLE comments ALTER COLUMN id SET DEFAULT nextval('comments_seq');
+
+ALTER SEQUENCE news_seq OWNED BY news.id;
+ALTER SEQUENCE authors_seq OWNED BY authors.id;
+ALTER SEQUENCE tags_seq OWNED BY tags.id;
+ALTER SEQUENCE comments_seq OWNED BY comments.id;
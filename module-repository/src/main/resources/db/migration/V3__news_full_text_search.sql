@@ -0,0 +1,10 @@
+-- Full-text search over news: an expression index on the weighted title + content vector, matched by the
+-- fts_match/fts_rank functions of NewsPostgreSQLDialect. The expression has to stay identical to theirs.
+CREATE INDEX IF NOT EXISTS news_search_vector_idx ON news USING GIN (
+    (setweight(to_tsvector('english', coalesce(title, '')), 'A')
+        || setweight(to_tsvector('english', coalesce(content, '')), 'B')));
+
+-- Trigram indexes keep the substring (LIKE '%value%') title and content filters off sequential scans.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS news_title_trgm_idx ON news USING GIN (title gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS news_content_trgm_idx ON news USING GIN (content gin_trgm_ops);
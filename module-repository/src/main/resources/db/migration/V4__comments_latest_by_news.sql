@@ -0,0 +1,3 @@
+-- The latest comments of a news are read newest first and limited per news, this index answers that
+-- without sorting all the comments of a news.
+CREATE INDEX IF NOT EXISTS comments_news_id_created_date_idx ON comments (news_id, created_date DESC, id DESC);
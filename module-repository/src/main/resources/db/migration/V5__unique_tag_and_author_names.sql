@@ -0,0 +1,21 @@
+-- Tags and authors are upserted by name with INSERT ... ON CONFLICT (name), which needs a unique index on
+-- the name. Rows sharing a name are merged into the one with the lowest id before the indexes are created.
+CREATE TEMPORARY TABLE tag_duplicates ON COMMIT DROP AS
+SELECT id, kept_id FROM (SELECT id, MIN(id) OVER (PARTITION BY name) AS kept_id FROM tags WHERE name IS NOT NULL) t
+WHERE id <> kept_id;
+
+INSERT INTO newstags (news_id, tag_id)
+SELECT DISTINCT nt.news_id, d.kept_id FROM newstags nt INNER JOIN tag_duplicates d ON d.id = nt.tag_id
+WHERE NOT EXISTS (SELECT 1 FROM newstags kept WHERE kept.news_id = nt.news_id AND kept.tag_id = d.kept_id);
+DELETE FROM newstags nt USING tag_duplicates d WHERE nt.tag_id = d.id;
+DELETE FROM tags t USING tag_duplicates d WHERE t.id = d.id;
+
+CREATE TEMPORARY TABLE author_duplicates ON COMMIT DROP AS
+SELECT id, kept_id FROM (SELECT id, MIN(id) OVER (PARTITION BY name) AS kept_id FROM authors WHERE name IS NOT NULL) a
+WHERE id <> kept_id;
+
+UPDATE news n SET author_id = d.kept_id FROM author_duplicates d WHERE n.author_id = d.id;
+DELETE FROM authors a USING author_duplicates d WHERE a.id = d.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS tags_name_key ON tags (name);
+CREATE UNIQUE INDEX IF NOT EXISTS authors_name_key ON authors (name);
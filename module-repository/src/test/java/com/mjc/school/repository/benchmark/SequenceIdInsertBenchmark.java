@@ -0,0 +1,179 @@
+package com.mjc.school.repository.benchmark;
+
+import com.mjc.school.repository.model.Comment;
+import com.mjc.school.repository.model.News;
+import com.mjc.school.repository.model.Tag;
+import com.mjc.school.repository.statistics.StatementCountAssertions;
+import com.mjc.school.repository.statistics.StatementStatistics;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.function.IntFunction;
+
+/**
+ * Insert throughput of entities with pooled sequence ids, flushed in JDBC batches, against the row by row
+ * INSERT ... RETURNING id round trips that IDENTITY ids force on Hibernate. The rates are logged, while the
+ * assertions are on the round trips, which unlike the timings do not depend on the machine running them.
+ * Run with {@code gradle :module-repository:test --tests '*SequenceIdInsertBenchmark' -Dbenchmark.datasource.url=jdbc:postgresql://...}
+ */
+@org.junit.jupiter.api.Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark.datasource.url", matches = ".+")
+@SpringBootTest(classes = SequenceIdInsertBenchmark.BenchmarkApplication.class, properties = {
+    "spring.datasource.url=${benchmark.datasource.url}",
+    "spring.datasource.username=${benchmark.datasource.username:postgres}",
+    "spring.datasource.password=${benchmark.datasource.password:postgres}",
+    "spring.jpa.database-platform=com.mjc.school.repository.dialect.NewsPostgreSQLDialect",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "spring.jpa.properties.hibernate.jdbc.batch_size=" + SequenceIdInsertBenchmark.BATCH_SIZE,
+    "spring.jpa.properties.hibernate.order_inserts=true",
+    "spring.flyway.baseline-on-migrate=true",
+    "spring.flyway.baseline-version=1"
+})
+class SequenceIdInsertBenchmark {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SequenceIdInsertBenchmark.class);
+    private static final int ROWS = 5_000;
+    private static final int BATCH_SIZE = 50;
+    private static final int ROUNDS = 3;
+    private static final String PREFIX = "benchmark-";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long newsId;
+
+    @BeforeEach
+    void setUp() {
+        newsId = transactionTemplate.execute(status -> {
+            News news = new News(null, PREFIX + "title", PREFIX + "content", null, null, null, null, null);
+            entityManager.persist(news);
+            return news.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createNativeQuery("DELETE FROM comments WHERE content LIKE '" + PREFIX + "%'").executeUpdate();
+            entityManager.createNativeQuery("DELETE FROM tags WHERE name LIKE '" + PREFIX + "%'").executeUpdate();
+            entityManager.createNativeQuery("DELETE FROM news WHERE id = " + newsId).executeUpdate();
+        });
+    }
+
+    @Test
+    void tagInsertThroughput() {
+        compare("tags",
+            round -> insertRowByRow("INSERT INTO tags (name) VALUES (?)",
+                (statement, i) -> statement.setString(1, PREFIX + "row-" + round + "-" + i)),
+            round -> persistBatched(i -> new Tag(null, PREFIX + "seq-" + round + "-" + i)));
+    }
+
+    @Test
+    void commentInsertThroughput() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        compare("comments",
+            round -> insertRowByRow("INSERT INTO comments (content, created_date, last_updated_date, news_id) VALUES (?, ?, ?, ?)",
+                (statement, i) -> {
+                    statement.setString(1, PREFIX + "row-" + round + "-" + i);
+                    statement.setTimestamp(2, now);
+                    statement.setTimestamp(3, now);
+                    statement.setLong(4, newsId);
+                }),
+            round -> persistBatched(i -> new Comment(null, PREFIX + "seq-" + round + "-" + i, null, null,
+                entityManager.getReference(News.class, newsId))));
+    }
+
+    private void compare(String table, IntFunction<Long> rowByRow, IntFunction<Long> batched) {
+        long rowByRowNanos = Long.MAX_VALUE;
+        long batchedNanos = Long.MAX_VALUE;
+        StatementStatistics rowByRowStatements = null;
+        StatementStatistics batchedStatements = null;
+        // the first round warms up the connection pool, the JIT and the statement caches
+        for (int round = 0; round <= ROUNDS; round++) {
+            int currentRound = round;
+            long[] rowByRowRound = new long[1];
+            long[] batchedRound = new long[1];
+            rowByRowStatements = StatementCountAssertions.countStatements(() -> rowByRowRound[0] = rowByRow.apply(currentRound));
+            batchedStatements = StatementCountAssertions.countStatements(() -> batchedRound[0] = batched.apply(currentRound));
+            if (round > 0) {
+                rowByRowNanos = Math.min(rowByRowNanos, rowByRowRound[0]);
+                batchedNanos = Math.min(batchedNanos, batchedRound[0]);
+            }
+        }
+        LOGGER.info(String.format("%s: identity style %.0f rows/s (%s), pooled sequence %.0f rows/s (%s), x%.1f", table,
+            rowsPerSecond(rowByRowNanos), rowByRowStatements, rowsPerSecond(batchedNanos), batchedStatements,
+            (double) rowByRowNanos / batchedNanos));
+        Assertions.assertTrue(rowByRowStatements.getStatements() >= ROWS, "identity style inserts take a round trip per row");
+        // one insert batch and at most one sequence call per block of ids
+        Assertions.assertTrue(batchedStatements.getStatements() <= 2 * (ROWS / BATCH_SIZE + 1),
+            "pooled sequence inserts should be batched, but took " + batchedStatements);
+    }
+
+    private long insertRowByRow(String sql, RowBinder binder) {
+        return timed(() -> entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql, new String[]{"id"})) {
+                for (int i = 0; i < ROWS; i++) {
+                    binder.bind(statement, i);
+                    statement.executeUpdate();
+                    try (ResultSet generatedId = statement.getGeneratedKeys()) {
+                        generatedId.next();
+                    }
+                }
+            }
+        }));
+    }
+
+    private long persistBatched(IntFunction<Object> entity) {
+        return timed(() -> {
+            for (int i = 0; i < ROWS; i++) {
+                entityManager.persist(entity.apply(i));
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.flush();
+        });
+    }
+
+    private long timed(Runnable inserts) {
+        return transactionTemplate.execute(status -> {
+            long start = System.nanoTime();
+            inserts.run();
+            return System.nanoTime() - start;
+        });
+    }
+
+    private static double rowsPerSecond(long nanos) {
+        return ROWS * 1_000_000_000.0 / nanos;
+    }
+
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement statement, int row) throws java.sql.SQLException;
+    }
+
+    @SpringBootApplication(scanBasePackages = "com.mjc.school.repository")
+    @EntityScan("com.mjc.school.repository.model")
+    static class BenchmarkApplication {
+    }
+}
@@ -0,0 +1,157 @@
+package com.mjc.school.repository.cache;
+
+import com.mjc.school.repository.filter.SearchCriteria;
+import com.mjc.school.repository.model.Comment;
+import com.mjc.school.repository.model.News;
+import com.mjc.school.repository.model.Tag;
+import com.mjc.school.repository.routing.ReplicaRoutingDataSource;
+import com.mjc.school.repository.routing.ReplicaSelection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class PageCountCacheTest {
+    private final AtomicInteger counted = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void getOrCount_countsOncePerSignature_Test() {
+        PageCountCache cache = new PageCountCache(30, 100);
+
+        Assertions.assertEquals(7L, cache.getOrCount(News.class, List.of(criteria("tags.name", "java"), criteria("title", "x")), this::count));
+        Assertions.assertEquals(7L, cache.getOrCount(News.class, List.of(criteria("title", "x"), criteria("tags.name", "java"), criteria("title", "x")), this::count));
+
+        Assertions.assertEquals(1, counted.get());
+    }
+
+    @Test
+    void getOrCount_keepsEntitiesAndFiltersApart_Test() {
+        PageCountCache cache = new PageCountCache(30, 100);
+
+        cache.getOrCount(News.class, null, this::count);
+        cache.getOrCount(Tag.class, null, this::count);
+        cache.getOrCount(News.class, List.of(criteria("title", "x")), this::count);
+
+        Assertions.assertEquals(3, counted.get());
+    }
+
+    @Test
+    void getOrCount_valueWithSeparators_keptApartFromOtherCriteria_Test() {
+        PageCountCache cache = new PageCountCache(30, 100);
+
+        cache.getOrCount(News.class, List.of(criteria("title", "a|tags.name:x")), this::count);
+        cache.getOrCount(News.class, List.of(criteria("title", "a"), criteria("tags.name", "x")), this::count);
+
+        Assertions.assertEquals(2, counted.get());
+    }
+
+    @Test
+    void getOrCount_afterTtl_countsAgain_Test() {
+        PageCountCache cache = new PageCountCache(0, 100);
+
+        cache.getOrCount(News.class, null, this::count);
+        cache.getOrCount(News.class, null, this::count);
+
+        Assertions.assertEquals(2, counted.get());
+    }
+
+    @Test
+    void getOrCount_beyondMaxSize_evictsLeastRecentlyUsed_Test() {
+        PageCountCache cache = new PageCountCache(30, 2);
+
+        cache.getOrCount(News.class, List.of(criteria("title", "a")), this::count);
+        cache.getOrCount(News.class, List.of(criteria("title", "b")), this::count);
+        cache.getOrCount(News.class, List.of(criteria("title", "a")), this::count);
+        cache.getOrCount(News.class, List.of(criteria("title", "c")), this::count);
+        cache.getOrCount(News.class, List.of(criteria("title", "a")), this::count);
+        cache.getOrCount(News.class, List.of(criteria("title", "b")), this::count);
+
+        Assertions.assertEquals(4, counted.get());
+    }
+
+    @Test
+    void invalidate_evictsOnlyThatEntity_Test() {
+        PageCountCache cache = new PageCountCache(30, 100);
+        cache.getOrCount(News.class, null, this::count);
+        cache.getOrCount(Comment.class, null, this::count);
+
+        cache.invalidate(News.class);
+        cache.getOrCount(News.class, null, this::count);
+        cache.getOrCount(Comment.class, null, this::count);
+
+        Assertions.assertEquals(3, counted.get());
+    }
+
+    @Test
+    void invalidate_evictsAgainAfterTransactionCompletion_Test() {
+        PageCountCache cache = new PageCountCache(30, 100);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.invalidate(News.class);
+        // a reader outside the writing transaction still sees the old rows and caches their count
+        cache.getOrCount(News.class, null, this::count);
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        cache.getOrCount(News.class, null, this::count);
+
+        Assertions.assertEquals(2, counted.get());
+    }
+
+    @Test
+    void getOrCount_racingWithInvalidate_isNotCached_Test() {
+        PageCountCache cache = new PageCountCache(30, 100);
+
+        cache.getOrCount(News.class, null, () -> {
+            cache.invalidate(News.class);
+            return count();
+        });
+        cache.getOrCount(News.class, null, this::count);
+
+        Assertions.assertEquals(2, counted.get());
+    }
+
+    @Test
+    void getOrCount_readOnReplica_isNotCached_Test() throws SQLException {
+        PageCountCache cache = new PageCountCache(30, 100);
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(Mockito.mock(DataSource.class),
+            List.of(Mockito.mock(DataSource.class)), ReplicaSelection.ROUND_ROBIN, 1000, 5000, null, 0);
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            dataSource.getConnection();
+
+            cache.getOrCount(News.class, null, this::count);
+            cache.getOrCount(News.class, null, this::count);
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        }
+
+        Assertions.assertEquals(2, counted.get());
+        Assertions.assertFalse(ReplicaRoutingDataSource.isReadingFromReplica());
+    }
+
+    private Long count() {
+        counted.incrementAndGet();
+        return 7L;
+    }
+
+    private static SearchCriteria criteria(String field, Object value) {
+        return new SearchCriteria(field, value);
+    }
+}
@@ -0,0 +1,49 @@
+package com.mjc.school.repository.dialect;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+class NewsPostgreSQLDialectTest {
+    private final NewsPostgreSQLDialect dialect = new NewsPostgreSQLDialect();
+
+    @Test
+    void ftsMatch_rendersTheIndexedSearchVector_Test() throws IOException {
+        String match = render(NewsPostgreSQLDialect.FTS_MATCH_FUNCTION);
+
+        Assertions.assertTrue(match.endsWith(" @@ plainto_tsquery('english', ?))"), match);
+        // the planner only uses news_search_vector_idx for the very same expression
+        Assertions.assertTrue(normalize(readMigration()).contains(searchVector(match)), match);
+    }
+
+    @Test
+    void ftsRank_ranksTheSameSearchVector_Test() {
+        String match = render(NewsPostgreSQLDialect.FTS_MATCH_FUNCTION);
+        String rank = render(NewsPostgreSQLDialect.FTS_RANK_FUNCTION);
+
+        Assertions.assertEquals("cast(ts_rank(" + searchVector(match) + ", plainto_tsquery('english', ?)) as double precision)", rank);
+    }
+
+    private String render(String function) {
+        return dialect.getFunctions().get(function).render(null, List.of("title", "content", "?"), null);
+    }
+
+    private static String searchVector(String match) {
+        return match.substring(1, match.indexOf(" @@ "));
+    }
+
+    private static String readMigration() throws IOException {
+        try (InputStream migration = NewsPostgreSQLDialectTest.class.getResourceAsStream("/db/migration/V3__news_full_text_search.sql")) {
+            return new String(migration.readAllBytes(), UTF_8);
+        }
+    }
+
+    private static String normalize(String sql) {
+        return sql.replaceAll("\\s+", " ");
+    }
+}
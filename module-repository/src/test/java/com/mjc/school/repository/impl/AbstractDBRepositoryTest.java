@@ -0,0 +1,316 @@
+package com.mjc.school.repository.impl;
+
+import com.mjc.school.repository.exception.InvalidCursorRepositoryException;
+import com.mjc.school.repository.filter.SearchCriteria;
+import com.mjc.school.repository.model.Author;
+import com.mjc.school.repository.model.News;
+import com.mjc.school.repository.model.Tag;
+import com.mjc.school.repository.pagination.Cursor;
+import com.mjc.school.repository.pagination.PageCountStrategy;
+import com.mjc.school.repository.pagination.Pagination;
+import com.mjc.school.repository.sorting.SortOrder;
+import com.mjc.school.repository.sorting.Sorting;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.persistence.AttributeNode;
+import javax.persistence.EntityGraph;
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.metamodel.EntityType;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+class AbstractDBRepositoryTest {
+    private final CriteriaBuilder criteriaBuilder = Mockito.mock(CriteriaBuilder.class);
+    private final Expression<LocalDateTime> createdDate = expression(LocalDateTime.class);
+    private final Expression<Long> id = expression(Long.class);
+    private final List<Expression<?>> keysetExpressions = List.of(createdDate, id);
+
+    @BeforeEach
+    void setUp() {
+        Mockito.when(criteriaBuilder.and(any(Predicate[].class))).thenReturn(Mockito.mock(Predicate.class));
+        Mockito.when(criteriaBuilder.or(any(Predicate[].class))).thenReturn(Mockito.mock(Predicate.class));
+    }
+
+    @Test
+    void getSeekPredicate_comparesKeysInSortDirection_Test() {
+        LocalDateTime date = LocalDateTime.of(2023, 1, 2, 10, 15, 30);
+        String cursor = cursor(date.toString(), "42");
+
+        AbstractDBRepository.getSeekPredicate(cursor,
+            List.of(new Sorting("createdDate", SortOrder.DESC), new Sorting("id", SortOrder.DESC)),
+            keysetExpressions, criteriaBuilder);
+
+        Mockito.verify(criteriaBuilder).lessThan(createdDate, date);
+        Mockito.verify(criteriaBuilder).equal(createdDate, date);
+        Mockito.verify(criteriaBuilder).lessThan(id, 42L);
+        Mockito.verify(criteriaBuilder, Mockito.never()).isNull(any());
+    }
+
+    @Test
+    void getSeekPredicate_ascendingKeyIsFollowedByNulls_Test() {
+        LocalDateTime date = LocalDateTime.of(2023, 1, 2, 10, 15, 30);
+
+        AbstractDBRepository.getSeekPredicate(cursor(date.toString(), "42"),
+            List.of(new Sorting("createdDate", SortOrder.ASC), new Sorting("id", SortOrder.ASC)),
+            keysetExpressions, criteriaBuilder);
+
+        Mockito.verify(criteriaBuilder).greaterThan(createdDate, date);
+        Mockito.verify(criteriaBuilder).isNull(createdDate);
+    }
+
+    @Test
+    void getSeekPredicate_withNullKey_seeksByNullness_Test() {
+        AbstractDBRepository.getSeekPredicate(cursor(null, "42"),
+            List.of(new Sorting("createdDate", SortOrder.DESC), new Sorting("id", SortOrder.DESC)),
+            keysetExpressions, criteriaBuilder);
+
+        Mockito.verify(criteriaBuilder).isNotNull(createdDate);
+        Mockito.verify(criteriaBuilder).isNull(createdDate);
+        Mockito.verify(criteriaBuilder, Mockito.never()).equal(any(Expression.class), any(Object.class));
+        Mockito.verify(criteriaBuilder).lessThan(id, 42L);
+    }
+
+    @Test
+    void getSeekPredicate_withOtherSorting_throwInvalidCursorRepositoryException_Test() {
+        String cursor = new Cursor(Map.of("id", "42")).encode();
+
+        Assertions.assertThrows(InvalidCursorRepositoryException.class,
+            () -> AbstractDBRepository.getSeekPredicate(cursor,
+                List.of(new Sorting("createdDate", SortOrder.DESC), new Sorting("id", SortOrder.DESC)),
+                keysetExpressions, criteriaBuilder));
+    }
+
+    @Test
+    void getSeekPredicate_withUnparseableKey_throwInvalidCursorRepositoryException_Test() {
+        Assertions.assertThrows(InvalidCursorRepositoryException.class,
+            () -> AbstractDBRepository.getSeekPredicate(cursor("yesterday", "42"),
+                List.of(new Sorting("createdDate", SortOrder.DESC), new Sorting("id", SortOrder.DESC)),
+                keysetExpressions, criteriaBuilder));
+        Assertions.assertThrows(InvalidCursorRepositoryException.class,
+            () -> AbstractDBRepository.getSeekPredicate(cursor("2023-01-02T10:15:30", "null"),
+                List.of(new Sorting("createdDate", SortOrder.DESC), new Sorting("id", SortOrder.DESC)),
+                keysetExpressions, criteriaBuilder));
+    }
+
+    @Test
+    void getSeekPredicate_withMalformedToken_throwInvalidCursorRepositoryException_Test() {
+        Assertions.assertThrows(InvalidCursorRepositoryException.class,
+            () -> AbstractDBRepository.getSeekPredicate("not base64!",
+                List.of(new Sorting("id", SortOrder.ASC)), List.of(id), criteriaBuilder));
+    }
+
+    @Test
+    void countPages_exact_countsEntities_Test() {
+        TagDBRepository repository = countingRepository(25L);
+
+        Assertions.assertEquals(3, repository.countPages(new Pagination(1, 10, null, PageCountStrategy.EXACT), null, null));
+        Mockito.verify(repository).countEntities(null);
+    }
+
+    @Test
+    void countPages_window_usesWindowTotal_Test() {
+        TagDBRepository repository = countingRepository(25L);
+
+        Assertions.assertEquals(2, repository.countPages(new Pagination(1, 10, null, PageCountStrategy.WINDOW), null, 20L));
+        Mockito.verify(repository, Mockito.never()).countEntities(any());
+    }
+
+    @Test
+    void countPages_windowWithoutTotal_countsEntities_Test() {
+        TagDBRepository repository = countingRepository(25L);
+
+        Assertions.assertEquals(3, repository.countPages(new Pagination(1, 10, null, PageCountStrategy.WINDOW), null, null));
+        Mockito.verify(repository).countEntities(null);
+    }
+
+    @Test
+    void countPages_estimate_usesPlannerStatistics_Test() {
+        TagDBRepository repository = countingRepository(25L);
+        mockReltuples(repository, 40f);
+
+        Assertions.assertEquals(4, repository.countPages(new Pagination(1, 10, null, PageCountStrategy.ESTIMATE), null, null));
+        Mockito.verify(repository, Mockito.never()).countEntities(any());
+    }
+
+    @Test
+    void countPages_estimateOfNeverAnalyzedTable_countsEntities_Test() {
+        TagDBRepository repository = countingRepository(25L);
+        mockReltuples(repository, -1f);
+
+        Assertions.assertEquals(3, repository.countPages(new Pagination(1, 10, null, PageCountStrategy.ESTIMATE), null, null));
+    }
+
+    @Test
+    void countPages_estimateOfFilteredPage_countsEntities_Test() {
+        TagDBRepository repository = countingRepository(25L);
+        List<SearchCriteria> searchCriteria = List.of(new SearchCriteria("name", "java"));
+
+        Assertions.assertEquals(3, repository.countPages(new Pagination(1, 10, null, PageCountStrategy.ESTIMATE), searchCriteria, null));
+        Mockito.verify(repository).countEntities(searchCriteria);
+        Mockito.verifyNoInteractions(repository.entityManager);
+    }
+
+    @Test
+    void countPages_hasNext_doesNotCount_Test() {
+        TagDBRepository repository = countingRepository(25L);
+
+        Assertions.assertNull(repository.countPages(new Pagination(1, 10, null, PageCountStrategy.HAS_NEXT), null, 20L));
+        Mockito.verify(repository, Mockito.never()).countEntities(any());
+    }
+
+    @Test
+    void readByIds_joinsOneCollectionAndFetchesTheOthersSeparately_Test() {
+        NewsDBRepository repository = graphRepository(List.of("author", "tags", "comments"));
+        TypedQuery<News> pageQuery = newsQuery(repository, "SELECT DISTINCT e FROM News e WHERE e.id IN :ids", List.of(news(2L), news(1L)));
+        TypedQuery<News> commentsQuery = newsQuery(repository, "SELECT DISTINCT e FROM News e LEFT JOIN FETCH e.comments WHERE e.id IN :ids", List.of());
+        EntityGraph<News> joinedGraph = repository.entityManager.createEntityGraph(News.class);
+
+        List<News> news = repository.readByIds(List.of(1L, 2L), News.FULL_GRAPH);
+
+        Assertions.assertEquals(List.of(1L, 2L), news.stream().map(News::getId).toList());
+        Mockito.verify(joinedGraph).addAttributeNodes("author");
+        Mockito.verify(joinedGraph).addAttributeNodes("tags");
+        Mockito.verify(joinedGraph, Mockito.never()).addAttributeNodes("comments");
+        Mockito.verify(pageQuery).setHint("javax.persistence.fetchgraph", joinedGraph);
+        Mockito.verify(commentsQuery).getResultList();
+    }
+
+    @Test
+    void readByIds_withSingleCollection_readsInOneQuery_Test() {
+        NewsDBRepository repository = graphRepository(List.of("author", "tags"));
+        TypedQuery<News> pageQuery = newsQuery(repository, "SELECT DISTINCT e FROM News e WHERE e.id IN :ids", List.of(news(1L)));
+
+        repository.readByIds(List.of(1L), News.WITH_TAGS_GRAPH);
+
+        Mockito.verify(pageQuery).getResultList();
+        Mockito.verify(repository.entityManager, Mockito.times(1)).createQuery(any(String.class), eq(News.class));
+    }
+
+    @Test
+    void readByIds_withoutIds_doesNotQuery_Test() {
+        NewsDBRepository repository = new NewsDBRepository();
+        repository.entityManager = Mockito.mock(EntityManager.class);
+
+        Assertions.assertTrue(repository.readByIds(List.of(), News.FULL_GRAPH).isEmpty());
+        Mockito.verifyNoInteractions(repository.entityManager);
+    }
+
+    @Test
+    void readByName_loadsTagByNaturalId_Test() {
+        TagDBRepository repository = new TagDBRepository();
+        repository.entityManager = Mockito.mock(EntityManager.class, Mockito.RETURNS_DEEP_STUBS);
+        Tag tag = new Tag();
+        Mockito.when(repository.entityManager.unwrap(Session.class).bySimpleNaturalId(Tag.class).loadOptional("java"))
+            .thenReturn(Optional.of(tag));
+
+        Assertions.assertSame(tag, repository.readByName("java").orElseThrow());
+        Mockito.verify(repository.entityManager, Mockito.never()).createQuery(any(String.class), eq(Tag.class));
+    }
+
+    @Test
+    void readByName_loadsAuthorByNaturalId_Test() {
+        AuthorDBRepository repository = new AuthorDBRepository();
+        repository.entityManager = Mockito.mock(EntityManager.class, Mockito.RETURNS_DEEP_STUBS);
+        Mockito.when(repository.entityManager.unwrap(Session.class).bySimpleNaturalId(Author.class).loadOptional("unknown"))
+            .thenReturn(Optional.empty());
+
+        Assertions.assertTrue(repository.readByName("unknown").isEmpty());
+        Mockito.verify(repository.entityManager, Mockito.never()).createQuery(any(String.class), eq(Author.class));
+    }
+
+    @Test
+    void readCachedByName_uncachedTag_doesNotReadDatabase_Test() {
+        TagDBRepository repository = new TagDBRepository();
+        repository.entityManager = Mockito.mock(EntityManager.class, Mockito.RETURNS_DEEP_STUBS);
+        Mockito.when(repository.entityManager.unwrap(SessionImplementor.class).getPersistenceContext().getNaturalIdHelper()
+            .findCachedNaturalIdResolution(any(), any())).thenReturn(null);
+
+        Assertions.assertTrue(repository.readCachedByName("java").isEmpty());
+        Mockito.verify(repository.entityManager, Mockito.never()).find(eq(Tag.class), any());
+        Mockito.verify(repository.entityManager, Mockito.never()).createQuery(any(String.class), eq(Tag.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static NewsDBRepository graphRepository(List<String> graphAttributes) {
+        NewsDBRepository repository = new NewsDBRepository();
+        repository.entityManager = Mockito.mock(EntityManager.class, Mockito.RETURNS_DEEP_STUBS);
+        EntityType<News> entityType = Mockito.mock(EntityType.class, Mockito.RETURNS_DEEP_STUBS);
+        Mockito.when(repository.entityManager.getMetamodel().entity(News.class)).thenReturn(entityType);
+        Mockito.when(entityType.getName()).thenReturn("News");
+        Mockito.when(entityType.getId(Long.class).getName()).thenReturn("id");
+        Mockito.when(entityType.getAttribute("author").isCollection()).thenReturn(false);
+        Mockito.when(entityType.getAttribute("tags").isCollection()).thenReturn(true);
+        Mockito.when(entityType.getAttribute("comments").isCollection()).thenReturn(true);
+
+        List<AttributeNode<?>> attributeNodes = new ArrayList<>();
+        for (String attribute : graphAttributes) {
+            AttributeNode<?> attributeNode = Mockito.mock(AttributeNode.class);
+            Mockito.when(attributeNode.getAttributeName()).thenReturn(attribute);
+            attributeNodes.add(attributeNode);
+        }
+        EntityGraph<?> namedGraph = Mockito.mock(EntityGraph.class);
+        Mockito.doReturn(attributeNodes).when(namedGraph).getAttributeNodes();
+        Mockito.doReturn(namedGraph).when(repository.entityManager).getEntityGraph(any(String.class));
+        Mockito.when(repository.entityManager.createEntityGraph(News.class)).thenReturn(Mockito.mock(EntityGraph.class));
+        return repository;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TypedQuery<News> newsQuery(NewsDBRepository repository, String query, List<News> result) {
+        TypedQuery<News> typedQuery = Mockito.mock(TypedQuery.class, Mockito.RETURNS_SELF);
+        Mockito.doReturn(result).when(typedQuery).getResultList();
+        Mockito.when(repository.entityManager.createQuery(query, News.class)).thenReturn(typedQuery);
+        return typedQuery;
+    }
+
+    private static News news(Long id) {
+        News news = new News();
+        news.setId(id);
+        return news;
+    }
+
+    private static TagDBRepository countingRepository(long entityCount) {
+        TagDBRepository repository = Mockito.spy(new TagDBRepository());
+        repository.entityManager = Mockito.mock(EntityManager.class);
+        Mockito.doReturn(entityCount).when(repository).countEntities(any());
+        return repository;
+    }
+
+    private static void mockReltuples(TagDBRepository repository, float reltuples) {
+        Query query = Mockito.mock(Query.class);
+        Mockito.when(repository.entityManager.createNativeQuery(any(String.class))).thenReturn(query);
+        Mockito.when(query.setParameter(1, "tags")).thenReturn(query);
+        Mockito.when(query.getSingleResult()).thenReturn(reltuples);
+    }
+
+    private static String cursor(String createdDate, String id) {
+        Map<String, String> keys = new LinkedHashMap<>();
+        keys.put("createdDate", createdDate);
+        keys.put("id", id);
+        return new Cursor(keys).encode();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Expression<T> expression(Class<T> type) {
+        Expression<T> expression = Mockito.mock(Expression.class);
+        Mockito.when(expression.getJavaType()).thenReturn((Class) type);
+        return expression;
+    }
+}
@@ -0,0 +1,103 @@
+package com.mjc.school.repository.impl;
+
+import com.mjc.school.repository.AuthorRepository;
+import com.mjc.school.repository.TagRepository;
+import com.mjc.school.repository.model.Author;
+import com.mjc.school.repository.model.Tag;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
+import java.util.List;
+
+/**
+ * Name upserts against the migrated schema, whose unique name indexes ON CONFLICT (name) relies on.
+ * Run with {@code gradle :module-repository:test --tests '*NameUpsertTest' -Dtest.datasource.url=jdbc:postgresql://...}
+ */
+@EnabledIfSystemProperty(named = "test.datasource.url", matches = ".+")
+@SpringBootTest(classes = NameUpsertTest.TestApplication.class, properties = {
+    "spring.datasource.url=${test.datasource.url}",
+    "spring.datasource.username=${test.datasource.username:postgres}",
+    "spring.datasource.password=${test.datasource.password:postgres}",
+    "spring.jpa.database-platform=com.mjc.school.repository.dialect.NewsPostgreSQLDialect",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "spring.flyway.baseline-on-migrate=true",
+    "spring.flyway.baseline-version=1"
+})
+class NameUpsertTest {
+    private static final String PREFIX = "upsert-test-";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createNativeQuery("DELETE FROM tags WHERE name LIKE '" + PREFIX + "%'").executeUpdate();
+            entityManager.createNativeQuery("DELETE FROM authors WHERE name LIKE '" + PREFIX + "%'").executeUpdate();
+        });
+    }
+
+    @Test
+    void ensureByNames_insertsMissingAndReadsExistingTags_Test() {
+        List<Tag> created = transactionTemplate.execute(status ->
+            tagRepository.ensureByNames(List.of(PREFIX + "a", PREFIX + "b", PREFIX + "a")));
+        List<Tag> ensured = transactionTemplate.execute(status ->
+            tagRepository.ensureByNames(List.of(PREFIX + "c", PREFIX + "b", PREFIX + "a")));
+
+        Assertions.assertEquals(List.of(PREFIX + "a", PREFIX + "b"), created.stream().map(Tag::getName).toList());
+        Assertions.assertEquals(List.of(PREFIX + "c", PREFIX + "b", PREFIX + "a"), ensured.stream().map(Tag::getName).toList());
+        Assertions.assertEquals(created.get(1).getId(), ensured.get(1).getId());
+        Assertions.assertEquals(created.get(0).getId(), ensured.get(2).getId());
+        Assertions.assertEquals(3L, countRows("tags"));
+    }
+
+    @Test
+    void ensureByNames_insertsMissingAndReadsExistingAuthors_Test() {
+        List<Author> created = transactionTemplate.execute(status ->
+            authorRepository.ensureByNames(List.of(PREFIX + "a")));
+        List<Author> ensured = transactionTemplate.execute(status ->
+            authorRepository.ensureByNames(List.of(PREFIX + "a", PREFIX + "b")));
+
+        Assertions.assertEquals(created.get(0).getId(), ensured.get(0).getId());
+        Assertions.assertNotNull(ensured.get(1).getCreatedDate());
+        Assertions.assertEquals(2L, countRows("authors"));
+    }
+
+    @Test
+    void uniqueNameIndexes_rejectDuplicateNames_Test() {
+        transactionTemplate.executeWithoutResult(status -> tagRepository.ensureByNames(List.of(PREFIX + "a")));
+
+        Assertions.assertThrows(PersistenceException.class, () -> transactionTemplate.executeWithoutResult(status ->
+            entityManager.createNativeQuery("INSERT INTO tags (name) VALUES ('" + PREFIX + "a')").executeUpdate()));
+        Assertions.assertThrows(PersistenceException.class, () -> transactionTemplate.executeWithoutResult(status ->
+            entityManager.createNativeQuery("INSERT INTO authors (name, created_date, last_updated_date)" +
+                " VALUES ('" + PREFIX + "b', LOCALTIMESTAMP, LOCALTIMESTAMP), ('" + PREFIX + "b', LOCALTIMESTAMP, LOCALTIMESTAMP)").executeUpdate()));
+    }
+
+    private long countRows(String table) {
+        return ((Number) entityManager.createNativeQuery("SELECT COUNT(*) FROM " + table + " WHERE name LIKE '" + PREFIX + "%'")
+            .getSingleResult()).longValue();
+    }
+
+    @SpringBootApplication(scanBasePackages = "com.mjc.school.repository")
+    @EntityScan("com.mjc.school.repository.model")
+    static class TestApplication {
+    }
+}
@@ -0,0 +1,127 @@
+package com.mjc.school.repository.impl;
+
+import com.mjc.school.repository.AuthorRepository;
+import com.mjc.school.repository.TagRepository;
+import com.mjc.school.repository.model.Author;
+import com.mjc.school.repository.model.Tag;
+import com.mjc.school.repository.statistics.StatementCountAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lookups by name go through the natural id and entity caches, so a repeated lookup in a later transaction does
+ * not reach the database, and a renamed tag is no longer found under its old name.
+ * Run with {@code gradle :module-repository:test --tests '*NaturalIdCacheTest' -Dtest.datasource.url=jdbc:postgresql://...}
+ */
+@EnabledIfSystemProperty(named = "test.datasource.url", matches = ".+")
+@SpringBootTest(classes = NaturalIdCacheTest.TestApplication.class, properties = {
+    "spring.datasource.url=${test.datasource.url}",
+    "spring.datasource.username=${test.datasource.username:postgres}",
+    "spring.datasource.password=${test.datasource.password:postgres}",
+    "spring.jpa.database-platform=com.mjc.school.repository.dialect.NewsPostgreSQLDialect",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+    "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+    "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+    "spring.jpa.properties.javax.persistence.sharedCache.mode=ENABLE_SELECTIVE",
+    "spring.flyway.baseline-on-migrate=true",
+    "spring.flyway.baseline-version=1"
+})
+class NaturalIdCacheTest {
+    private static final String PREFIX = "natural-id-test-";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createNativeQuery("DELETE FROM tags WHERE name LIKE '" + PREFIX + "%'").executeUpdate();
+            entityManager.createNativeQuery("DELETE FROM authors WHERE name LIKE '" + PREFIX + "%'").executeUpdate();
+        });
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+    }
+
+    @Test
+    void readByName_repeatedInLaterTransaction_doesNotQueryTag_Test() {
+        Long id = transactionTemplate.execute(status -> tagRepository.ensureByNames(List.of(PREFIX + "a")).get(0).getId());
+        transactionTemplate.execute(status -> tagRepository.readByName(PREFIX + "a"));
+
+        Optional<Tag> tag = StatementCountAssertions.assertStatementCount(0, () ->
+            transactionTemplate.execute(status -> tagRepository.readByName(PREFIX + "a")));
+
+        Assertions.assertEquals(id, tag.orElseThrow().getId());
+    }
+
+    @Test
+    void readByName_repeatedInLaterTransaction_doesNotQueryAuthor_Test() {
+        Long id = transactionTemplate.execute(status -> authorRepository.ensureByNames(List.of(PREFIX + "a")).get(0).getId());
+        transactionTemplate.execute(status -> authorRepository.readByName(PREFIX + "a"));
+
+        Optional<Author> author = StatementCountAssertions.assertStatementCount(0, () ->
+            transactionTemplate.execute(status -> authorRepository.readByName(PREFIX + "a")));
+
+        Assertions.assertEquals(id, author.orElseThrow().getId());
+    }
+
+    @Test
+    void readByName_afterRename_findsOnlyNewName_Test() {
+        transactionTemplate.execute(status -> tagRepository.ensureByNames(List.of(PREFIX + "old")));
+        transactionTemplate.execute(status -> tagRepository.readByName(PREFIX + "old"));
+
+        transactionTemplate.executeWithoutResult(status ->
+            tagRepository.readByName(PREFIX + "old").orElseThrow().setName(PREFIX + "new"));
+
+        Assertions.assertTrue(transactionTemplate.execute(status -> tagRepository.readByName(PREFIX + "old")).isEmpty());
+        Assertions.assertTrue(transactionTemplate.execute(status -> tagRepository.readByName(PREFIX + "new")).isPresent());
+    }
+
+    @Test
+    void readCachedByName_newTags_createdWithOneStatement_Test() {
+        List<String> names = List.of(PREFIX + "1", PREFIX + "2", PREFIX + "3", PREFIX + "4", PREFIX + "5",
+            PREFIX + "6", PREFIX + "7", PREFIX + "8", PREFIX + "9", PREFIX + "10");
+
+        // how a news naming new tags resolves them: the cache misses read nothing, the misses are created at once
+        List<Tag> tags = StatementCountAssertions.assertStatementCount(1, () -> transactionTemplate.execute(status -> {
+            names.forEach(name -> Assertions.assertTrue(tagRepository.readCachedByName(name).isEmpty()));
+            return tagRepository.ensureByNames(names);
+        }));
+
+        Assertions.assertEquals(names, tags.stream().map(Tag::getName).toList());
+    }
+
+    @Test
+    void readCachedByName_cachedTag_doesNotQuery_Test() {
+        Long id = transactionTemplate.execute(status -> tagRepository.ensureByNames(List.of(PREFIX + "a")).get(0).getId());
+        transactionTemplate.execute(status -> tagRepository.readByName(PREFIX + "a"));
+
+        Optional<Tag> tag = StatementCountAssertions.assertStatementCount(0, () ->
+            transactionTemplate.execute(status -> tagRepository.readCachedByName(PREFIX + "a")));
+
+        Assertions.assertEquals(id, tag.orElseThrow().getId());
+    }
+
+    @SpringBootApplication(scanBasePackages = "com.mjc.school.repository")
+    @EntityScan("com.mjc.school.repository.model")
+    static class TestApplication {
+    }
+}
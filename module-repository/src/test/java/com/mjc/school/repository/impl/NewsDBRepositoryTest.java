@@ -0,0 +1,93 @@
+package com.mjc.school.repository.impl;
+
+import com.mjc.school.repository.dialect.NewsPostgreSQLDialect;
+import com.mjc.school.repository.filter.SearchCriteria;
+import com.mjc.school.repository.model.News;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+
+class NewsDBRepositoryTest {
+    private final NewsDBRepository newsRepository = new NewsDBRepository();
+    private final CriteriaBuilder criteriaBuilder = Mockito.mock(CriteriaBuilder.class);
+    @SuppressWarnings("unchecked")
+    private final Root<News> root = Mockito.mock(Root.class);
+    private final Path<?> title = Mockito.mock(Path.class);
+    private final Path<?> content = Mockito.mock(Path.class);
+
+    @BeforeEach
+    void setUp() {
+        Mockito.doReturn(title).when(root).get("title");
+        Mockito.doReturn(content).when(root).get("content");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getSortExpression_rank_ranksByTheSearchFilter_Test() {
+        Expression<String> query = literal("java streams");
+        Expression<Double> rank = Mockito.mock(Expression.class);
+        Mockito.when(criteriaBuilder.function(NewsPostgreSQLDialect.FTS_RANK_FUNCTION, Double.class, title, content, query))
+            .thenReturn(rank);
+
+        Expression<?> sortExpression = newsRepository.getSortExpression("rank",
+            List.of(new SearchCriteria("title", "java"), new SearchCriteria("search", " java streams ")), criteriaBuilder, root);
+
+        Assertions.assertSame(rank, sortExpression);
+    }
+
+    @Test
+    void getSortExpression_rankWithoutSearch_ranksEveryRowEqually_Test() {
+        Expression<String> query = literal("");
+
+        newsRepository.getSortExpression("rank", null, criteriaBuilder, root);
+
+        Mockito.verify(criteriaBuilder).function(NewsPostgreSQLDialect.FTS_RANK_FUNCTION, Double.class, title, content, query);
+    }
+
+    @Test
+    void getSortExpression_otherField_sortsByTheAttribute_Test() {
+        Path<?> createdDate = Mockito.mock(Path.class);
+        Mockito.doReturn(createdDate).when(root).get("createdDate");
+
+        Assertions.assertSame(createdDate, newsRepository.getSortExpression("createdDate", null, criteriaBuilder, root));
+        Mockito.verifyNoInteractions(criteriaBuilder);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getPredicateBySearchCriteria_search_matchesTheSearchVector_Test() {
+        Expression<String> query = literal("java streams");
+        Expression<Boolean> match = Mockito.mock(Expression.class);
+        Predicate matchPredicate = Mockito.mock(Predicate.class);
+        Mockito.when(criteriaBuilder.function(NewsPostgreSQLDialect.FTS_MATCH_FUNCTION, Boolean.class, title, content, query))
+            .thenReturn(match);
+        Mockito.when(criteriaBuilder.isTrue(match)).thenReturn(matchPredicate);
+        List<Predicate> predicates = new ArrayList<>();
+
+        newsRepository.getPredicateBySearchCriteria(List.of(new SearchCriteria("search", " java streams ")), criteriaBuilder, root, predicates);
+
+        Assertions.assertEquals(List.of(matchPredicate), predicates);
+    }
+
+    @Test
+    void getPredicateBySearchCriteria_unknownField_throwIllegalArgumentException_Test() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> newsRepository.getPredicateBySearchCriteria(
+            List.of(new SearchCriteria("rank", "1")), criteriaBuilder, root, new ArrayList<>()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Expression<String> literal(String value) {
+        Expression<String> literal = Mockito.mock(Expression.class);
+        Mockito.when(criteriaBuilder.literal(value)).thenReturn(literal);
+        return literal;
+    }
+}
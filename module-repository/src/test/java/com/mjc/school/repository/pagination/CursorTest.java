@@ -0,0 +1,82 @@
+package com.mjc.school.repository.pagination;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+class CursorTest {
+
+    @Test
+    void decode_roundTripsEncodedKeys_Test() {
+        Map<String, String> keys = new LinkedHashMap<>();
+        keys.put("createdDate", "2023-01-02T10:15:30");
+        keys.put("title", "a=b&c d");
+        keys.put("id", "42");
+
+        Cursor cursor = Cursor.decode(new Cursor(keys).encode());
+
+        Assertions.assertEquals(List.of("createdDate", "title", "id"), List.copyOf(cursor.keys().keySet()));
+        Assertions.assertEquals(keys, cursor.keys());
+    }
+
+    @Test
+    void decode_keepsNullKeyApartFromNullString_Test() {
+        Map<String, String> keys = new LinkedHashMap<>();
+        keys.put("rank", null);
+        keys.put("title", "null");
+
+        Cursor cursor = Cursor.decode(new Cursor(keys).encode());
+
+        Assertions.assertTrue(cursor.keys().containsKey("rank"));
+        Assertions.assertNull(cursor.keys().get("rank"));
+        Assertions.assertEquals("null", cursor.keys().get("title"));
+    }
+
+    @Test
+    void decode_withMalformedToken_throwIllegalArgumentException_Test() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Cursor.decode("not base64!"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Cursor.decode(encodeRaw("=1")));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Cursor.decode(encodeRaw("id=1&id=2")));
+    }
+
+    @Test
+    void values_parsedToSortTypes_Test() {
+        Map<String, String> keys = new LinkedHashMap<>();
+        keys.put("createdDate", "2023-01-02T10:15:30");
+        keys.put("rank", null);
+        keys.put("id", "42");
+
+        List<Object> values = new Cursor(keys).values(List.of("createdDate", "rank", "id"),
+            List.of(LocalDateTime.class, Double.class, Long.class));
+
+        Assertions.assertEquals(Arrays.asList(LocalDateTime.of(2023, 1, 2, 10, 15, 30), null, 42L), values);
+    }
+
+    @Test
+    void values_withOtherSorting_throwIllegalArgumentException_Test() {
+        Cursor cursor = new Cursor(Map.of("id", "42"));
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> cursor.values(List.of("createdDate", "id"), List.of(LocalDateTime.class, Long.class)));
+    }
+
+    @Test
+    void values_withUnparseableKey_throwIllegalArgumentException_Test() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new Cursor(Map.of("createdDate", "yesterday")).values(List.of("createdDate"), List.of(LocalDateTime.class)));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new Cursor(Map.of("id", "forty-two")).values(List.of("id"), List.of(Long.class)));
+    }
+
+    private static String encodeRaw(String rawCursor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(rawCursor.getBytes(UTF_8));
+    }
+}
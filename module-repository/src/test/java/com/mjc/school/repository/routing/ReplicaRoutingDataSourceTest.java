@@ -0,0 +1,109 @@
+package com.mjc.school.repository.routing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+class ReplicaRoutingDataSourceTest {
+    private final Connection primaryConnection = Mockito.mock(Connection.class);
+    private final Connection replicaConnection1 = Mockito.mock(Connection.class);
+    private final Connection replicaConnection2 = Mockito.mock(Connection.class);
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new ReplicaRoutingDataSource(dataSource(primaryConnection),
+            List.of(dataSource(replicaConnection1), dataSource(replicaConnection2)),
+            ReplicaSelection.ROUND_ROBIN, 1000, 5000, null, 0);
+        dataSource.setLag(0, 0);
+        dataSource.setLag(1, 0);
+        ClientContext.setClient("testClient");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ClientContext.clear();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void getConnection_readOnlyToReplicasInTurn_Test() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        Assertions.assertSame(replicaConnection1, dataSource.getConnection());
+        Assertions.assertSame(replicaConnection2, dataSource.getConnection());
+        Assertions.assertSame(replicaConnection1, dataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_readWriteToPrimary_Test() throws SQLException {
+        Assertions.assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_skipsLaggingReplicas_Test() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        dataSource.setLag(0, 5000);
+
+        Assertions.assertSame(replicaConnection2, dataSource.getConnection());
+        Assertions.assertSame(replicaConnection2, dataSource.getConnection());
+
+        dataSource.setLag(1, 5000);
+        Assertions.assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_readsOwnWritesFromPrimary_Test() throws SQLException {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        dataSource.getConnection();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Assertions.assertSame(primaryConnection, dataSource.getConnection());
+
+        ClientContext.setClient("otherTestClient");
+        Assertions.assertSame(replicaConnection1, dataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_primaryReadsToPrimary_Test() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        Assertions.assertSame(primaryConnection, PrimaryReads.call(this::getConnection));
+        Assertions.assertSame(replicaConnection1, dataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_lagNotYetAnswered_toPrimary_Test() throws Exception {
+        // the mocked replicas cannot run the lag query, so their lag is never answered
+        try (ReplicaRoutingDataSource checkedDataSource = new ReplicaRoutingDataSource(dataSource(primaryConnection),
+            List.of(dataSource(replicaConnection1), dataSource(replicaConnection2)),
+            ReplicaSelection.ROUND_ROBIN, 1000, 5000, ReplicaRoutingDataSource.POSTGRESQL_LAG_QUERY, 60_000)) {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+            Assertions.assertSame(primaryConnection, checkedDataSource.getConnection());
+        }
+    }
+
+    private Connection getConnection() {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static DataSource dataSource(Connection connection) throws SQLException {
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        Mockito.when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+}
@@ -0,0 +1,107 @@
+package com.mjc.school.repository.statistics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static com.mjc.school.repository.statistics.StatementCountAssertions.assertMaxStatementCount;
+import static com.mjc.school.repository.statistics.StatementCountAssertions.assertStatementCount;
+import static com.mjc.school.repository.statistics.StatementCountAssertions.countStatements;
+import static org.mockito.ArgumentMatchers.anyString;
+
+class StatementCountingDataSourceTest {
+    private StatementCountingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        Mockito.when(resultSet.next()).thenReturn(true, true, true, false);
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        Mockito.when(statement.executeQuery()).thenReturn(resultSet);
+        Mockito.when(statement.executeUpdate()).thenReturn(2);
+        Mockito.when(statement.executeBatch()).thenReturn(new int[]{1, 1, PreparedStatement.SUCCESS_NO_INFO});
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.prepareStatement(anyString())).thenReturn(statement);
+        DataSource target = Mockito.mock(DataSource.class);
+        Mockito.when(target.getConnection()).thenReturn(connection);
+        dataSource = new StatementCountingDataSource(target);
+    }
+
+    @Test
+    void countStatements_countsStatementsAndRows_Test() {
+        StatementStatistics statistics = countStatements(() -> {
+            readAll();
+            update();
+            batch();
+        });
+
+        Assertions.assertEquals(3, statistics.getStatements());
+        Assertions.assertEquals(3 + 2 + 2, statistics.getRows());
+    }
+
+    @Test
+    void assertStatementCount_failsOnMoreStatements_Test() {
+        Assertions.assertEquals(3, assertStatementCount(1, this::readAll));
+        Assertions.assertThrows(AssertionError.class, () -> assertMaxStatementCount(1, () -> {
+            readAll();
+            update();
+        }));
+    }
+
+    @Test
+    void countStatements_addsNestedCountsToEnclosingOnes_Test() {
+        StatementStatistics statistics = countStatements(() -> {
+            update();
+            assertStatementCount(1, this::update);
+        });
+
+        Assertions.assertEquals(2, statistics.getStatements());
+    }
+
+    @Test
+    void getConnection_doesNotCountOutsideStatistics_Test() {
+        readAll();
+
+        Assertions.assertNull(StatementStatistics.current());
+    }
+
+    private int readAll() {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("select * from news");
+             ResultSet resultSet = statement.executeQuery()) {
+            int rows = 0;
+            while (resultSet.next()) {
+                rows++;
+            }
+            return rows;
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void update() {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("update news set title = ?")) {
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void batch() {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("insert into tags (name) values (?)")) {
+            statement.addBatch();
+            statement.executeBatch();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.mjc.school.repository.statistics;
+
+import java.util.function.Supplier;
+
+/**
+ * Asserts how many statements a call executes, to catch N+1 selects in service and repository tests running
+ * against a data source wrapped in a {@link StatementCountingDataSource}.
+ */
+public final class StatementCountAssertions {
+    private StatementCountAssertions() {
+    }
+
+    public static <T> T assertStatementCount(int expected, Supplier<T> call) {
+        return assertStatements(expected, expected, call);
+    }
+
+    public static void assertStatementCount(int expected, Runnable call) {
+        assertStatements(expected, expected, asSupplier(call));
+    }
+
+    public static <T> T assertMaxStatementCount(int max, Supplier<T> call) {
+        return assertStatements(0, max, call);
+    }
+
+    public static void assertMaxStatementCount(int max, Runnable call) {
+        assertStatements(0, max, asSupplier(call));
+    }
+
+    /**
+     * The counts of the statements the call executed.
+     */
+    public static StatementStatistics countStatements(Runnable call) {
+        StatementStatistics statistics = StatementStatistics.start();
+        try {
+            call.run();
+        } finally {
+            StatementStatistics.stop();
+        }
+        return statistics;
+    }
+
+    private static <T> T assertStatements(int min, int max, Supplier<T> call) {
+        StatementStatistics statistics = StatementStatistics.start();
+        T result;
+        try {
+            result = call.get();
+        } finally {
+            StatementStatistics.stop();
+        }
+        int statements = statistics.getStatements();
+        if (statements < min || statements > max) {
+            String expected = min == max ? String.valueOf(max) : "at most " + max;
+            throw new AssertionError("Expected " + expected + " statements, but " + statistics + " were executed");
+        }
+        return result;
+    }
+
+    private static Supplier<Void> asSupplier(Runnable call) {
+        return () -> {
+            call.run();
+            return null;
+        };
+    }
+}
@@ -8,4 +8,6 @@ public interface AuthorService extends BaseService<AuthorDtoRequest, AuthorDtoRe
     AuthorDtoResponse readByNewsId(Long newsId);
 
     PageDtoResponse<AuthorWithNewsCountDtoResponse> readWithNewsCount(PaginationDtoRequest paginationDtoRequest);
+
+    VersionDtoResponse readVersionById(Long id);
 }
@@ -0,0 +1,9 @@
+package com.mjc.school.service;
+
+import com.mjc.school.service.dto.CacheRegionStatisticsDtoResponse;
+
+import java.util.List;
+
+public interface CacheStatisticsService {
+    List<CacheRegionStatisticsDtoResponse> readAll();
+}
@@ -0,0 +1,9 @@
+package com.mjc.school.service;
+
+import com.mjc.school.service.dto.CoalescingStatisticsDtoResponse;
+
+import java.util.List;
+
+public interface CoalescingStatisticsService {
+    List<CoalescingStatisticsDtoResponse> readAll();
+}
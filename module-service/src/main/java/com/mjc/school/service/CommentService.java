@@ -5,5 +5,13 @@ import com.mjc.school.service.dto.*;
 import java.util.List;
 
 public interface CommentService extends BaseService<CommentDtoRequest, CommentDtoResponse, Long, CommentDtoRequest, PaginationDtoRequest, SortingDtoRequest, SearchFilterDtoRequest> {
+    /**
+     * Page of comments, with their news only when embedded.
+     */
+    PageDtoResponse<CommentDtoResponse> readAll(PaginationDtoRequest paginationDtoRequest,
+                                                SortingDtoRequest sortingDtoRequest,
+                                                SearchFilterDtoRequest searchFilterDtoRequest,
+                                                EmbedDtoRequest embedDtoRequest);
+
     PageDtoResponse<CommentForNewsDtoResponse> readByNewsId(Long newsId, PaginationDtoRequest paginationDtoRequest, SortingDtoRequest sortingDtoRequest);
 }
@@ -0,0 +1,14 @@
+package com.mjc.school.service;
+
+import com.mjc.school.service.dto.NewsBatchDtoResponse;
+import com.mjc.school.service.dto.NewsDtoCreateRequest;
+
+import java.util.Iterator;
+
+public interface NewsBatchService {
+    /**
+     * Creates the news chunk by chunk, each chunk in its own transaction, reading the requests lazily
+     * so that a stream of any length can be imported.
+     */
+    NewsBatchDtoResponse createAll(Iterator<NewsDtoCreateRequest> createRequests);
+}
@@ -2,6 +2,30 @@ package com.mjc.school.service;
 
 import com.mjc.school.service.dto.*;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 public interface NewsService extends BaseService<NewsDtoCreateRequest, NewsDtoResponse, Long, NewsDtoUpdateRequest, PaginationDtoRequest, SortingDtoRequest, SearchFilterDtoRequest> {
+    /**
+     * Page of news with only the embedded associations read.
+     */
+    PageDtoResponse<NewsDtoResponse> readAll(PaginationDtoRequest paginationDtoRequest,
+                                             SortingDtoRequest sortingDtoRequest,
+                                             SearchFilterDtoRequest searchFilterDtoRequest,
+                                             EmbedDtoRequest embedDtoRequest);
+
+    /**
+     * News with only the embedded associations read.
+     */
+    NewsDtoResponse readById(Long id, EmbedDtoRequest embedDtoRequest);
+
+    /**
+     * Version of what {@link #readById} returns, read without loading the news.
+     */
+    VersionDtoResponse readVersionById(Long id);
 
+    /**
+     * Hands all news over chunk by chunk in id order, within one read-only transaction.
+     */
+    void exportAll(Consumer<List<NewsDtoResponse>> chunkConsumer);
 }
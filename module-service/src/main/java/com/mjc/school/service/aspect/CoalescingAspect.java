@@ -0,0 +1,65 @@
+package com.mjc.school.service.aspect;
+
+import com.mjc.school.repository.routing.PrimaryReads;
+import com.mjc.school.repository.routing.ReplicaRoutingDataSource;
+import com.mjc.school.service.coalescing.RequestCoalescer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs {@link com.mjc.school.service.coalescing.Coalesced} methods through the {@link RequestCoalescer}.
+ * Ordered first, so that the callers that wait do not hold a transaction and a database connection meanwhile.
+ * A caller whose reads go to the primary, to see its own writes, runs alone: the call it would wait for may
+ * read from a replica that has not seen them.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CoalescingAspect {
+    private final RequestCoalescer requestCoalescer;
+    // looked up on use, the data source is not needed to build the aspect
+    private final ObjectProvider<DataSource> dataSource;
+
+    @Autowired
+    public CoalescingAspect(RequestCoalescer requestCoalescer, ObjectProvider<DataSource> dataSource) {
+        this.requestCoalescer = requestCoalescer;
+        this.dataSource = dataSource;
+    }
+
+    @Around("@annotation(com.mjc.school.service.coalescing.Coalesced)")
+    public Object coalesce(final ProceedingJoinPoint joinPoint) throws Throwable {
+        if (readsFromPrimary()) {
+            return joinPoint.proceed();
+        }
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Method method = signature.getMethod();
+        String operation = signature.getDeclaringType().getSimpleName() + "." + method.getName();
+        CallKey key = new CallKey(method, Arrays.asList(joinPoint.getArgs().clone()));
+        return requestCoalescer.execute(operation, key, method.getGenericReturnType(), joinPoint::proceed);
+    }
+
+    private boolean readsFromPrimary() throws SQLException {
+        if (PrimaryReads.isActive()) {
+            return true;
+        }
+        DataSource routed = dataSource.getIfAvailable();
+        return routed != null && routed.isWrapperFor(ReplicaRoutingDataSource.class)
+            && routed.unwrap(ReplicaRoutingDataSource.class).readsFromPrimary();
+    }
+
+    private record CallKey(Method method, List<Object> args) {
+    }
+}
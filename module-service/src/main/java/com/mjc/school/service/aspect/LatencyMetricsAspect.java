@@ -0,0 +1,98 @@
+package com.mjc.school.service.aspect;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latency histograms and in-flight gauges of the public methods of the controllers, services and repositories,
+ * tagged with their layer and Class.method. The meters of a method are registered on its first call, a call
+ * then costs two nanoTime reads and a histogram record. A method returning a stream or a streaming body is
+ * timed until it returns, not until its result is consumed.
+ */
+@Aspect
+@Component
+public class LatencyMetricsAspect {
+    public static final String LATENCY_METRIC = "news.method.latency";
+    public static final String IN_FLIGHT_METRIC = "news.method.in.flight";
+
+    private final MeterRegistry meterRegistry;
+    private final ClassValue<Map<Method, MethodMeters>> meters = new ClassValue<>() {
+        @Override
+        protected Map<Method, MethodMeters> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    @Autowired
+    public LatencyMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.mjc.school.controller.impl..*(..))")
+    public Object timeEndpoint(final ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "endpoint");
+    }
+
+    @Around("execution(public * com.mjc.school.service.impl..*(..))")
+    public Object timeService(final ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "service");
+    }
+
+    @Around("execution(public * com.mjc.school.repository.impl..*(..))")
+    public Object timeRepository(final ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "repository");
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String layer) throws Throwable {
+        if (!(joinPoint.getSignature() instanceof MethodSignature signature)) {
+            return joinPoint.proceed();
+        }
+        Class<?> targetClass = joinPoint.getTarget().getClass();
+        MethodMeters methodMeters = meters.get(targetClass)
+            .computeIfAbsent(signature.getMethod(), method -> register(layer, targetClass, method));
+        methodMeters.inFlight().incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            methodMeters.latency().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            methodMeters.inFlight().decrementAndGet();
+        }
+    }
+
+    private MethodMeters register(String layer, Class<?> targetClass, Method method) {
+        String name = targetClass.getSimpleName() + "." + method.getName();
+        Timer latency = Timer.builder(LATENCY_METRIC)
+            .tag("layer", layer)
+            .tag("method", name)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .publishPercentileHistogram()
+            // fewer histogram buckets, outside of these bounds a call is slow or fast enough anyway
+            .minimumExpectedValue(Duration.ofNanos(100_000))
+            .maximumExpectedValue(Duration.ofSeconds(10))
+            .register(meterRegistry);
+        AtomicInteger inFlight = new AtomicInteger();
+        Gauge.builder(IN_FLIGHT_METRIC, inFlight, AtomicInteger::get)
+            .tag("layer", layer)
+            .tag("method", name)
+            .register(meterRegistry);
+        return new MethodMeters(latency, inFlight);
+    }
+
+    private record MethodMeters(Timer latency, AtomicInteger inFlight) {
+    }
+}
@@ -3,8 +3,9 @@ package com.mjc.school.service.aspect;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.stream.Stream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.mjc.school.service.validator.ValidFields;
 import org.aspectj.lang.JoinPoint;
@@ -16,15 +17,22 @@ import org.springframework.stereotype.Component;
 
 import com.mjc.school.service.exceptions.ServiceErrorCode;
 import com.mjc.school.service.exceptions.ValidatorException;
-import com.mjc.school.service.validator.ConstraintViolation;
 import com.mjc.school.service.validator.Valid;
 import com.mjc.school.service.validator.Validator;
 
 @Aspect
 @Component
 public class ValidationAspect {
+    private static final ValidatedParameter[] NOT_VALIDATED = new ValidatedParameter[0];
 
     private final Validator validator;
+    // validated parameters of the methods of each target class, resolved on their first call
+    private final ClassValue<Map<Method, ValidatedParameter[]>> plans = new ClassValue<>() {
+        @Override
+        protected Map<Method, ValidatedParameter[]> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
 
     @Autowired
     public ValidationAspect(Validator validator) {
@@ -35,20 +43,24 @@ public class ValidationAspect {
         "|| execution(public * * (.., @com.mjc.school.service.validator.ValidFields (*), ..))")
     public void validateBeforeInvocation(final JoinPoint joinPoint) throws NoSuchMethodException {
         if (joinPoint.getSignature() instanceof MethodSignature signature) {
-            var targetMethod = getTargetMethod(joinPoint, signature);
+            var parameters = getValidatedParameters(joinPoint.getTarget().getClass(), signature.getMethod());
+            if (parameters.length == 0) {
+                return;
+            }
             var args = joinPoint.getArgs();
-            var parameterAnnotations = targetMethod.getParameterAnnotations();
 
-            var violations = new ArrayList<String>();
-            for (int i = 0; i < parameterAnnotations.length; i++) {
-                for(Annotation annotation : parameterAnnotations[i]){
-                    if(annotation instanceof Valid || annotation instanceof ValidFields){
-                        violations.addAll(validator.validate(args[i], annotation));
+            List<String> violations = null;
+            for (int i = 0; i < parameters.length; i++) {
+                var parameterViolations = validator.validate(args[parameters[i].index()], parameters[i].annotation());
+                if (!parameterViolations.isEmpty()) {
+                    if (violations == null) {
+                        violations = new ArrayList<>();
                     }
+                    violations.addAll(parameterViolations);
                 }
             }
 
-            if (!violations.isEmpty()) {
+            if (violations != null) {
                 String[] details = new String[violations.size()];
                 throw new ValidatorException(ServiceErrorCode.VALIDATION,
                     violations.toArray(details));
@@ -56,9 +68,29 @@ public class ValidationAspect {
         }
     }
 
-    private Method getTargetMethod(JoinPoint joinPoint, MethodSignature signature) throws NoSuchMethodException {
-        Method baseMethod = signature.getMethod();
-        return joinPoint.getTarget().getClass()
-                .getMethod(baseMethod.getName(), baseMethod.getParameterTypes());
+    private ValidatedParameter[] getValidatedParameters(Class<?> targetClass, Method baseMethod) throws NoSuchMethodException {
+        Map<Method, ValidatedParameter[]> methodPlans = plans.get(targetClass);
+        ValidatedParameter[] parameters = methodPlans.get(baseMethod);
+        if (parameters == null) {
+            parameters = resolveValidatedParameters(targetClass.getMethod(baseMethod.getName(), baseMethod.getParameterTypes()));
+            methodPlans.put(baseMethod, parameters);
+        }
+        return parameters;
+    }
+
+    private static ValidatedParameter[] resolveValidatedParameters(Method targetMethod) {
+        var parameterAnnotations = targetMethod.getParameterAnnotations();
+        var parameters = new ArrayList<ValidatedParameter>();
+        for (int i = 0; i < parameterAnnotations.length; i++) {
+            for (Annotation annotation : parameterAnnotations[i]) {
+                if (annotation instanceof Valid || annotation instanceof ValidFields) {
+                    parameters.add(new ValidatedParameter(i, annotation));
+                }
+            }
+        }
+        return parameters.isEmpty() ? NOT_VALIDATED : parameters.toArray(NOT_VALIDATED);
+    }
+
+    private record ValidatedParameter(int index, Annotation annotation) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,13 @@
+package com.mjc.school.service.coalescing;
+
+import java.lang.annotation.*;
+
+/**
+ * Concurrent calls of the annotated method with equal arguments share the result of one invocation.
+ * Arguments are compared with equals, so they must implement it by content.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Coalesced {
+}
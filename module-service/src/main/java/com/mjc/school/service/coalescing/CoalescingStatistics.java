@@ -0,0 +1,9 @@
+package com.mjc.school.service.coalescing;
+
+/**
+ * Calls of one coalesced method since startup, and how many of them were answered by a call already in flight.
+ */
+public record CoalescingStatistics(String operation,
+                                   long callCount,
+                                   long coalescedCount) {
+}
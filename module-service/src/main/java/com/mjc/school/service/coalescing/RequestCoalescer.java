@@ -0,0 +1,126 @@
+package com.mjc.school.service.coalescing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single-flight execution: the first call for a key runs, calls with an equal key arriving while it runs wait
+ * for it instead. Callers modify the results they get (controllers add links), so the callers that waited
+ * each get their own copy, read back from the result serialized once.
+ */
+@Component
+public class RequestCoalescer {
+    private final ObjectMapper objectMapper;
+    private final Map<Object, InFlightCall> inFlightCalls = new ConcurrentHashMap<>();
+    private final Map<String, Counters> countersByOperation = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RequestCoalescer(final ObjectMapper objectMapper) {
+        // results are copied before any links are added, so links are not read back
+        this.objectMapper = objectMapper.copy().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    public Object execute(String operation, Object key, Type resultType, Invocation invocation) throws Throwable {
+        Counters counters = countersByOperation.computeIfAbsent(operation, name -> new Counters());
+        counters.calls.increment();
+        InFlightCall ownCall = new InFlightCall();
+        InFlightCall call = inFlightCalls.compute(key, (k, current) -> {
+            if (current == null) {
+                return ownCall;
+            }
+            current.followers++;
+            return current;
+        });
+        if (call != ownCall) {
+            counters.coalesced.increment();
+            return awaitCopy(call, resultType);
+        }
+
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            inFlightCalls.remove(key, ownCall);
+            ownCall.result.completeExceptionally(e);
+            throw e;
+        }
+        // followers only join through the map, so the count is final once the call is removed from it
+        inFlightCalls.remove(key, ownCall);
+        if (ownCall.followers > 0) {
+            ownCall.result.complete(share(result));
+        }
+        return result;
+    }
+
+    public List<CoalescingStatistics> readStatistics() {
+        List<CoalescingStatistics> statistics = new ArrayList<>();
+        new TreeMap<>(countersByOperation).forEach((operation, counters) ->
+            statistics.add(new CoalescingStatistics(operation, counters.calls.sum(), counters.coalesced.sum())));
+        return statistics;
+    }
+
+    private SharedResult share(Object result) {
+        if (result == null) {
+            return new SharedResult(null, null);
+        }
+        try {
+            return new SharedResult(null, objectMapper.writeValueAsBytes(result));
+        } catch (JsonProcessingException e) {
+            // not serializable, so it is shared as is
+            return new SharedResult(result, null);
+        }
+    }
+
+    private Object awaitCopy(InFlightCall call, Type resultType) throws Throwable {
+        SharedResult shared;
+        try {
+            shared = call.result.join();
+        } catch (CompletionException e) {
+            throw e.getCause();
+        }
+        if (shared.serialized() == null) {
+            return shared.value();
+        }
+        try {
+            JavaType javaType = objectMapper.getTypeFactory().constructType(resultType);
+            return objectMapper.readValue(shared.serialized(), javaType);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Invocation {
+        Object proceed() throws Throwable;
+    }
+
+    private static class InFlightCall {
+        private final CompletableFuture<SharedResult> result = new CompletableFuture<>();
+        // only changed inside compute on the call's key
+        private volatile int followers;
+    }
+
+    private record SharedResult(Object value, byte[] serialized) {
+    }
+
+    private static class Counters {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder coalesced = new LongAdder();
+    }
+}
@@ -0,0 +1,16 @@
+package com.mjc.school.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoalescingStatisticsDtoResponse {
+    private String operation;
+    private long callCount;
+    private long coalescedCount;
+}
@@ -0,0 +1,38 @@
+package com.mjc.school.service.dto;
+
+import com.mjc.school.service.validator.constraint.EmbedFields;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * Associations to load with the entities. Null embeds them all, as the requests without an embed list did.
+ * The content of news is read unless it is left out, when the requested fields do not include it.
+ */
+@Getter
+@Setter
+@Builder
+@EqualsAndHashCode
+public class EmbedDtoRequest {
+    @EmbedFields
+    private List<String> associations;
+    private boolean withoutContent;
+
+    public EmbedDtoRequest(@Nullable List<String> associations) {
+        this(associations, false);
+    }
+
+    public EmbedDtoRequest(@Nullable List<String> associations, boolean withoutContent) {
+        this.associations = associations;
+        this.withoutContent = withoutContent;
+    }
+
+    public boolean embeds(String association) {
+        return associations == null
+            || associations.stream().anyMatch(embedded -> embedded.trim().equalsIgnoreCase(association));
+    }
+}
@@ -0,0 +1,18 @@
+package com.mjc.school.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class NewsBatchDtoResponse {
+    private int createdCount;
+    private int failedCount;
+    private List<NewsBatchItemDtoResponse> items;
+}
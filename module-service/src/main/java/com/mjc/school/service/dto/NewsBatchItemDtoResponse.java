@@ -0,0 +1,34 @@
+package com.mjc.school.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class NewsBatchItemDtoResponse {
+    // position of the item in the request body
+    private int index;
+    private Status status;
+    private Long id;
+    private String errorCode;
+    private String errorMessage;
+
+    public enum Status {
+        CREATED,
+        FAILED
+    }
+
+    public static NewsBatchItemDtoResponse created(int index, Long id) {
+        return new NewsBatchItemDtoResponse(index, Status.CREATED, id, null, null);
+    }
+
+    public static NewsBatchItemDtoResponse failed(int index, String errorCode, String errorMessage) {
+        return new NewsBatchItemDtoResponse(index, Status.FAILED, null, errorCode, errorMessage);
+    }
+}
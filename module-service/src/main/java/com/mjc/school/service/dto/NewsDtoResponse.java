@@ -24,5 +24,7 @@ public class NewsDtoResponse extends RepresentationModel<NewsDtoResponse> {
     private LocalDateTime lastUpdatedDate;
     private AuthorDtoResponse authorDto;
     private List<TagDtoResponse> tagDtos;
+    // the latest comments only, all of them are read from /news/{id}/comments
     private List<CommentForNewsDtoResponse> commentForNewsDtos;
+    private Long commentCount;
 }
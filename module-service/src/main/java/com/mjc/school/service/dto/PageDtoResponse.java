@@ -1,5 +1,6 @@
 package com.mjc.school.service.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
@@ -13,7 +14,14 @@ import java.util.List;
 public class PageDtoResponse<T> {
     private List<T> modelDtoList;
     private int currentPage;
-    private int pageCount;
+    // absent when the page was requested without counting
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer pageCount;
+    private boolean hasNextPage;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String countStrategy;
 
     public PageDtoResponse() {
         if (modelDtoList == null) {
@@ -22,8 +30,20 @@ public class PageDtoResponse<T> {
     }
 
     public PageDtoResponse(List<T> modelDtoList, int currentPage, int pageCount) {
+        this(modelDtoList, currentPage, pageCount, currentPage < pageCount, null, null);
+    }
+
+    public PageDtoResponse(List<T> modelDtoList,
+                           int currentPage,
+                           Integer pageCount,
+                           boolean hasNextPage,
+                           String nextCursor,
+                           String countStrategy) {
         this.modelDtoList = modelDtoList;
         this.currentPage = currentPage;
         this.pageCount = pageCount;
+        this.hasNextPage = hasNextPage;
+        this.nextCursor = nextCursor;
+        this.countStrategy = countStrategy;
     }
-}
\ No newline at end of file
+}
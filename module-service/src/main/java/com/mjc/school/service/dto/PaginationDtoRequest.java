@@ -1,7 +1,10 @@
 package com.mjc.school.service.dto;
 
+import com.mjc.school.service.validator.constraint.CountStrategy;
+import com.mjc.school.service.validator.constraint.CursorToken;
 import com.mjc.school.service.validator.constraint.Min;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.lang.Nullable;
@@ -9,19 +12,37 @@ import org.springframework.lang.Nullable;
 @Getter
 @Setter
 @Builder
+@EqualsAndHashCode
 public class PaginationDtoRequest {
     @Min(1)
     private int page = 1;
     @Min(1)
     private int pageSize = 10;
+    @CursorToken
+    private String cursor;
+    @CountStrategy
+    private String countStrategy;
 
     public PaginationDtoRequest(@Nullable int page,
                                 @Nullable int pageSize) {
+        this(page, pageSize, null, null);
+    }
+
+    public PaginationDtoRequest(@Nullable int page,
+                                @Nullable int pageSize,
+                                @Nullable String cursor,
+                                @Nullable String countStrategy) {
         if (page > 0) {
             this.page = page;
         }
         if (pageSize > 0) {
             this.pageSize = pageSize;
         }
+        if (cursor != null && !cursor.isBlank()) {
+            this.cursor = cursor;
+        }
+        if (countStrategy != null && !countStrategy.isBlank()) {
+            this.countStrategy = countStrategy;
+        }
     }
 }
@@ -2,6 +2,7 @@ package com.mjc.school.service.dto;
 
 import com.mjc.school.service.validator.constraint.FilterFields;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.lang.Nullable;
@@ -12,6 +13,7 @@ import java.util.List;
 @Getter
 @Setter
 @Builder
+@EqualsAndHashCode
 public class SearchFilterDtoRequest {
     @FilterFields
     private List<String> filters = new ArrayList<>();
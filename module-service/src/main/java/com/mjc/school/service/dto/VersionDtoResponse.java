@@ -0,0 +1,17 @@
+package com.mjc.school.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersionDtoResponse {
+    private LocalDateTime lastModified;
+    private String fingerprint;
+}
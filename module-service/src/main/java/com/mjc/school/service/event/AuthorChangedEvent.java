@@ -0,0 +1,7 @@
+package com.mjc.school.service.event;
+
+/**
+ * An author was renamed or deleted, which changes every news written by them.
+ */
+public record AuthorChangedEvent(Long authorId) {
+}
@@ -0,0 +1,34 @@
+package com.mjc.school.service.event;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Publishes change events for caches outside the service layer, once immediately and once more when the
+ * writing transaction completes, so that a value loaded from the old state while the transaction was
+ * running does not survive it.
+ */
+@Component
+public class ChangeEventPublisher {
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public ChangeEventPublisher(final ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    public void publish(Object event) {
+        eventPublisher.publishEvent(event);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eventPublisher.publishEvent(event);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.mjc.school.service.event;
+
+/**
+ * The news itself, its comments or its deletion changed what the news reads as.
+ */
+public record NewsChangedEvent(Long newsId) {
+}
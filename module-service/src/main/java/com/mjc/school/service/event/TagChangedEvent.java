@@ -0,0 +1,7 @@
+package com.mjc.school.service.event;
+
+/**
+ * A tag was renamed or deleted, which changes every news carrying it.
+ */
+public record TagChangedEvent(Long tagId) {
+}
@@ -11,6 +11,8 @@ public enum ServiceErrorCode {
     AUTHOR_CONFLICT("000021"),
     UNEXPECTED_ERROR("000050"),
     NEWS_CONFLICT("000031"),
+    NEWS_BATCH_CHUNK_CONFLICT("000032"),
+    NEWS_BATCH_CHUNK_FAILED("000033"),
     TAG_CONFLICT("000041"),
     COMMENT_CONFLICT("000051");
 
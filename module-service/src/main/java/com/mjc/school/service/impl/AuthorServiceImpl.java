@@ -2,17 +2,25 @@ package com.mjc.school.service.impl;
 
 import com.mjc.school.repository.AuthorRepository;
 import com.mjc.school.repository.exception.EntityConflictRepositoryException;
+import com.mjc.school.repository.exception.InvalidCursorRepositoryException;
 import com.mjc.school.repository.pagination.Page;
+import com.mjc.school.repository.pagination.PageCountStrategy;
 import com.mjc.school.repository.pagination.Pagination;
 import com.mjc.school.repository.model.Author;
+import com.mjc.school.repository.query.AuthorView;
 import com.mjc.school.repository.query.AuthorWithNewsCount;
 import com.mjc.school.service.AuthorService;
 import com.mjc.school.service.dto.*;
+import com.mjc.school.service.event.AuthorChangedEvent;
+import com.mjc.school.service.event.ChangeEventPublisher;
 import com.mjc.school.service.exceptions.NotFoundException;
 import com.mjc.school.service.exceptions.ResourceConflictServiceException;
+import com.mjc.school.service.exceptions.ValidatorException;
 import com.mjc.school.service.filter.AuthorSearchFilterMapper;
 import com.mjc.school.service.mapper.AuthorMapper;
+import com.mjc.school.service.search.NewsSearchIndex;
 import com.mjc.school.service.validator.Valid;
+import com.mjc.school.service.validator.constraint.CursorToken;
 import com.mjc.school.service.validator.ValidFields;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -28,15 +36,21 @@ public class AuthorServiceImpl implements AuthorService {
     private final AuthorRepository authorRepository;
     private final AuthorMapper mapper;
     private final AuthorSearchFilterMapper searchFilterMapper;
+    private final NewsSearchIndex newsSearchIndex;
+    private final ChangeEventPublisher changeEventPublisher;
 
 
     @Autowired
     public AuthorServiceImpl(final AuthorRepository authorRepository,
                              final AuthorMapper mapper,
-                             final AuthorSearchFilterMapper searchFilterMapper) {
+                             final AuthorSearchFilterMapper searchFilterMapper,
+                             final NewsSearchIndex newsSearchIndex,
+                             final ChangeEventPublisher changeEventPublisher) {
         this.authorRepository = authorRepository;
         this.mapper = mapper;
         this.searchFilterMapper = searchFilterMapper;
+        this.newsSearchIndex = newsSearchIndex;
+        this.changeEventPublisher = changeEventPublisher;
     }
 
     @Override
@@ -45,11 +59,19 @@ public class AuthorServiceImpl implements AuthorService {
                                                       SortingDtoRequest sortingDtoRequest,
                                                       @ValidFields(fields = "name")
                                                       SearchFilterDtoRequest searchFilterDtoRequest) {
-        Page<Author> modelPage = authorRepository.readAll(new Pagination(paginationDtoRequest.getPage(), paginationDtoRequest.getPageSize()),
-            null,
-            searchFilterMapper.map(searchFilterDtoRequest));
-        List<AuthorDtoResponse> responseDtoList = mapper.modelListToDtoList(modelPage.entities());
-        return new PageDtoResponse<>(responseDtoList, modelPage.currentPage(), modelPage.pageCount());
+        Page<AuthorView> modelPage;
+        try {
+            modelPage = authorRepository.readAllViews(new Pagination(paginationDtoRequest.getPage(), paginationDtoRequest.getPageSize(),
+                    paginationDtoRequest.getCursor(), PageCountStrategy.fromName(paginationDtoRequest.getCountStrategy())),
+                null,
+                searchFilterMapper.map(searchFilterDtoRequest));
+        } catch (InvalidCursorRepositoryException e) {
+            throw new ValidatorException(VALIDATION,
+                new String[]{CursorToken.class.getSimpleName(), paginationDtoRequest.getCursor(), "cursor"});
+        }
+        List<AuthorDtoResponse> responseDtoList = mapper.viewListToDtoList(modelPage.entities());
+        return new PageDtoResponse<>(responseDtoList, modelPage.currentPage(), modelPage.pageCount(),
+            modelPage.hasNextPage(), modelPage.nextCursor(), modelPage.countStrategy().name());
     }
 
     @Override
@@ -62,6 +84,16 @@ public class AuthorServiceImpl implements AuthorService {
                 () -> new NotFoundException(AUTHOR_ID_DOES_NOT_EXIST, new String[]{id.toString()}));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public VersionDtoResponse readVersionById(Long id) {
+        return authorRepository
+            .readVersionById(id)
+            .map(version -> new VersionDtoResponse(version.lastModified(), version.fingerprint()))
+            .orElseThrow(
+                () -> new NotFoundException(AUTHOR_ID_DOES_NOT_EXIST, new String[]{id.toString()}));
+    }
+
     @Override
     @Transactional
     public AuthorDtoResponse create(@Valid AuthorDtoRequest createRequest) {
@@ -81,6 +113,8 @@ public class AuthorServiceImpl implements AuthorService {
             Author model = mapper.dtoToModel(updateRequest);
             model.setId(id);
             model = authorRepository.update(model);
+            newsSearchIndex.reloadAfterCommit();
+            changeEventPublisher.publish(new AuthorChangedEvent(id));
             return mapper.modelToDto(model);
         } else {
             throw new NotFoundException(AUTHOR_ID_DOES_NOT_EXIST, new String[]{id.toString()});
@@ -92,6 +126,8 @@ public class AuthorServiceImpl implements AuthorService {
     public void deleteById(Long id) {
         if (authorRepository.existById(id)) {
             authorRepository.deleteById(id);
+            newsSearchIndex.reloadAfterCommit();
+            changeEventPublisher.publish(new AuthorChangedEvent(id));
         } else {
             throw new NotFoundException(AUTHOR_ID_DOES_NOT_EXIST, new String[]{id.toString()});
         }
@@ -109,7 +145,8 @@ public class AuthorServiceImpl implements AuthorService {
     @Override
     public PageDtoResponse<AuthorWithNewsCountDtoResponse> readWithNewsCount(@Valid PaginationDtoRequest paginationDtoRequest) {
         Page<AuthorWithNewsCount> modelPage = authorRepository.
-            readWithNewsCount(new Pagination(paginationDtoRequest.getPage(), paginationDtoRequest.getPageSize()));
+            readWithNewsCount(new Pagination(paginationDtoRequest.getPage(), paginationDtoRequest.getPageSize(),
+                null, PageCountStrategy.fromName(paginationDtoRequest.getCountStrategy())));
         List<AuthorWithNewsCountDtoResponse> dtoResponses = modelPage.entities().stream()
             .map(a -> new AuthorWithNewsCountDtoResponse(
                 a.getAuthor().getId(),
@@ -118,6 +155,7 @@ public class AuthorServiceImpl implements AuthorService {
                 a.getAuthor().getLastUpdatedDate(),
                 a.getNewsCount()))
             .collect(Collectors.toList());
-        return new PageDtoResponse<>(dtoResponses, modelPage.currentPage(), modelPage.pageCount());
+        return new PageDtoResponse<>(dtoResponses, modelPage.currentPage(), modelPage.pageCount(),
+            modelPage.hasNextPage(), modelPage.nextCursor(), modelPage.countStrategy().name());
     }
 }
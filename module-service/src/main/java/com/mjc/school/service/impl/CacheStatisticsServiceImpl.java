@@ -0,0 +1,27 @@
+package com.mjc.school.service.impl;
+
+import com.mjc.school.repository.cache.SecondLevelCacheStatistics;
+import com.mjc.school.service.CacheStatisticsService;
+import com.mjc.school.service.dto.CacheRegionStatisticsDtoResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class CacheStatisticsServiceImpl implements CacheStatisticsService {
+    private final SecondLevelCacheStatistics cacheStatistics;
+
+    @Autowired
+    public CacheStatisticsServiceImpl(final SecondLevelCacheStatistics cacheStatistics) {
+        this.cacheStatistics = cacheStatistics;
+    }
+
+    @Override
+    public List<CacheRegionStatisticsDtoResponse> readAll() {
+        return cacheStatistics.readRegionStatistics().stream()
+            .map(region -> new CacheRegionStatisticsDtoResponse(region.region(), region.hitCount(), region.missCount(),
+                region.putCount(), region.elementCountInMemory()))
+            .toList();
+    }
+}
@@ -0,0 +1,27 @@
+package com.mjc.school.service.impl;
+
+import com.mjc.school.service.CoalescingStatisticsService;
+import com.mjc.school.service.coalescing.RequestCoalescer;
+import com.mjc.school.service.dto.CoalescingStatisticsDtoResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class CoalescingStatisticsServiceImpl implements CoalescingStatisticsService {
+    private final RequestCoalescer requestCoalescer;
+
+    @Autowired
+    public CoalescingStatisticsServiceImpl(final RequestCoalescer requestCoalescer) {
+        this.requestCoalescer = requestCoalescer;
+    }
+
+    @Override
+    public List<CoalescingStatisticsDtoResponse> readAll() {
+        return requestCoalescer.readStatistics().stream()
+            .map(operation -> new CoalescingStatisticsDtoResponse(operation.operation(), operation.callCount(),
+                operation.coalescedCount()))
+            .toList();
+    }
+}
@@ -3,16 +3,22 @@ package com.mjc.school.service.impl;
 import com.mjc.school.repository.CommentRepository;
 import com.mjc.school.repository.NewsRepository;
 import com.mjc.school.repository.exception.EntityConflictRepositoryException;
+import com.mjc.school.repository.exception.InvalidCursorRepositoryException;
 import com.mjc.school.repository.pagination.Page;
+import com.mjc.school.repository.pagination.PageCountStrategy;
 import com.mjc.school.repository.pagination.Pagination;
 import com.mjc.school.repository.model.Comment;
 import com.mjc.school.service.CommentService;
 import com.mjc.school.service.dto.*;
+import com.mjc.school.service.event.ChangeEventPublisher;
+import com.mjc.school.service.event.NewsChangedEvent;
 import com.mjc.school.service.exceptions.NotFoundException;
 import com.mjc.school.service.exceptions.ResourceConflictServiceException;
+import com.mjc.school.service.exceptions.ValidatorException;
 import com.mjc.school.service.sort.CommentSortingMapper;
 import com.mjc.school.service.mapper.CommentMapper;
 import com.mjc.school.service.validator.Valid;
+import com.mjc.school.service.validator.constraint.CursorToken;
 import com.mjc.school.service.validator.ValidFields;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -28,16 +34,19 @@ public class CommentServiceImpl implements CommentService {
     private final NewsRepository newsRepository;
     private final CommentMapper mapper;
     private final CommentSortingMapper sortingMapper;
+    private final ChangeEventPublisher changeEventPublisher;
 
     @Autowired
     public CommentServiceImpl(final CommentRepository commentRepository,
                               final CommentMapper mapper,
                               final NewsRepository newsRepository,
-                              final CommentSortingMapper sortingMapper) {
+                              final CommentSortingMapper sortingMapper,
+                              final ChangeEventPublisher changeEventPublisher) {
         this.commentRepository = commentRepository;
         this.mapper = mapper;
         this.newsRepository = newsRepository;
         this.sortingMapper = sortingMapper;
+        this.changeEventPublisher = changeEventPublisher;
     }
 
 
@@ -46,11 +55,30 @@ public class CommentServiceImpl implements CommentService {
     public PageDtoResponse<CommentDtoResponse> readAll(@Valid PaginationDtoRequest paginationDtoRequest,
                                                        @ValidFields(fields = {"createdDate", "lastUpdatedDate"}) SortingDtoRequest sortingDtoRequest,
                                                        SearchFilterDtoRequest searchFilterDtoRequest) {
-        Page<Comment> modelPage = commentRepository.readAll(new Pagination(paginationDtoRequest.getPage(), paginationDtoRequest.getPageSize()),
-            sortingMapper.map(sortingDtoRequest),
-            null);
-        List<CommentDtoResponse> responseDtoList = mapper.modelListToDtoList(modelPage.entities());
-        return new PageDtoResponse<>(responseDtoList, modelPage.currentPage(), modelPage.pageCount());
+        return readAll(paginationDtoRequest, sortingDtoRequest, searchFilterDtoRequest, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDtoResponse<CommentDtoResponse> readAll(@Valid PaginationDtoRequest paginationDtoRequest,
+                                                       @ValidFields(fields = {"createdDate", "lastUpdatedDate"}) SortingDtoRequest sortingDtoRequest,
+                                                       SearchFilterDtoRequest searchFilterDtoRequest,
+                                                       @ValidFields(fields = {"news"}) EmbedDtoRequest embedDtoRequest) {
+        Page<Comment> modelPage;
+        try {
+            modelPage = commentRepository.readAll(new Pagination(paginationDtoRequest.getPage(), paginationDtoRequest.getPageSize(),
+                    paginationDtoRequest.getCursor(), PageCountStrategy.fromName(paginationDtoRequest.getCountStrategy())),
+                sortingMapper.map(sortingDtoRequest),
+                null);
+        } catch (InvalidCursorRepositoryException e) {
+            throw new ValidatorException(VALIDATION,
+                new String[]{CursorToken.class.getSimpleName(), paginationDtoRequest.getCursor(), "cursor"});
+        }
+        List<CommentDtoResponse> responseDtoList = embedDtoRequest == null || embedDtoRequest.embeds("news")
+            ? mapper.modelListToDtoList(modelPage.entities())
+            : mapper.modelListToDtoListWithoutNews(modelPage.entities());
+        return new PageDtoResponse<>(responseDtoList, modelPage.currentPage(), modelPage.pageCount(),
+            modelPage.hasNextPage(), modelPage.nextCursor(), modelPage.countStrategy().name());
     }
 
     @Override
@@ -72,6 +100,7 @@ public class CommentServiceImpl implements CommentService {
         try {
             Comment model = mapper.dtoToModel(createRequest);
             model = commentRepository.create(model);
+            changeEventPublisher.publish(new NewsChangedEvent(createRequest.newsId()));
             return mapper.modelToDto(model);
         } catch (EntityConflictRepositoryException e) {
             throw new ResourceConflictServiceException(COMMENT_CONFLICT, new String[]{e.getMessage()});
@@ -82,8 +111,13 @@ public class CommentServiceImpl implements CommentService {
     @Transactional
     public CommentDtoResponse update(Long id, @Valid CommentDtoRequest updateRequest) {
         if (commentRepository.existById(id)) {
+            // a comment can be moved to another news, which changes both of them
+            publishNewsChanged(id);
             Comment model = mapper.dtoToModel(updateRequest);
             model = commentRepository.update(model);
+            if (model != null && model.getNews() != null) {
+                changeEventPublisher.publish(new NewsChangedEvent(model.getNews().getId()));
+            }
             return mapper.modelToDto(model);
         } else {
             throw new NotFoundException(COMMENT_ID_DOES_NOT_EXIST, new String[]{id.toString()});
@@ -94,6 +128,7 @@ public class CommentServiceImpl implements CommentService {
     @Transactional
     public void deleteById(Long id) {
         if (commentRepository.existById(id)) {
+            publishNewsChanged(id);
             commentRepository.deleteById(id);
         } else {
             throw new NotFoundException(COMMENT_ID_DOES_NOT_EXIST, new String[]{id.toString()});
@@ -109,9 +144,17 @@ public class CommentServiceImpl implements CommentService {
             throw new NotFoundException(NEWS_ID_DOES_NOT_EXIST, new String[]{newsId.toString()});
         }
         Page<Comment> modelPage = commentRepository.readByNewsId(newsId,
-            new Pagination(paginationDtoRequest.getPage(), paginationDtoRequest.getPageSize()),
+            new Pagination(paginationDtoRequest.getPage(), paginationDtoRequest.getPageSize(),
+                null, PageCountStrategy.fromName(paginationDtoRequest.getCountStrategy())),
             sortingMapper.map(sortingDtoRequest));
         List<CommentForNewsDtoResponse> responseDtoList = mapper.modelListToForNewsDtoList(modelPage.entities());
-        return new PageDtoResponse<>(responseDtoList, modelPage.currentPage(), modelPage.pageCount());
+        return new PageDtoResponse<>(responseDtoList, modelPage.currentPage(), modelPage.pageCount(),
+            modelPage.hasNextPage(), modelPage.nextCursor(), modelPage.countStrategy().name());
+    }
+
+    private void publishNewsChanged(Long commentId) {
+        commentRepository.readById(commentId)
+            .filter(comment -> comment.getNews() != null)
+            .ifPresent(comment -> changeEventPublisher.publish(new NewsChangedEvent(comment.getNews().getId())));
     }
 }
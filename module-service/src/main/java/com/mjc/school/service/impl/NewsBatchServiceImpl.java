@@ -0,0 +1,180 @@
+package com.mjc.school.service.impl;
+
+import com.mjc.school.repository.AuthorRepository;
+import com.mjc.school.repository.NewsRepository;
+import com.mjc.school.repository.TagRepository;
+import com.mjc.school.repository.exception.EntityConflictRepositoryException;
+import com.mjc.school.repository.model.Author;
+import com.mjc.school.repository.model.News;
+import com.mjc.school.repository.model.Tag;
+import com.mjc.school.service.NewsBatchService;
+import com.mjc.school.service.dto.NewsBatchDtoResponse;
+import com.mjc.school.service.dto.NewsBatchItemDtoResponse;
+import com.mjc.school.service.dto.NewsDtoCreateRequest;
+import com.mjc.school.service.exceptions.ResourceConflictServiceException;
+import com.mjc.school.service.exceptions.ServiceException;
+import com.mjc.school.service.exceptions.ValidatorException;
+import com.mjc.school.service.mapper.NewsMapper;
+import com.mjc.school.service.search.NewsSearchIndex;
+import com.mjc.school.service.validator.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static com.mjc.school.service.exceptions.ServiceErrorCode.NEWS_BATCH_CHUNK_CONFLICT;
+import static com.mjc.school.service.exceptions.ServiceErrorCode.NEWS_BATCH_CHUNK_FAILED;
+import static com.mjc.school.service.exceptions.ServiceErrorCode.VALIDATION;
+
+@Service
+public class NewsBatchServiceImpl implements NewsBatchService {
+    private final NewsRepository newsRepository;
+    private final AuthorRepository authorRepository;
+    private final TagRepository tagRepository;
+    private final NewsMapper mapper;
+    private final Validator validator;
+    private final NewsSearchIndex searchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    @Autowired
+    public NewsBatchServiceImpl(final NewsRepository newsRepository,
+                                final AuthorRepository authorRepository,
+                                final TagRepository tagRepository,
+                                final NewsMapper mapper,
+                                final Validator validator,
+                                final NewsSearchIndex searchIndex,
+                                final PlatformTransactionManager transactionManager,
+                                @Value("${service.news-batch.chunk-size:500}") final int chunkSize) {
+        this.newsRepository = newsRepository;
+        this.authorRepository = authorRepository;
+        this.tagRepository = tagRepository;
+        this.mapper = mapper;
+        this.validator = validator;
+        this.searchIndex = searchIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public NewsBatchDtoResponse createAll(Iterator<NewsDtoCreateRequest> createRequests) {
+        Locale locale = LocaleContextHolder.getLocale();
+        List<NewsBatchItemDtoResponse> items = new ArrayList<>();
+        List<BatchItem> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        while (createRequests.hasNext()) {
+            NewsDtoCreateRequest createRequest = createRequests.next();
+            List<String> violations = validate(createRequest);
+            if (violations.isEmpty()) {
+                chunk.add(new BatchItem(index, createRequest));
+            } else {
+                ServiceException e = new ValidatorException(VALIDATION, violations.toArray(new String[0]));
+                items.add(NewsBatchItemDtoResponse.failed(index, e.getErrorCode(), e.getLocalizedMessage(locale)));
+            }
+            index++;
+            if (chunk.size() == chunkSize) {
+                items.addAll(createChunk(chunk, locale));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            items.addAll(createChunk(chunk, locale));
+        }
+
+        items.sort(Comparator.comparingInt(NewsBatchItemDtoResponse::getIndex));
+        int createdCount = (int) items.stream()
+            .filter(item -> NewsBatchItemDtoResponse.Status.CREATED.equals(item.getStatus()))
+            .count();
+        return new NewsBatchDtoResponse(createdCount, items.size() - createdCount, items);
+    }
+
+    private List<NewsBatchItemDtoResponse> createChunk(List<BatchItem> chunk, Locale locale) {
+        try {
+            List<News> createdNews = transactionTemplate.execute(status -> {
+                List<News> created = newsRepository.createAll(toModels(chunk));
+                searchIndex.indexAfterCommit(created.stream().map(mapper::modelToSearchView).toList());
+                return created;
+            });
+            List<NewsBatchItemDtoResponse> items = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                items.add(NewsBatchItemDtoResponse.created(chunk.get(i).index(), createdNews.get(i).getId()));
+            }
+            return items;
+        } catch (EntityConflictRepositoryException e) {
+            return failChunk(chunk, new ResourceConflictServiceException(NEWS_BATCH_CHUNK_CONFLICT, new String[]{e.getMessage()}), locale);
+        } catch (DataAccessException | TransactionException e) {
+            // any other failure of the statements or the commit only loses this chunk, the next ones are still tried
+            return failChunk(chunk, new ServiceException(NEWS_BATCH_CHUNK_FAILED, new String[]{e.getMessage()}), locale);
+        }
+    }
+
+    private static List<NewsBatchItemDtoResponse> failChunk(List<BatchItem> chunk, ServiceException e, Locale locale) {
+        List<NewsBatchItemDtoResponse> items = new ArrayList<>(chunk.size());
+        for (BatchItem item : chunk) {
+            items.add(NewsBatchItemDtoResponse.failed(item.index(), e.getErrorCode(), e.getLocalizedMessage(locale)));
+        }
+        return items;
+    }
+
+    private List<News> toModels(List<BatchItem> chunk) {
+        Set<String> authorNames = new LinkedHashSet<>();
+        Set<String> tagNames = new LinkedHashSet<>();
+        for (BatchItem item : chunk) {
+            String authorName = item.createRequest().authorName();
+            if (authorName != null && !authorName.isBlank()) {
+                authorNames.add(authorName);
+            }
+            tagNames.addAll(item.createRequest().tagsNames());
+        }
+        Map<String, Author> authors = new HashMap<>();
+        for (Author author : authorRepository.ensureByNames(authorNames)) {
+            authors.put(author.getName(), author);
+        }
+        Map<String, Tag> tags = new HashMap<>();
+        for (Tag tag : tagRepository.ensureByNames(tagNames)) {
+            tags.put(tag.getName(), tag);
+        }
+
+        List<News> models = new ArrayList<>(chunk.size());
+        for (BatchItem item : chunk) {
+            News model = mapper.dtoToBatchModel(item.createRequest());
+            model.setAuthor(authors.get(item.createRequest().authorName()));
+            List<Tag> newsTags = new ArrayList<>();
+            for (String tagName : new LinkedHashSet<>(item.createRequest().tagsNames())) {
+                newsTags.add(tags.get(tagName));
+            }
+            model.setTags(newsTags);
+            models.add(model);
+        }
+        return models;
+    }
+
+    private List<String> validate(NewsDtoCreateRequest createRequest) {
+        if (createRequest == null) {
+            return List.of("NotNull", "null", "item");
+        }
+        try {
+            // the same field constraints the validation aspect checks for a single create
+            return validator.validate(createRequest, null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record BatchItem(int index, NewsDtoCreateRequest createRequest) {
+    }
+}
@@ -1,92 +1,142 @@
 package com.mjc.school.service.impl;
 
-import com.mjc.school.repository.AuthorRepository;
 import com.mjc.school.repository.NewsRepository;
-import com.mjc.school.repository.TagRepository;
+import com.mjc.school.repository.filter.SearchCriteria;
 import com.mjc.school.repository.exception.EntityConflictRepositoryException;
+import com.mjc.school.repository.exception.InvalidCursorRepositoryException;
 import com.mjc.school.repository.pagination.Page;
+import com.mjc.school.repository.pagination.PageCountStrategy;
 import com.mjc.school.repository.pagination.Pagination;
-import com.mjc.school.repository.model.Author;
 import com.mjc.school.repository.model.News;
-import com.mjc.school.repository.model.Tag;
+import com.mjc.school.repository.query.NewsAssociation;
+import com.mjc.school.repository.query.NewsView;
+import com.mjc.school.repository.sorting.Sorting;
 import com.mjc.school.service.NewsService;
+import com.mjc.school.service.coalescing.Coalesced;
 import com.mjc.school.service.dto.*;
+import com.mjc.school.service.event.ChangeEventPublisher;
+import com.mjc.school.service.event.NewsChangedEvent;
 import com.mjc.school.service.exceptions.NotFoundException;
 import com.mjc.school.service.exceptions.ResourceConflictServiceException;
+import com.mjc.school.service.exceptions.ValidatorException;
 import com.mjc.school.service.filter.NewsSearchFilterMapper;
 import com.mjc.school.service.sort.NewsSortingMapper;
 import com.mjc.school.service.mapper.NewsMapper;
+import com.mjc.school.service.search.NewsSearchIndex;
 import com.mjc.school.service.validator.Valid;
+import com.mjc.school.service.validator.constraint.CursorToken;
 import com.mjc.school.service.validator.ValidFields;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static com.mjc.school.service.exceptions.ServiceErrorCode.NEWS_CONFLICT;
 import static com.mjc.school.service.exceptions.ServiceErrorCode.NEWS_ID_DOES_NOT_EXIST;
+import static com.mjc.school.service.exceptions.ServiceErrorCode.VALIDATION;
 
 @Service
 public class NewsServiceImpl implements NewsService {
     private final NewsRepository newsRepository;
-    private final AuthorRepository authorRepository;
-    private final TagRepository tagRepository;
     private final NewsMapper mapper;
     private final NewsSortingMapper sortingMapper;
     private final NewsSearchFilterMapper searchFilterMapper;
+    private final NewsSearchIndex searchIndex;
+    private final ChangeEventPublisher changeEventPublisher;
 
     @Autowired
     public NewsServiceImpl(final NewsRepository newsRepository,
-                           final AuthorRepository authorRepository,
-                           final TagRepository tagRepository,
                            final NewsMapper mapper,
                            final NewsSortingMapper sortingMapper,
-                           final NewsSearchFilterMapper searchFilterMapper) {
+                           final NewsSearchFilterMapper searchFilterMapper,
+                           final NewsSearchIndex searchIndex,
+                           final ChangeEventPublisher changeEventPublisher) {
         this.newsRepository = newsRepository;
-        this.authorRepository = authorRepository;
-        this.tagRepository = tagRepository;
         this.mapper = mapper;
         this.sortingMapper = sortingMapper;
         this.searchFilterMapper = searchFilterMapper;
+        this.searchIndex = searchIndex;
+        this.changeEventPublisher = changeEventPublisher;
     }
 
 
     @Override
+    @Coalesced
     @Transactional(readOnly = true)
     public PageDtoResponse<NewsDtoResponse> readAll(@Valid
                                                     PaginationDtoRequest paginationDtoRequest,
-                                                    @ValidFields(fields = {"createdDate", "lastUpdatedDate"})
+                                                    @ValidFields(fields = {"createdDate", "lastUpdatedDate", "rank"})
                                                     SortingDtoRequest sortingDtoRequest,
-                                                    @ValidFields(fields = {"title", "content", "tags.name", "tags.id", "author.name"})
+                                                    @ValidFields(fields = {"title", "content", "search", "tags.name", "tags.id", "author.name"})
                                                     SearchFilterDtoRequest searchFilterDtoRequest) {
-        Page<News> modelPage = newsRepository.readAll(new Pagination(paginationDtoRequest.getPage(), paginationDtoRequest.getPageSize()),
-            sortingMapper.map(sortingDtoRequest),
-            searchFilterMapper.map(searchFilterDtoRequest));
-        List<NewsDtoResponse> responseDtoList = mapper.modelListToDtoList(modelPage.entities());
-        return new PageDtoResponse<>(responseDtoList, modelPage.currentPage(), modelPage.pageCount());
+        return readPage(paginationDtoRequest, sortingDtoRequest, searchFilterDtoRequest, EnumSet.allOf(NewsAssociation.class));
     }
 
     @Override
+    @Coalesced
+    @Transactional(readOnly = true)
+    public PageDtoResponse<NewsDtoResponse> readAll(@Valid
+                                                    PaginationDtoRequest paginationDtoRequest,
+                                                    @ValidFields(fields = {"createdDate", "lastUpdatedDate", "rank"})
+                                                    SortingDtoRequest sortingDtoRequest,
+                                                    @ValidFields(fields = {"title", "content", "search", "tags.name", "tags.id", "author.name"})
+                                                    SearchFilterDtoRequest searchFilterDtoRequest,
+                                                    @ValidFields(fields = {"author", "tags", "comments"})
+                                                    EmbedDtoRequest embedDtoRequest) {
+        return readPage(paginationDtoRequest, sortingDtoRequest, searchFilterDtoRequest, associations(embedDtoRequest));
+    }
+
+    @Override
+    @Coalesced
     @Transactional(readOnly = true)
     public NewsDtoResponse readById(final Long id) {
+        return readView(id);
+    }
+
+    @Override
+    @Coalesced
+    @Transactional(readOnly = true)
+    public NewsDtoResponse readById(final Long id,
+                                    @ValidFields(fields = {"author", "tags", "comments"})
+                                    EmbedDtoRequest embedDtoRequest) {
         return newsRepository
-            .readById(id)
-            .map(mapper::modelToDto)
+            .readViewsByIds(List.of(id), associations(embedDtoRequest))
+            .stream()
+            .findFirst()
+            .map(mapper::viewToDto)
             .orElseThrow(
                 () -> new NotFoundException(NEWS_ID_DOES_NOT_EXIST, new String[]{id.toString()}));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public VersionDtoResponse readVersionById(Long id) {
+        return newsRepository
+            .readVersionById(id)
+            .map(version -> new VersionDtoResponse(version.lastModified(), version.fingerprint()))
+            .orElseThrow(
+                () -> new NotFoundException(NEWS_ID_DOES_NOT_EXIST, new String[]{id.toString()}));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<List<NewsDtoResponse>> chunkConsumer) {
+        newsRepository.readAllViewsInChunks(views -> chunkConsumer.accept(mapper.viewListToDtoList(views)));
+    }
+
     @Override
     @Transactional
     public NewsDtoResponse create(@Valid NewsDtoCreateRequest createRequest) {
-        createNonExistentAuthor(createRequest.authorName());
-        createNonExistentTags(createRequest.tagsNames());
         try {
             News model = mapper.dtoToModel(createRequest);
             model = newsRepository.create(model);
-            return mapper.modelToDto(model);
+            searchIndex.indexAfterCommit(List.of(mapper.modelToSearchView(model)));
+            return readView(model.getId());
         } catch (EntityConflictRepositoryException e) {
             throw new ResourceConflictServiceException(NEWS_CONFLICT, new String[]{e.getMessage()});
         }
@@ -98,12 +148,12 @@ public class NewsServiceImpl implements NewsService {
         if (!newsRepository.existById(id)) {
             throw new NotFoundException(NEWS_ID_DOES_NOT_EXIST, new String[]{id.toString()});
         }
-        createNonExistentAuthor(updateRequest.authorName());
-        createNonExistentTags(updateRequest.tagsNames());
         News model = mapper.dtoToModel(updateRequest);
         model.setId(id);
         model = newsRepository.update(model);
-        return mapper.modelToDto(model);
+        searchIndex.indexAfterCommit(List.of(mapper.modelToSearchView(model)));
+        changeEventPublisher.publish(new NewsChangedEvent(id));
+        return readView(id);
     }
 
     @Override
@@ -111,29 +161,59 @@ public class NewsServiceImpl implements NewsService {
     public void deleteById(Long id) {
         if (newsRepository.existById(id)) {
             newsRepository.deleteById(id);
+            searchIndex.removeAfterCommit(id);
+            changeEventPublisher.publish(new NewsChangedEvent(id));
         } else {
             throw new NotFoundException(NEWS_ID_DOES_NOT_EXIST, new String[]{id.toString()});
         }
     }
 
-    private void createNonExistentAuthor(String authorName) {
-        if (authorName != null && !authorName.isBlank()) {
-            if (authorRepository.readByName(authorName).isEmpty()) {
-                Author author = new Author();
-                author.setName(authorName);
-                authorRepository.create(author);
-            }
+    // news are answered in the shape of the views, with their latest comments only
+    private NewsDtoResponse readView(Long id) {
+        return newsRepository
+            .readViewsByIds(List.of(id))
+            .stream()
+            .findFirst()
+            .map(mapper::viewToDto)
+            .orElseThrow(
+                () -> new NotFoundException(NEWS_ID_DOES_NOT_EXIST, new String[]{id.toString()}));
+    }
+
+    // the author is read by the main query whatever is embedded, it is a cheap join
+    private static Set<NewsAssociation> associations(EmbedDtoRequest embedDtoRequest) {
+        Set<NewsAssociation> associations = EnumSet.noneOf(NewsAssociation.class);
+        if (embedDtoRequest == null || embedDtoRequest.embeds("tags")) {
+            associations.add(NewsAssociation.TAGS);
+        }
+        if (embedDtoRequest == null || embedDtoRequest.embeds("comments")) {
+            associations.add(NewsAssociation.COMMENTS);
         }
+        if (embedDtoRequest == null || !embedDtoRequest.isWithoutContent()) {
+            associations.add(NewsAssociation.CONTENT);
+        }
+        return associations;
     }
 
-    private void createNonExistentTags(List<String> tagNames) {
-        tagNames.stream()
-            .filter(name -> tagRepository.readByName(name).isEmpty())
-            .map(name -> {
-                Tag tag = new Tag();
-                tag.setName(name);
-                return tag;
-            })
-            .forEach(tagRepository::create);
+    private PageDtoResponse<NewsDtoResponse> readPage(PaginationDtoRequest paginationDtoRequest,
+                                                      SortingDtoRequest sortingDtoRequest,
+                                                      SearchFilterDtoRequest searchFilterDtoRequest,
+                                                      Set<NewsAssociation> associations) {
+        Pagination pagination = new Pagination(paginationDtoRequest.getPage(), paginationDtoRequest.getPageSize(),
+            paginationDtoRequest.getCursor(), PageCountStrategy.fromName(paginationDtoRequest.getCountStrategy()));
+        List<Sorting> sorting = sortingMapper.map(sortingDtoRequest);
+        List<SearchCriteria> searchCriteria = searchFilterMapper.map(searchFilterDtoRequest);
+        // filters the index can answer only leave the page itself to be read from the database
+        Page<NewsView> modelPage;
+        try {
+            modelPage = searchIndex.search(pagination, sorting, searchCriteria)
+                .map(idPage -> idPage.withEntities(newsRepository.readViewsByIds(idPage.entities(), associations)))
+                .orElseGet(() -> newsRepository.readAllViews(pagination, sorting, searchCriteria, associations));
+        } catch (InvalidCursorRepositoryException e) {
+            throw new ValidatorException(VALIDATION,
+                new String[]{CursorToken.class.getSimpleName(), paginationDtoRequest.getCursor(), "cursor"});
+        }
+        List<NewsDtoResponse> responseDtoList = mapper.viewListToDtoList(modelPage.entities());
+        return new PageDtoResponse<>(responseDtoList, modelPage.currentPage(), modelPage.pageCount(),
+            modelPage.hasNextPage(), modelPage.nextCursor(), modelPage.countStrategy().name());
     }
-}
+}
\ No newline at end of file
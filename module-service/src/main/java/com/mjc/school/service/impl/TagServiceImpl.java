@@ -3,17 +3,25 @@ package com.mjc.school.service.impl;
 import com.mjc.school.repository.NewsRepository;
 import com.mjc.school.repository.TagRepository;
 import com.mjc.school.repository.exception.EntityConflictRepositoryException;
+import com.mjc.school.repository.exception.InvalidCursorRepositoryException;
 import com.mjc.school.repository.pagination.Page;
+import com.mjc.school.repository.pagination.PageCountStrategy;
 import com.mjc.school.repository.pagination.Pagination;
 import com.mjc.school.repository.model.Tag;
+import com.mjc.school.repository.query.TagView;
 import com.mjc.school.service.TagService;
 import com.mjc.school.service.dto.*;
+import com.mjc.school.service.event.TagChangedEvent;
+import com.mjc.school.service.event.ChangeEventPublisher;
 import com.mjc.school.service.exceptions.NotFoundException;
 import com.mjc.school.service.exceptions.ResourceConflictServiceException;
+import com.mjc.school.service.exceptions.ValidatorException;
 import com.mjc.school.service.exceptions.ServiceErrorCode;
 import com.mjc.school.service.filter.TagSearchFilterMapper;
 import com.mjc.school.service.mapper.TagMapper;
+import com.mjc.school.service.search.NewsSearchIndex;
 import com.mjc.school.service.validator.Valid;
+import com.mjc.school.service.validator.constraint.CursorToken;
 import com.mjc.school.service.validator.ValidFields;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -23,6 +31,7 @@ import java.util.List;
 
 import static com.mjc.school.service.exceptions.ServiceErrorCode.TAG_CONFLICT;
 import static com.mjc.school.service.exceptions.ServiceErrorCode.TAG_ID_DOES_NOT_EXIST;
+import static com.mjc.school.service.exceptions.ServiceErrorCode.VALIDATION;
 
 @Service
 public class TagServiceImpl implements TagService {
@@ -30,16 +39,22 @@ public class TagServiceImpl implements TagService {
     private final TagRepository tagRepository;
     private final NewsRepository newsRepository;
     private final TagSearchFilterMapper searchFilterMapper;
+    private final NewsSearchIndex newsSearchIndex;
+    private final ChangeEventPublisher changeEventPublisher;
 
     @Autowired
     public TagServiceImpl(final TagRepository tagRepository,
                           final TagMapper mapper,
                           final NewsRepository newsRepository,
-                          final TagSearchFilterMapper searchFilterMapper) {
+                          final TagSearchFilterMapper searchFilterMapper,
+                          final NewsSearchIndex newsSearchIndex,
+                          final ChangeEventPublisher changeEventPublisher) {
         this.tagRepository = tagRepository;
         this.mapper = mapper;
         this.newsRepository = newsRepository;
         this.searchFilterMapper = searchFilterMapper;
+        this.newsSearchIndex = newsSearchIndex;
+        this.changeEventPublisher = changeEventPublisher;
     }
 
     @Override
@@ -49,11 +64,19 @@ public class TagServiceImpl implements TagService {
                                                    @ValidFields(fields = "name")
                                                    SearchFilterDtoRequest searchFilterDtoRequest) {
 
-        Page<Tag> modelPage = tagRepository.readAll(new Pagination(paginationDtoRequest.getPage(), paginationDtoRequest.getPageSize()),
-            null,
-            searchFilterMapper.map(searchFilterDtoRequest));
-        List<TagDtoResponse> responseDtoList = mapper.modelListToDtoList(modelPage.entities());
-        return new PageDtoResponse<>(responseDtoList, modelPage.currentPage(), modelPage.pageCount());
+        Page<TagView> modelPage;
+        try {
+            modelPage = tagRepository.readAllViews(new Pagination(paginationDtoRequest.getPage(), paginationDtoRequest.getPageSize(),
+                    paginationDtoRequest.getCursor(), PageCountStrategy.fromName(paginationDtoRequest.getCountStrategy())),
+                null,
+                searchFilterMapper.map(searchFilterDtoRequest));
+        } catch (InvalidCursorRepositoryException e) {
+            throw new ValidatorException(VALIDATION,
+                new String[]{CursorToken.class.getSimpleName(), paginationDtoRequest.getCursor(), "cursor"});
+        }
+        List<TagDtoResponse> responseDtoList = mapper.viewListToDtoList(modelPage.entities());
+        return new PageDtoResponse<>(responseDtoList, modelPage.currentPage(), modelPage.pageCount(),
+            modelPage.hasNextPage(), modelPage.nextCursor(), modelPage.countStrategy().name());
     }
 
     @Override
@@ -84,6 +107,8 @@ public class TagServiceImpl implements TagService {
         if (tagRepository.existById(id)) {
             Tag model = mapper.dtoToModel(updateRequest);
             model = tagRepository.update(model);
+            newsSearchIndex.reloadAfterCommit();
+            changeEventPublisher.publish(new TagChangedEvent(id));
             return mapper.modelToDto(model);
         } else {
             throw new NotFoundException(TAG_ID_DOES_NOT_EXIST, new String[]{id.toString()});
@@ -95,6 +120,8 @@ public class TagServiceImpl implements TagService {
     public void deleteById(Long id) {
         if (tagRepository.existById(id)) {
             tagRepository.deleteById(id);
+            newsSearchIndex.reloadAfterCommit();
+            changeEventPublisher.publish(new TagChangedEvent(id));
         } else {
             throw new NotFoundException(TAG_ID_DOES_NOT_EXIST, new String[]{id.toString()});
         }
@@ -108,8 +135,10 @@ public class TagServiceImpl implements TagService {
             throw new NotFoundException(ServiceErrorCode.NEWS_ID_DOES_NOT_EXIST, new String[]{newsId.toString()});
         }
         Page<Tag> modelPage = tagRepository.readByNewsId(newsId,
-            new Pagination(paginationDtoRequest.getPage(), paginationDtoRequest.getPageSize()));
+            new Pagination(paginationDtoRequest.getPage(), paginationDtoRequest.getPageSize(),
+                null, PageCountStrategy.fromName(paginationDtoRequest.getCountStrategy())));
         List<TagDtoResponse> responseDtoList = mapper.modelListToDtoList(modelPage.entities());
-        return new PageDtoResponse<>(responseDtoList, modelPage.currentPage(), modelPage.pageCount());
+        return new PageDtoResponse<>(responseDtoList, modelPage.currentPage(), modelPage.pageCount(),
+            modelPage.hasNextPage(), modelPage.nextCursor(), modelPage.countStrategy().name());
     }
 }
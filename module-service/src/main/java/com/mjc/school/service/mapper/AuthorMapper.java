@@ -6,6 +6,7 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
 import com.mjc.school.repository.model.Author;
+import com.mjc.school.repository.query.AuthorView;
 import com.mjc.school.service.dto.AuthorDtoRequest;
 import com.mjc.school.service.dto.AuthorDtoResponse;
 import org.mapstruct.NullValueCheckStrategy;
@@ -16,6 +17,10 @@ public interface AuthorMapper {
 
     AuthorDtoResponse modelToDto(Author model);
 
+    List<AuthorDtoResponse> viewListToDtoList(List<AuthorView> viewList);
+
+    AuthorDtoResponse viewToDto(AuthorView view);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdDate", ignore = true)
     @Mapping(target = "lastUpdatedDate", ignore = true)
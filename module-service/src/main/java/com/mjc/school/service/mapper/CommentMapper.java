@@ -3,9 +3,12 @@ package com.mjc.school.service.mapper;
 import com.mjc.school.repository.NewsRepository;
 import com.mjc.school.repository.model.Author;
 import com.mjc.school.repository.model.Comment;
+import com.mjc.school.repository.query.CommentView;
 import com.mjc.school.service.dto.*;
+import org.mapstruct.IterableMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 import org.mapstruct.NullValueCheckStrategy;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -20,11 +23,21 @@ public abstract class CommentMapper {
 
     public abstract List<CommentForNewsDtoResponse> modelListToForNewsDtoList(List<Comment> modelList);
 
+    // leaves the lazy news untouched
+    @IterableMapping(qualifiedByName = "withoutNews")
+    public abstract List<CommentDtoResponse> modelListToDtoListWithoutNews(List<Comment> modelList);
+
     @Mapping(source = "news", target = "newsDto")
     public abstract CommentDtoResponse modelToDto(Comment model);
 
+    @Named("withoutNews")
+    @Mapping(target = "newsDto", ignore = true)
+    public abstract CommentDtoResponse modelToDtoWithoutNews(Comment model);
+
     public abstract CommentForNewsDtoResponse modelToDtoForNews(Comment model);
 
+    public abstract CommentForNewsDtoResponse viewToDtoForNews(CommentView view);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdDate", ignore = true)
     @Mapping(target = "lastUpdatedDate", ignore = true)
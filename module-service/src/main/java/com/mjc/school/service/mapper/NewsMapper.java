@@ -5,15 +5,22 @@ import com.mjc.school.repository.CommentRepository;
 import com.mjc.school.repository.TagRepository;
 import com.mjc.school.repository.model.Author;
 import com.mjc.school.repository.model.News;
-import com.mjc.school.service.dto.CommentForNewsDtoResponse;
+import com.mjc.school.repository.model.Tag;
+import com.mjc.school.repository.query.NewsSearchView;
+import com.mjc.school.repository.query.NewsView;
+import com.mjc.school.repository.query.TagView;
 import com.mjc.school.service.dto.NewsDtoCreateRequest;
 import com.mjc.school.service.dto.NewsDtoResponse;
 import com.mjc.school.service.dto.NewsDtoUpdateRequest;
 import org.mapstruct.*;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 @Mapper(componentModel = "spring", uses = {AuthorMapper.class, TagMapper.class, CommentMapper.class},
     nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS, imports = java.util.stream.Collectors.class)
@@ -24,53 +31,97 @@ public abstract class NewsMapper {
     protected TagRepository tagRepository;
     @Autowired
     protected CommentRepository commentRepository;
-    @Autowired
-    protected CommentMapper commentMapper;
 
     public abstract List<NewsDtoResponse> modelListToDtoList(List<News> modelList);
 
     @Mapping(source = "author", target = "authorDto")
     @Mapping(source = "tags", target = "tagDtos")
     @Mapping(target = "commentForNewsDtos", ignore = true)
+    @Mapping(target = "commentCount", ignore = true)
     public abstract NewsDtoResponse modelToDto(News model);
 
+    public abstract List<NewsDtoResponse> viewListToDtoList(List<NewsView> viewList);
+
+    @Mapping(source = "author", target = "authorDto")
+    @Mapping(source = "tags", target = "tagDtos")
+    @Mapping(source = "comments", target = "commentForNewsDtos")
+    public abstract NewsDtoResponse viewToDto(NewsView view);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdDate", ignore = true)
     @Mapping(target = "lastUpdatedDate", ignore = true)
-    @Mapping(target = "author", expression =
-        "java(authorRepository.readByName(dto.authorName()).get())")
-    @Mapping(target = "tags", expression =
-        "java(dto.tagsNames().stream().map(name -> tagRepository.readByName(name).get()).collect(Collectors.toList()))")
+    @Mapping(target = "author", expression = "java(ensureAuthor(dto.authorName()))")
+    @Mapping(target = "tags", expression = "java(ensureTags(dto.tagsNames()))")
     @Mapping(target = "comments", expression =
         "java(dto.commentsIds().stream().map(commentId -> commentRepository.getReference(commentId)).collect(Collectors.toList()))")
     public abstract News dtoToModel(NewsDtoCreateRequest dto);
 
+    // author and tags of a batch are resolved once for the whole chunk
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdDate", ignore = true)
+    @Mapping(target = "lastUpdatedDate", ignore = true)
+    @Mapping(target = "author", ignore = true)
+    @Mapping(target = "tags", ignore = true)
+    @Mapping(target = "comments", ignore = true)
+    public abstract News dtoToBatchModel(NewsDtoCreateRequest dto);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdDate", ignore = true)
     @Mapping(target = "lastUpdatedDate", ignore = true)
     @Mapping(target = "author", ignore = true)
-    @Mapping(target = "tags", expression =
-        "java(dto.tagsNames().stream().map(name -> tagRepository.readByName(name).get()).collect(Collectors.toList()))")
+    @Mapping(target = "tags", expression = "java(ensureTags(dto.tagsNames()))")
     @Mapping(target = "comments", expression =
         "java(dto.commentsIds().stream().map(commentId -> commentRepository.getReference(commentId)).collect(Collectors.toList()))")
     public abstract News dtoToModel(NewsDtoUpdateRequest dto);
 
+    public NewsSearchView modelToSearchView(News model) {
+        List<TagView> tags = new ArrayList<>();
+        if (model.getTags() != null) {
+            for (Tag tag : model.getTags()) {
+                tags.add(new TagView(tag.getId(), tag.getName()));
+            }
+        }
+        String authorName = model.getAuthor() == null ? null : model.getAuthor().getName();
+        return new NewsSearchView(model.getId(), model.getTitle(), model.getCreatedDate(), model.getLastUpdatedDate(), authorName, tags);
+    }
+
     @AfterMapping
     void setAuthor(NewsDtoUpdateRequest updateRequest, @MappingTarget News news) {
         if (updateRequest.authorName() != null && !updateRequest.authorName().isBlank()) {
-            Author author = authorRepository.readByName(updateRequest.authorName()).get();
-            news.setAuthor(author);
+            news.setAuthor(ensureAuthor(updateRequest.authorName()));
         }
     }
 
-    @AfterMapping
-    void setComments(News model, @MappingTarget NewsDtoResponse dto) {
-        if (model.getComments() != null) {
-            List<CommentForNewsDtoResponse> commentsDto = model.getComments().stream()
-                .map(c -> commentMapper.modelToDtoForNews(c))
-                .collect(Collectors.toList());
-            dto.setCommentForNewsDtos(commentsDto);
+    // authors and tags named in a request are looked up in the natural id cache first, without reading the
+    // database, and all the missing ones are read or created with one statement
+    Author ensureAuthor(String authorName) {
+        if (authorName == null || authorName.isBlank()) {
+            return null;
         }
+        return authorRepository.readCachedByName(authorName).orElseGet(() -> {
+            List<Author> authors = authorRepository.ensureByNames(List.of(authorName));
+            return authors.isEmpty() ? null : authors.get(0);
+        });
     }
-}
 
+    List<Tag> ensureTags(List<String> tagNames) {
+        Map<String, Tag> tags = new HashMap<>();
+        Set<String> missingNames = new LinkedHashSet<>();
+        for (String tagName : tagNames) {
+            tagRepository.readCachedByName(tagName).ifPresentOrElse(tag -> tags.put(tagName, tag), () -> missingNames.add(tagName));
+        }
+        if (!missingNames.isEmpty()) {
+            for (Tag tag : tagRepository.ensureByNames(missingNames)) {
+                tags.put(tag.getName(), tag);
+            }
+        }
+        List<Tag> orderedTags = new ArrayList<>();
+        for (String tagName : new LinkedHashSet<>(tagNames)) {
+            Tag tag = tags.get(tagName);
+            if (tag != null) {
+                orderedTags.add(tag);
+            }
+        }
+        return orderedTags;
+    }
+}
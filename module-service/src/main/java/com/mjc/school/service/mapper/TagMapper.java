@@ -7,6 +7,7 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
 import com.mjc.school.repository.model.Tag;
+import com.mjc.school.repository.query.TagView;
 import com.mjc.school.service.dto.TagDtoRequest;
 import com.mjc.school.service.dto.TagDtoResponse;
 import org.mapstruct.NullValueCheckStrategy;
@@ -17,6 +18,10 @@ public interface TagMapper {
 
     TagDtoResponse modelToDto(Tag model);
 
+    List<TagDtoResponse> viewListToDtoList(List<TagView> viewList);
+
+    TagDtoResponse viewToDto(TagView view);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "news", ignore = true)
     Tag dtoToModel(TagDtoRequest dto);
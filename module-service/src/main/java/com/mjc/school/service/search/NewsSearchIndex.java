@@ -0,0 +1,424 @@
+package com.mjc.school.service.search;
+
+import com.mjc.school.repository.NewsRepository;
+import com.mjc.school.repository.filter.SearchCriteria;
+import com.mjc.school.repository.pagination.Cursor;
+import com.mjc.school.repository.pagination.Page;
+import com.mjc.school.repository.pagination.PageCountStrategy;
+import com.mjc.school.repository.pagination.Pagination;
+import com.mjc.school.repository.query.NewsSearchView;
+import com.mjc.school.repository.query.TagView;
+import com.mjc.school.repository.routing.PrimaryReads;
+import com.mjc.school.repository.sorting.SortOrder;
+import com.mjc.school.repository.sorting.Sorting;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory inverted index answering news filters on tags.name, tags.id, author.name and title
+ * by intersecting posting lists of news ids, so that the database only reads the final page by id.
+ * <p>
+ * Title filters keep the substring semantics of the database LIKE: every three-character gram of the
+ * value has to be in the title, and the candidates are then checked against the titles held in memory.
+ * <p>
+ * Built when the context starts, kept up to date by news changes after their transaction commits and
+ * rebuilt in the background after tag or author changes. Until it is built, while a requested rebuild is
+ * outstanding, and for any filter, sorting or cursor it can not answer, {@link #search} returns an empty
+ * optional and the caller reads from the database.
+ */
+@Component
+public class NewsSearchIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(NewsSearchIndex.class);
+    private static final String ID_FIELD = "id";
+    private static final String CREATED_DATE_FIELD = "createdDate";
+    private static final String LAST_UPDATED_DATE_FIELD = "lastUpdatedDate";
+    private static final String TITLE_FIELD = "title";
+    private static final String TAG_NAME_FIELD = "tags.name";
+    private static final String TAG_ID_FIELD = "tags.id";
+    private static final String AUTHOR_NAME_FIELD = "author.name";
+    private static final Set<String> SORTING_FIELDS = Set.of(ID_FIELD, CREATED_DATE_FIELD, LAST_UPDATED_DATE_FIELD);
+    private static final int GRAM_LENGTH = 3;
+
+    private final NewsRepository newsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Executor reloadExecutor;
+    private final AtomicBoolean reloadScheduled = new AtomicBoolean();
+    // reloads requested so far, and how many of them the current postings include
+    private final AtomicLong reloadRequests = new AtomicLong();
+    private volatile long reloadedRequests;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // both guarded by lock; postings are null until the first load
+    private Postings postings;
+    private List<Consumer<Postings>> changesDuringReload;
+
+    @Autowired
+    public NewsSearchIndex(final NewsRepository newsRepository,
+                           final PlatformTransactionManager transactionManager,
+                           @Value("${service.news-index.enabled:true}") final boolean enabled) {
+        this(newsRepository, transactionManager, enabled, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "news-index-reload");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    NewsSearchIndex(final NewsRepository newsRepository,
+                    final PlatformTransactionManager transactionManager,
+                    final boolean enabled,
+                    final Executor reloadExecutor) {
+        this.newsRepository = newsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        // reload reads in a transaction of its own, never in one of a caller it happens to run in
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.reloadExecutor = reloadExecutor;
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void onContextRefreshed() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    /**
+     * Rebuilds the index from the news table. Changes committed while the table is read are replayed
+     * on the new index before it replaces the old one, which keeps answering in the meantime.
+     */
+    public synchronized void reload() {
+        long requests = reloadRequests.get();
+        lock.writeLock().lock();
+        try {
+            changesDuringReload = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Postings reloaded = new Postings();
+        try {
+            // from the primary, a lagging replica could still hold the rows before the change that asked for the reload
+            List<NewsSearchView> views = PrimaryReads.call(() ->
+                transactionTemplate.execute(status -> newsRepository.readAllSearchViews()));
+            for (NewsSearchView view : views) {
+                reloaded.add(view);
+            }
+        } catch (RuntimeException e) {
+            // the old index stays in place
+            lock.writeLock().lock();
+            try {
+                changesDuringReload = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            changesDuringReload.forEach(change -> change.accept(reloaded));
+            postings = reloaded;
+            changesDuringReload = null;
+            reloadedRequests = requests;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexAfterCommit(List<NewsSearchView> views) {
+        afterCommit(() -> apply(postings -> views.forEach(postings::add)));
+    }
+
+    public void removeAfterCommit(Long id) {
+        afterCommit(() -> apply(postings -> postings.remove(id)));
+    }
+
+    /**
+     * Tag and author renames or deletions change the postings of many news at once, so the index is rebuilt.
+     * The rebuild runs on its own thread, not on the committing request, and requests piling up while one is
+     * waiting are answered by that one. Searches go to the database until it is done.
+     */
+    public void reloadAfterCommit() {
+        afterCommit(this::scheduleReload);
+    }
+
+    private void scheduleReload() {
+        reloadRequests.incrementAndGet();
+        if (!reloadScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        reloadExecutor.execute(() -> {
+            // requests arriving from now on are not guaranteed to be seen by this reload, so they schedule another
+            reloadScheduled.set(false);
+            try {
+                reload();
+            } catch (RuntimeException e) {
+                LOGGER.warn("News search index reload failed, searches are answered by the database", e);
+            }
+        });
+    }
+
+    public Optional<Page<Long>> search(Pagination pagination, List<Sorting> sorting, List<SearchCriteria> searchCriteria) {
+        if (pagination.cursor() != null || searchCriteria == null || searchCriteria.isEmpty()
+            || (sorting != null && !sorting.stream().allMatch(sort -> SORTING_FIELDS.contains(sort.field())))) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            if (postings == null || reloadedRequests != reloadRequests.get()) {
+                return Optional.empty();
+            }
+            Roaring64NavigableMap matches = null;
+            List<String> titleValues = new ArrayList<>();
+            for (SearchCriteria criteria : searchCriteria) {
+                String value = criteria.getValue().toString().trim();
+                switch (criteria.getField()) {
+                    case TAG_NAME_FIELD -> matches = intersect(matches, postings.byTagName.get(value));
+                    case AUTHOR_NAME_FIELD -> matches = intersect(matches, postings.byAuthorName.get(value));
+                    case TAG_ID_FIELD -> {
+                        try {
+                            matches = intersect(matches, postings.byTagId.get(Long.valueOf(value)));
+                        } catch (NumberFormatException e) {
+                            return Optional.empty();
+                        }
+                    }
+                    case TITLE_FIELD -> {
+                        titleValues.add(value);
+                        for (String gram : grams(value)) {
+                            matches = intersect(matches, postings.byTitleGram.get(gram));
+                        }
+                    }
+                    default -> {
+                        return Optional.empty();
+                    }
+                }
+            }
+            if (matches == null) {
+                // only titles shorter than a gram, which would need a scan of every title
+                return Optional.empty();
+            }
+            List<NewsSearchView> found = new ArrayList<>();
+            LongIterator ids = matches.getLongIterator();
+            while (ids.hasNext()) {
+                NewsSearchView view = postings.news.get(ids.next());
+                if (titleValues.stream().allMatch(value -> view.title() != null && view.title().contains(value))) {
+                    found.add(view);
+                }
+            }
+            return Optional.of(toPage(found, pagination, getKeysetSorting(sorting)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Page<Long> toPage(List<NewsSearchView> found, Pagination pagination, List<Sorting> keysetSorting) {
+        Comparator<NewsSearchView> order = null;
+        for (Sorting sort : keysetSorting) {
+            Comparator<NewsSearchView> fieldOrder = getComparator(sort.field());
+            if (SortOrder.DESC.equals(sort.order())) {
+                fieldOrder = fieldOrder.reversed();
+            }
+            order = order == null ? fieldOrder : order.thenComparing(fieldOrder);
+        }
+
+        // only the rows up to the end of the page, plus one telling whether there is a next page, are kept ordered
+        final int pageSize = pagination.pageSize();
+        final int offset = (pagination.page() - 1) * pageSize;
+        final int limit = offset + pageSize + 1;
+        PriorityQueue<NewsSearchView> top = new PriorityQueue<>(order.reversed());
+        for (NewsSearchView view : found) {
+            top.add(view);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<NewsSearchView> rows = new ArrayList<>(top);
+        rows.sort(order);
+        rows = rows.subList(Math.min(offset, rows.size()), rows.size());
+        boolean hasNextPage = rows.size() > pageSize;
+        if (hasNextPage) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        List<Long> ids = rows.stream().map(NewsSearchView::id).toList();
+        String nextCursor = hasNextPage ? createCursor(rows.get(rows.size() - 1), keysetSorting).encode() : null;
+        Integer pageCount = null;
+        if (!PageCountStrategy.HAS_NEXT.equals(pagination.countStrategy())) {
+            pageCount = found.size() % pageSize == 0 ? found.size() / pageSize : found.size() / pageSize + 1;
+        }
+        return new Page<>(ids, pagination.page(), pageCount, hasNextPage, nextCursor, pagination.countStrategy());
+    }
+
+    // the same total order, and so the same cursor, the repository uses for keyset pagination
+    private List<Sorting> getKeysetSorting(List<Sorting> sorting) {
+        List<Sorting> keysetSorting = new ArrayList<>();
+        if (sorting != null) {
+            keysetSorting.addAll(sorting);
+        }
+        if (keysetSorting.stream().noneMatch(sort -> sort.field().equals(ID_FIELD))) {
+            SortOrder idOrder = keysetSorting.isEmpty() ? SortOrder.ASC : keysetSorting.get(keysetSorting.size() - 1).order();
+            keysetSorting.add(new Sorting(ID_FIELD, idOrder));
+        }
+        return keysetSorting;
+    }
+
+    private Comparator<NewsSearchView> getComparator(String field) {
+        return switch (field) {
+            case CREATED_DATE_FIELD -> Comparator.comparing(NewsSearchView::createdDate, Comparator.nullsLast(Comparator.naturalOrder()));
+            case LAST_UPDATED_DATE_FIELD -> Comparator.comparing(NewsSearchView::lastUpdatedDate, Comparator.nullsLast(Comparator.naturalOrder()));
+            default -> Comparator.comparing(NewsSearchView::id);
+        };
+    }
+
+    private Cursor createCursor(NewsSearchView view, List<Sorting> keysetSorting) {
+        Map<String, String> keys = new LinkedHashMap<>();
+        for (Sorting sort : keysetSorting) {
+            Object value = switch (sort.field()) {
+                case CREATED_DATE_FIELD -> view.createdDate();
+                case LAST_UPDATED_DATE_FIELD -> view.lastUpdatedDate();
+                default -> view.id();
+            };
+            keys.put(sort.field(), value == null ? null : value.toString());
+        }
+        return new Cursor(keys);
+    }
+
+    private Roaring64NavigableMap intersect(Roaring64NavigableMap matches, Roaring64NavigableMap postingList) {
+        if (postingList == null) {
+            return new Roaring64NavigableMap();
+        }
+        if (matches == null) {
+            // posting lists belong to the index, the intersection is computed on a copy
+            Roaring64NavigableMap copy = new Roaring64NavigableMap();
+            copy.or(postingList);
+            return copy;
+        }
+        matches.and(postingList);
+        return matches;
+    }
+
+    private void afterCommit(Runnable change) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private void apply(Consumer<Postings> change) {
+        lock.writeLock().lock();
+        try {
+            if (postings != null) {
+                change.accept(postings);
+            }
+            if (changesDuringReload != null) {
+                changesDuringReload.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        if (text == null) {
+            return grams;
+        }
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static final class Postings {
+        private final Map<Long, NewsSearchView> news = new HashMap<>();
+        private final Map<String, Roaring64NavigableMap> byTitleGram = new HashMap<>();
+        private final Map<String, Roaring64NavigableMap> byTagName = new HashMap<>();
+        private final Map<Long, Roaring64NavigableMap> byTagId = new HashMap<>();
+        private final Map<String, Roaring64NavigableMap> byAuthorName = new HashMap<>();
+
+        // replaces the postings of a news indexed before, so that changes can be applied more than once
+        void add(NewsSearchView view) {
+            remove(view.id());
+            news.put(view.id(), view);
+            for (String gram : grams(view.title())) {
+                post(byTitleGram, gram, view.id());
+            }
+            for (TagView tag : view.tags()) {
+                post(byTagName, tag.name(), view.id());
+                post(byTagId, tag.id(), view.id());
+            }
+            if (view.authorName() != null) {
+                post(byAuthorName, view.authorName(), view.id());
+            }
+        }
+
+        void remove(Long id) {
+            NewsSearchView view = news.remove(id);
+            if (view == null) {
+                return;
+            }
+            for (String gram : grams(view.title())) {
+                unpost(byTitleGram, gram, id);
+            }
+            for (TagView tag : view.tags()) {
+                unpost(byTagName, tag.name(), id);
+                unpost(byTagId, tag.id(), id);
+            }
+            if (view.authorName() != null) {
+                unpost(byAuthorName, view.authorName(), id);
+            }
+        }
+
+        private static <K> void post(Map<K, Roaring64NavigableMap> postingLists, K key, long id) {
+            postingLists.computeIfAbsent(key, k -> new Roaring64NavigableMap()).addLong(id);
+        }
+
+        private static <K> void unpost(Map<K, Roaring64NavigableMap> postingLists, K key, long id) {
+            Roaring64NavigableMap postingList = postingLists.get(key);
+            if (postingList != null) {
+                postingList.removeLong(id);
+                if (postingList.isEmpty()) {
+                    postingLists.remove(key);
+                }
+            }
+        }
+    }
+}
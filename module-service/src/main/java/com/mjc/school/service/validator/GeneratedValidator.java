@@ -0,0 +1,27 @@
+package com.mjc.school.service.validator;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Validator of one DTO class generated while the service module compiles, see
+ * {@code com.mjc.school.validator.processor.ValidatorProcessor}. {@link ValidatorImpl} prefers it to
+ * reading the fields of the class.
+ */
+public interface GeneratedValidator<T> {
+    Class<T> getType();
+
+    /**
+     * Violations of the object added to the given ones, a list is only created with the first violation.
+     */
+    List<String> validate(T object, Annotation mainAnnotation, List<String> violations);
+
+    static List<String> addViolation(List<String> violations, String constraint, String value, String field) {
+        List<String> result = violations == null ? new ArrayList<>() : violations;
+        result.add(constraint);
+        result.add(value);
+        result.add(field);
+        return result;
+    }
+}
@@ -1,72 +1,131 @@
 package com.mjc.school.service.validator;
 
-import com.mjc.school.service.exceptions.ServiceErrorCode;
-import com.mjc.school.service.exceptions.ValidatorException;
 import com.mjc.school.service.validator.checker.ConstraintChecker;
 import com.mjc.school.service.validator.constraint.Constraint;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.*;
 import java.util.function.Function;
 
 import static java.util.stream.Collectors.toMap;
 
+/**
+ * Validates objects against the constraints of their fields, with the validator generated for their class
+ * when there is one. Otherwise the constrained fields of a class, their getters and checkers are looked up
+ * once, the first time an instance of the class is validated.
+ */
 @Component
 @SuppressWarnings({ "unchecked", "rawtypes" })
 public class ValidatorImpl implements Validator {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
 
     private final Map<Class<? extends Annotation>, ConstraintChecker> checkersMap;
+    private final Map<Class<?>, GeneratedValidator> generatedValidators;
+    private final ClassValue<ConstrainedField[]> plans = new ClassValue<>() {
+        @Override
+        protected ConstrainedField[] computeValue(Class<?> type) {
+            return plan(type);
+        }
+    };
 
-    @Autowired
     public ValidatorImpl(final List<ConstraintChecker> checkers) {
+        this(checkers, Collections.emptyList());
+    }
+
+    @Autowired
+    public ValidatorImpl(final List<ConstraintChecker> checkers, final List<GeneratedValidator<?>> generatedValidators) {
         this.checkersMap = checkers.stream().collect(toMap(ConstraintChecker::getType, Function.identity()));
+        this.generatedValidators = generatedValidators.stream().collect(toMap(GeneratedValidator::getType, Function.identity()));
     }
 
     public List<String> validate(final Object object, Annotation mainAnnotation) {
         if (object == null) {
             return Collections.emptyList();
         }
-        var violations = new ArrayList<String>();
-        for (var declaredField : object.getClass().getDeclaredFields()) {
-            validateField(violations, declaredField, object, mainAnnotation);
-        }
-        return violations;
+        List<String> violations = validateObject(null, object, mainAnnotation);
+        return violations == null ? Collections.emptyList() : violations;
     }
 
-    private void validateObject(List<String> violations, final Object object, Annotation mainAnnotation) {
-        if (object == null) {
-            return;
+    // the violations list is only created with the first violation
+    private List<String> validateObject(List<String> violations, final Object object, Annotation mainAnnotation) {
+        GeneratedValidator generatedValidator = generatedValidators.get(object.getClass());
+        if (generatedValidator != null) {
+            return generatedValidator.validate(object, mainAnnotation, violations);
         }
-        for (var declaredField : object.getClass().getDeclaredFields()) {
-            validateField(violations, declaredField, object, mainAnnotation);
+        ConstrainedField[] fields = plans.get(object.getClass());
+        for (int i = 0; i < fields.length; i++) {
+            ConstrainedField field = fields[i];
+            Object value = field.get(object);
+            FieldConstraint[] constraints = field.constraints();
+            for (int j = 0; j < constraints.length; j++) {
+                FieldConstraint constraint = constraints[j];
+                if (!constraint.checker().check(value, constraint.annotation(), mainAnnotation)) {
+                    if (violations == null) {
+                        violations = new ArrayList<>();
+                    }
+                    violations.add(constraint.annotation().annotationType().getSimpleName());
+                    violations.add(String.valueOf(value));
+                    violations.add(field.name());
+                }
+            }
+            if (value != null) {
+                violations = validateObject(violations, value, mainAnnotation);
+            }
         }
+        return violations;
     }
 
-    private void validateField(
-            final List<String> violations, final Field field, final Object instance, Annotation mainAnnotation) {
-        for (var declaredAnnotation : field.getDeclaredAnnotations()) {
-            var annotationType = declaredAnnotation.annotationType();
-            if (annotationType.isAnnotationPresent(Constraint.class)) {
-                try {
-                    if (field.trySetAccessible() && field.canAccess(instance)) {
-                        var value = field.get(instance);
-                        var checker = checkersMap.get(annotationType);
-                        if (checker != null && !checker.check(value, annotationType.cast(declaredAnnotation), mainAnnotation)) {
-//                            throw new ValidatorException(ServiceErrorCode.INVALID_SORT_AND_ORDER_FIELD_CONSTRAINT, new String[]{annotationType.getSimpleName(),value.toString(), field.getName()});
-                            //change this to throwing exception. and change method's return type to void??
-                            violations.add(annotationType.getSimpleName());
-                            violations.add(value.toString());
-                            violations.add(field.getName());
-                        }
-                        validateObject(violations, value, mainAnnotation);
+    private ConstrainedField[] plan(Class<?> type) {
+        List<ConstrainedField> fields = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            List<FieldConstraint> constraints = new ArrayList<>();
+            boolean constrained = false;
+            for (Annotation annotation : field.getDeclaredAnnotations()) {
+                if (annotation.annotationType().isAnnotationPresent(Constraint.class)) {
+                    constrained = true;
+                    ConstraintChecker checker = checkersMap.get(annotation.annotationType());
+                    if (checker != null) {
+                        constraints.add(new FieldConstraint(annotation, checker));
                     }
-                } catch (IllegalAccessException e) {
-                    e.printStackTrace();
                 }
             }
+            if (!constrained) {
+                continue;
+            }
+            try {
+                MethodHandle getter = MethodHandles.privateLookupIn(type, MethodHandles.lookup())
+                    .unreflectGetter(field)
+                    .asType(GETTER_TYPE);
+                fields.add(new ConstrainedField(field.getName(), getter, constraints.toArray(new FieldConstraint[0])));
+            } catch (IllegalAccessException e) {
+                // a field that cannot be read is not validated
+            }
         }
+        return fields.toArray(new ConstrainedField[0]);
+    }
+
+    private record ConstrainedField(String name, MethodHandle getter, FieldConstraint[] constraints) {
+        Object get(Object instance) {
+            try {
+                return (Object) getter.invokeExact(instance);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private record FieldConstraint(Annotation annotation, ConstraintChecker checker) {
     }
 }
@@ -0,0 +1,21 @@
+package com.mjc.school.service.validator.checker;
+
+import com.mjc.school.repository.pagination.PageCountStrategy;
+import com.mjc.school.service.validator.constraint.CountStrategy;
+import org.springframework.stereotype.Component;
+
+import java.lang.annotation.Annotation;
+
+@Component
+public class CountStrategyChecker implements ConstraintChecker<CountStrategy> {
+
+    @Override
+    public boolean check(Object value, CountStrategy constraint, Annotation mainAnnotation) {
+        return value == null || PageCountStrategy.isStrategyExisted(value.toString().trim());
+    }
+
+    @Override
+    public Class<CountStrategy> getType() {
+        return CountStrategy.class;
+    }
+}
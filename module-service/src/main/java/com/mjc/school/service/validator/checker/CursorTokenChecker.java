@@ -0,0 +1,29 @@
+package com.mjc.school.service.validator.checker;
+
+import com.mjc.school.repository.pagination.Cursor;
+import com.mjc.school.service.validator.constraint.CursorToken;
+import org.springframework.stereotype.Component;
+
+import java.lang.annotation.Annotation;
+
+@Component
+public class CursorTokenChecker implements ConstraintChecker<CursorToken> {
+
+    @Override
+    public boolean check(Object value, CursorToken constraint, Annotation mainAnnotation) {
+        if (value == null) {
+            return true;
+        }
+        try {
+            Cursor.decode(value.toString());
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public Class<CursorToken> getType() {
+        return CursorToken.class;
+    }
+}
@@ -0,0 +1,45 @@
+package com.mjc.school.service.validator.checker;
+
+import com.mjc.school.service.validator.ValidFields;
+import com.mjc.school.service.validator.constraint.EmbedFields;
+import org.springframework.stereotype.Component;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+
+@Component
+public class EmbedFieldsChecker implements ConstraintChecker<EmbedFields> {
+    @Override
+    public boolean check(Object value, EmbedFields constraint, Annotation mainAnnotation) {
+        if (value == null) {
+            return true;
+        }
+        String[] validFields = null;
+        if (mainAnnotation instanceof ValidFields validFieldsAnnotation) {
+            validFields = validFieldsAnnotation.fields();
+        }
+        for (String association : (List<String>) value) {
+            if (!isFieldValid(association, validFields)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isFieldValid(String field, String[] validFields) {
+        if (validFields == null) {
+            return false;
+        }
+        for (String validField : validFields) {
+            if (validField.equalsIgnoreCase(field.trim())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Class<EmbedFields> getType() {
+        return EmbedFields.class;
+    }
+}
@@ -0,0 +1,71 @@
+package com.mjc.school.service.aspect;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mjc.school.repository.routing.PrimaryReads;
+import com.mjc.school.repository.routing.ReplicaRoutingDataSource;
+import com.mjc.school.service.coalescing.Coalesced;
+import com.mjc.school.service.coalescing.RequestCoalescer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+class CoalescingAspectTest {
+    private final RequestCoalescer requestCoalescer = new RequestCoalescer(new ObjectMapper());
+    private final ReplicaRoutingDataSource routingDataSource = Mockito.mock(ReplicaRoutingDataSource.class);
+
+    @Test
+    void coalesce_readsFromReplica_goesThroughCoalescer_Test() throws SQLException {
+        Reader reader = reader(dataSource());
+
+        Assertions.assertEquals("1", reader.read(1L));
+
+        Assertions.assertEquals(1, requestCoalescer.readStatistics().get(0).callCount());
+    }
+
+    @Test
+    void coalesce_clientReadingOwnWrites_isNotCoalesced_Test() throws SQLException {
+        Mockito.when(routingDataSource.readsFromPrimary()).thenReturn(true);
+        Reader reader = reader(dataSource());
+
+        Assertions.assertEquals("1", reader.read(1L));
+
+        Assertions.assertTrue(requestCoalescer.readStatistics().isEmpty());
+    }
+
+    @Test
+    void coalesce_insidePrimaryReads_isNotCoalesced_Test() throws SQLException {
+        Reader reader = reader(dataSource());
+
+        Assertions.assertEquals("1", PrimaryReads.call(() -> reader.read(1L)));
+
+        Assertions.assertTrue(requestCoalescer.readStatistics().isEmpty());
+    }
+
+    private Reader reader(DataSource dataSource) {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<DataSource> dataSourceProvider = Mockito.mock(ObjectProvider.class);
+        Mockito.when(dataSourceProvider.getIfAvailable()).thenReturn(dataSource);
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new Reader());
+        proxyFactory.addAspect(new CoalescingAspect(requestCoalescer, dataSourceProvider));
+        return proxyFactory.getProxy();
+    }
+
+    private DataSource dataSource() throws SQLException {
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        Mockito.when(dataSource.isWrapperFor(ReplicaRoutingDataSource.class)).thenReturn(true);
+        Mockito.when(dataSource.unwrap(ReplicaRoutingDataSource.class)).thenReturn(routingDataSource);
+        return dataSource;
+    }
+
+    static class Reader {
+        @Coalesced
+        public String read(Long id) {
+            return String.valueOf(id);
+        }
+    }
+}
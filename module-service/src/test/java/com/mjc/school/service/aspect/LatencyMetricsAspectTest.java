@@ -0,0 +1,37 @@
+package com.mjc.school.service.aspect;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mjc.school.service.CoalescingStatisticsService;
+import com.mjc.school.service.coalescing.RequestCoalescer;
+import com.mjc.school.service.impl.CoalescingStatisticsServiceImpl;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+class LatencyMetricsAspectTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void timeService_recordsLatencyPerMethod_Test() {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(
+            new CoalescingStatisticsServiceImpl(new RequestCoalescer(new ObjectMapper())));
+        proxyFactory.addAspect(new LatencyMetricsAspect(meterRegistry));
+        CoalescingStatisticsService service = proxyFactory.getProxy();
+
+        service.readAll();
+        service.readAll();
+
+        Timer latency = meterRegistry.get(LatencyMetricsAspect.LATENCY_METRIC)
+            .tag("layer", "service")
+            .tag("method", "CoalescingStatisticsServiceImpl.readAll")
+            .timer();
+        Assertions.assertEquals(2, latency.count());
+        Gauge inFlight = meterRegistry.get(LatencyMetricsAspect.IN_FLIGHT_METRIC)
+            .tag("method", "CoalescingStatisticsServiceImpl.readAll")
+            .gauge();
+        Assertions.assertEquals(0, inFlight.value());
+    }
+}
@@ -0,0 +1,109 @@
+package com.mjc.school.service.coalescing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mjc.school.service.dto.NewsDtoResponse;
+import com.mjc.school.service.exceptions.NotFoundException;
+import com.mjc.school.service.exceptions.ServiceErrorCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class RequestCoalescerTest {
+    private static final int CALLS = 4;
+
+    private final RequestCoalescer requestCoalescer = new RequestCoalescer(new ObjectMapper().findAndRegisterModules());
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_concurrentEqualCallsShareOneInvocation_Test() throws Exception {
+        AtomicInteger invocations = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        RequestCoalescer.Invocation invocation = () -> {
+            invocations.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+            return NewsDtoResponse.builder().id(1L).title("testTitle").tagDtos(new ArrayList<>()).build();
+        };
+
+        List<Future<Object>> results = submitAndRelease(invocation, release);
+
+        Assertions.assertEquals(1, invocations.get());
+        List<Object> responses = new ArrayList<>();
+        for (Future<Object> result : results) {
+            NewsDtoResponse response = (NewsDtoResponse) result.get(5, TimeUnit.SECONDS);
+            Assertions.assertEquals("testTitle", response.getTitle());
+            // every caller gets its own instance to add links to
+            Assertions.assertTrue(responses.stream().noneMatch(other -> other == response));
+            responses.add(response);
+        }
+        CoalescingStatistics statistics = requestCoalescer.readStatistics().get(0);
+        Assertions.assertEquals(CALLS, statistics.callCount());
+        Assertions.assertEquals(CALLS - 1, statistics.coalescedCount());
+    }
+
+    @Test
+    void execute_failureIsRethrownToEveryWaitingCall_Test() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RequestCoalescer.Invocation invocation = () -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw new NotFoundException(ServiceErrorCode.NEWS_ID_DOES_NOT_EXIST, new String[]{"1"});
+        };
+
+        for (Future<Object> result : submitAndRelease(invocation, release)) {
+            ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            Assertions.assertInstanceOf(NotFoundException.class, e.getCause());
+        }
+    }
+
+    @Test
+    void execute_sequentialCallsAreNotCoalesced_Test() throws Throwable {
+        AtomicInteger invocations = new AtomicInteger();
+
+        requestCoalescer.execute("readById", 1L, NewsDtoResponse.class, invocations::incrementAndGet);
+        requestCoalescer.execute("readById", 1L, NewsDtoResponse.class, invocations::incrementAndGet);
+
+        Assertions.assertEquals(2, invocations.get());
+        Assertions.assertEquals(0, requestCoalescer.readStatistics().get(0).coalescedCount());
+    }
+
+    private List<Future<Object>> submitAndRelease(RequestCoalescer.Invocation invocation, CountDownLatch release)
+        throws InterruptedException {
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < CALLS; i++) {
+            results.add(executor.submit(() -> {
+                try {
+                    return requestCoalescer.execute("readById", 1L, NewsDtoResponse.class, invocation);
+                } catch (Exception | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+        }
+        // the first call is released once all the others joined it
+        long deadline = System.currentTimeMillis() + 5000;
+        while (coalescedCount() < CALLS - 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+        return results;
+    }
+
+    private long coalescedCount() {
+        return requestCoalescer.readStatistics().stream().mapToLong(CoalescingStatistics::coalescedCount).sum();
+    }
+}
@@ -5,11 +5,14 @@ import com.mjc.school.repository.exception.EntityConflictRepositoryException;
 import com.mjc.school.repository.model.Author;
 import com.mjc.school.repository.pagination.Page;
 import com.mjc.school.repository.pagination.Pagination;
+import com.mjc.school.repository.query.AuthorView;
 import com.mjc.school.repository.query.AuthorWithNewsCount;
 import com.mjc.school.service.dto.*;
+import com.mjc.school.service.event.ChangeEventPublisher;
 import com.mjc.school.service.exceptions.NotFoundException;
 import com.mjc.school.service.exceptions.ResourceConflictServiceException;
 import com.mjc.school.service.mapper.AuthorMapper;
+import com.mjc.school.service.search.NewsSearchIndex;
 import com.tngtech.archunit.thirdparty.com.google.common.base.Optional;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -34,25 +37,29 @@ class AuthorServiceImplTest {
 
     @Mock
     private AuthorRepository authorRepository;
+    @Mock
+    private ChangeEventPublisher changeEventPublisher;
+    @Mock
+    private NewsSearchIndex newsSearchIndex;
 
     @Spy
     private AuthorMapper authorMapper = Mappers.getMapper(AuthorMapper.class);
 
     @Test
     void readAll_Test(){
-        List<Author>modelList = List.of(
-            new Author(1L, "testAuthor1", LocalDateTime.now(), LocalDateTime.now()),
-            new Author(5L, "testAuthor2", LocalDateTime.now(), LocalDateTime.now())
+        List<AuthorView> viewList = List.of(
+            new AuthorView(1L, "testAuthor1", LocalDateTime.now(), LocalDateTime.now()),
+            new AuthorView(5L, "testAuthor2", LocalDateTime.now(), LocalDateTime.now())
         );
-        Page<Author> page = new Page<>(modelList, 1, 1);
-        Mockito.when(authorRepository.readAll(any(Pagination.class), any(), any())).thenReturn(page);
+        Page<AuthorView> page = new Page<>(viewList, 1, 1);
+        Mockito.when(authorRepository.readAllViews(any(Pagination.class), any(), any())).thenReturn(page);
 
         PageDtoResponse<AuthorDtoResponse> pageDtoResponse = authorService.readAll(
             new PaginationDtoRequest(1, 5), null, null);
 
         Assertions.assertEquals(page.entities().size(), pageDtoResponse.getModelDtoList().size());
-        Assertions.assertEquals(page.entities().get(0).getName(), pageDtoResponse.getModelDtoList().get(0).getName());
-        Assertions.assertEquals(page.entities().get(1).getName(), pageDtoResponse.getModelDtoList().get(1).getName());
+        Assertions.assertEquals(page.entities().get(0).name(), pageDtoResponse.getModelDtoList().get(0).getName());
+        Assertions.assertEquals(page.entities().get(1).name(), pageDtoResponse.getModelDtoList().get(1).getName());
     }
 
     @Test
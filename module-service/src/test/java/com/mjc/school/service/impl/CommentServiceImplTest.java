@@ -8,6 +8,7 @@ import com.mjc.school.repository.model.News;
 import com.mjc.school.repository.pagination.Page;
 import com.mjc.school.repository.pagination.Pagination;
 import com.mjc.school.service.dto.*;
+import com.mjc.school.service.event.ChangeEventPublisher;
 import com.mjc.school.service.exceptions.NotFoundException;
 import com.mjc.school.service.exceptions.ResourceConflictServiceException;
 import com.mjc.school.service.mapper.CommentMapper;
@@ -36,6 +37,8 @@ class CommentServiceImplTest {
 
     @Mock
     private CommentRepository commentRepository;
+    @Mock
+    private ChangeEventPublisher changeEventPublisher;
 
     @Mock
     private NewsRepository newsRepository;
@@ -0,0 +1,131 @@
+package com.mjc.school.service.impl;
+
+import com.mjc.school.repository.AuthorRepository;
+import com.mjc.school.repository.NewsRepository;
+import com.mjc.school.repository.TagRepository;
+import com.mjc.school.repository.exception.EntityConflictRepositoryException;
+import com.mjc.school.repository.model.Author;
+import com.mjc.school.repository.model.News;
+import com.mjc.school.repository.model.Tag;
+import com.mjc.school.service.dto.NewsBatchDtoResponse;
+import com.mjc.school.service.dto.NewsBatchItemDtoResponse;
+import com.mjc.school.service.dto.NewsDtoCreateRequest;
+import com.mjc.school.service.exceptions.ServiceErrorCode;
+import com.mjc.school.service.mapper.NewsMapper;
+import com.mjc.school.service.search.NewsSearchIndex;
+import com.mjc.school.service.validator.Validator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+
+@ExtendWith(MockitoExtension.class)
+class NewsBatchServiceImplTest {
+    private NewsBatchServiceImpl newsBatchService;
+    @Mock
+    private NewsRepository newsRepository;
+    @Mock
+    private AuthorRepository authorRepository;
+    @Mock
+    private TagRepository tagRepository;
+    @Mock
+    private Validator validator;
+    @Mock
+    private NewsSearchIndex newsSearchIndex;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final NewsMapper newsMapper = Mappers.getMapper(NewsMapper.class);
+
+    @BeforeEach
+    void setUp() {
+        newsBatchService = new NewsBatchServiceImpl(newsRepository, authorRepository, tagRepository,
+            newsMapper, validator, newsSearchIndex, transactionManager, 2);
+    }
+
+    @Test
+    void createAll_reportsEveryItemInOrder_Test() throws NoSuchMethodException {
+        NewsDtoCreateRequest invalidRequest = new NewsDtoCreateRequest("In", "testContent", null, null, null);
+        Mockito.when(validator.validate(any(), any())).thenReturn(List.of());
+        Mockito.when(validator.validate(invalidRequest, null)).thenReturn(List.of("Size", "In", "title"));
+        Mockito.when(authorRepository.ensureByNames(any())).thenReturn(
+            List.of(new Author(1L, "authorName", LocalDateTime.now(), LocalDateTime.now())));
+        Mockito.when(tagRepository.ensureByNames(any())).thenReturn(List.of(new Tag(1L, "tagName")));
+        Mockito.when(newsRepository.createAll(any())).thenAnswer(invocation -> {
+            List<News> newsList = invocation.getArgument(0);
+            for (News news : newsList) {
+                news.setId(news.getTitle().endsWith("1") ? 1L : 3L);
+            }
+            return newsList;
+        });
+
+        NewsBatchDtoResponse response = newsBatchService.createAll(List.of(
+            new NewsDtoCreateRequest("testTitle1", "testContent", null, "authorName", List.of("tagName")),
+            invalidRequest,
+            new NewsDtoCreateRequest("testTitle3", "testContent", null, null, null)
+        ).iterator());
+
+        Assertions.assertEquals(2, response.getCreatedCount());
+        Assertions.assertEquals(1, response.getFailedCount());
+        List<NewsBatchItemDtoResponse> items = response.getItems();
+        Assertions.assertEquals(NewsBatchItemDtoResponse.Status.CREATED, items.get(0).getStatus());
+        Assertions.assertEquals(1L, items.get(0).getId());
+        Assertions.assertEquals(NewsBatchItemDtoResponse.Status.FAILED, items.get(1).getStatus());
+        Assertions.assertEquals(1, items.get(1).getIndex());
+        Assertions.assertEquals(3L, items.get(2).getId());
+        // the invalid item never enters a chunk, so both valid ones fill a single chunk of two
+        Mockito.verify(newsRepository, Mockito.times(1)).createAll(any());
+    }
+
+    @Test
+    void createAll_withConflict_failsWholeChunk_Test() throws NoSuchMethodException {
+        Mockito.when(validator.validate(any(), any())).thenReturn(List.of());
+        Mockito.when(newsRepository.createAll(any())).thenThrow(new EntityConflictRepositoryException(""));
+
+        NewsBatchDtoResponse response = newsBatchService.createAll(List.of(
+            new NewsDtoCreateRequest("testTitle1", "testContent", null, null, null),
+            new NewsDtoCreateRequest("testTitle2", "testContent", null, null, null)
+        ).iterator());
+
+        Assertions.assertEquals(0, response.getCreatedCount());
+        Assertions.assertEquals(2, response.getFailedCount());
+        Mockito.verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void createAll_withDatabaseFailure_failsOnlyThatChunk_Test() throws NoSuchMethodException {
+        Mockito.when(validator.validate(any(), any())).thenReturn(List.of());
+        Mockito.when(newsRepository.createAll(any()))
+            .thenThrow(new DataIntegrityViolationException("value too long for type character varying(30)"))
+            .thenAnswer(invocation -> {
+                List<News> newsList = invocation.getArgument(0);
+                newsList.forEach(news -> news.setId(3L));
+                return newsList;
+            });
+
+        NewsBatchDtoResponse response = newsBatchService.createAll(List.of(
+            new NewsDtoCreateRequest("testTitle1", "testContent", null, null, null),
+            new NewsDtoCreateRequest("testTitle2", "testContent", null, null, null),
+            new NewsDtoCreateRequest("testTitle3", "testContent", null, null, null)
+        ).iterator());
+
+        Assertions.assertEquals(1, response.getCreatedCount());
+        Assertions.assertEquals(2, response.getFailedCount());
+        List<NewsBatchItemDtoResponse> items = response.getItems();
+        Assertions.assertEquals(ServiceErrorCode.NEWS_BATCH_CHUNK_FAILED.getErrorCode(), items.get(0).getErrorCode());
+        Assertions.assertEquals(ServiceErrorCode.NEWS_BATCH_CHUNK_FAILED.getErrorCode(), items.get(1).getErrorCode());
+        Assertions.assertEquals(NewsBatchItemDtoResponse.Status.CREATED, items.get(2).getStatus());
+        Mockito.verify(transactionManager).rollback(any());
+    }
+}
@@ -9,7 +9,12 @@ import com.mjc.school.repository.model.Author;
 import com.mjc.school.repository.model.News;
 import com.mjc.school.repository.pagination.Page;
 import com.mjc.school.repository.pagination.Pagination;
+import com.mjc.school.repository.query.CommentView;
+import com.mjc.school.repository.query.NewsAssociation;
+import com.mjc.school.repository.query.NewsView;
+import com.mjc.school.repository.query.VersionView;
 import com.mjc.school.service.dto.*;
+import com.mjc.school.service.event.ChangeEventPublisher;
 import com.mjc.school.service.exceptions.NotFoundException;
 import com.mjc.school.service.exceptions.ResourceConflictServiceException;
 import com.mjc.school.service.filter.NewsSearchFilterMapper;
@@ -17,6 +22,7 @@ import com.mjc.school.service.mapper.AuthorMapper;
 import com.mjc.school.service.mapper.CommentMapper;
 import com.mjc.school.service.mapper.NewsMapper;
 import com.mjc.school.service.mapper.TagMapper;
+import com.mjc.school.service.search.NewsSearchIndex;
 import com.mjc.school.service.sort.NewsSortingMapper;
 import com.tngtech.archunit.thirdparty.com.google.common.base.Optional;
 import org.junit.jupiter.api.Assertions;
@@ -31,9 +37,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 
 @ExtendWith(MockitoExtension.class)
 class NewsServiceImplTest {
@@ -42,10 +51,14 @@ class NewsServiceImplTest {
     @Mock
     private NewsRepository newsRepository;
     @Mock
+    private ChangeEventPublisher changeEventPublisher;
+    @Mock
     private NewsSortingMapper newsSortingMapper;
     @Mock
     private NewsSearchFilterMapper newsSearchFilterMapper;
     @Mock
+    private NewsSearchIndex newsSearchIndex;
+    @Mock
     private AuthorRepository authorRepository;
     @Mock
     private TagRepository tagRepository;
@@ -65,19 +78,31 @@ class NewsServiceImplTest {
 
     @Test
     void readAll_Test() {
-        List<News> modelList = List.of(
-            new News(1L, "testTitle1", "testContent1", LocalDateTime.now(), LocalDateTime.now(), null, new ArrayList<>(), new ArrayList<>()),
-            new News(2L, "testTitle2", "testContent2", LocalDateTime.now(), LocalDateTime.now(), null, new ArrayList<>(), new ArrayList<>())
+        List<NewsView> viewList = List.of(
+            new NewsView(1L, "testTitle1", "testContent1", LocalDateTime.now(), LocalDateTime.now(), null, new ArrayList<>(), new ArrayList<>(), null),
+            new NewsView(2L, "testTitle2", "testContent2", LocalDateTime.now(), LocalDateTime.now(), null, new ArrayList<>(), new ArrayList<>(), null)
         );
-        Page<News> page = new Page<>(modelList, 1, 1);
-        Mockito.when(newsRepository.readAll(any(Pagination.class), any(), any())).thenReturn(page);
+        Page<NewsView> page = new Page<>(viewList, 1, 1);
+        Mockito.when(newsRepository.readAllViews(any(Pagination.class), any(), any(), any())).thenReturn(page);
 
         PageDtoResponse<NewsDtoResponse> pageDtoResponse = newsService.readAll(
             new PaginationDtoRequest(1, 5), null, null);
 
         Assertions.assertEquals(page.entities().size(), pageDtoResponse.getModelDtoList().size());
-        Assertions.assertEquals(page.entities().get(0).getContent(), pageDtoResponse.getModelDtoList().get(0).getContent());
-        Assertions.assertEquals(page.entities().get(1).getContent(), pageDtoResponse.getModelDtoList().get(1).getContent());
+        Assertions.assertEquals(page.entities().get(0).content(), pageDtoResponse.getModelDtoList().get(0).getContent());
+        Assertions.assertEquals(page.entities().get(1).content(), pageDtoResponse.getModelDtoList().get(1).getContent());
+    }
+
+    @Test
+    void readAll_withEmbedWithoutContent_readsOnlyEmbeddedAssociations_Test() {
+        Page<NewsView> page = new Page<>(new ArrayList<>(), 1, 1);
+        Mockito.when(newsRepository.readAllViews(any(Pagination.class), any(), any(), eq(EnumSet.of(NewsAssociation.TAGS))))
+            .thenReturn(page);
+
+        PageDtoResponse<NewsDtoResponse> pageDtoResponse = newsService.readAll(
+            new PaginationDtoRequest(1, 5), null, null, new EmbedDtoRequest(List.of("author", "tags"), true));
+
+        Assertions.assertTrue(pageDtoResponse.getModelDtoList().isEmpty());
     }
 
     @Test
@@ -85,13 +110,29 @@ class NewsServiceImplTest {
         long validId = 5L;
         String validContent = "testContent";
         String validTitle = "testTitle";
-        News model = new News(validId,validTitle, validContent, LocalDateTime.now(), LocalDateTime.now(), null, new ArrayList<>(), new ArrayList<>());
-        Optional<News> modeloptional = Optional.of(model);
-        Mockito.when(newsRepository.readById(validId)).thenReturn(modeloptional.toJavaUtil());
+        NewsView view = new NewsView(validId, validTitle, validContent, LocalDateTime.now(), LocalDateTime.now(), null,
+            new ArrayList<>(), List.of(new CommentView(7L, "testComment", LocalDateTime.now(), LocalDateTime.now())), 12L);
+        Mockito.when(newsRepository.readViewsByIds(List.of(validId))).thenReturn(List.of(view));
         NewsDtoResponse dtoResponse = newsService.readById(validId);
         Assertions.assertEquals(validId, dtoResponse.getId());
         Assertions.assertEquals(validContent, dtoResponse.getContent());
         Assertions.assertEquals(validTitle, dtoResponse.getTitle());
+        Assertions.assertEquals(1, dtoResponse.getCommentForNewsDtos().size());
+        Assertions.assertEquals(12L, dtoResponse.getCommentCount());
+    }
+
+    @Test
+    void readById_withEmbed_readsOnlyEmbeddedAssociations_Test() {
+        long validId = 5L;
+        NewsView view = new NewsView(validId, "testTitle", "testContent", LocalDateTime.now(), LocalDateTime.now(), null,
+            null, null, 0L);
+        Mockito.when(newsRepository.readViewsByIds(List.of(validId), EnumSet.of(NewsAssociation.COMMENTS, NewsAssociation.CONTENT)))
+            .thenReturn(List.of(view));
+
+        NewsDtoResponse dtoResponse = newsService.readById(validId, new EmbedDtoRequest(List.of("comments")));
+
+        Assertions.assertEquals(validId, dtoResponse.getId());
+        Mockito.verify(newsRepository, Mockito.never()).readViewsByIds(List.of(validId));
     }
 
     @Test
@@ -100,16 +141,51 @@ class NewsServiceImplTest {
         Assertions.assertThrows(NotFoundException.class, () -> newsService.readById(invalidId));
     }
 
+    @Test
+    void readVersionById_withValidId_Test() {
+        long validId = 5L;
+        LocalDateTime lastModified = LocalDateTime.now();
+        Optional<VersionView> versionOptional = Optional.of(new VersionView(lastModified, "testFingerprint"));
+        Mockito.when(newsRepository.readVersionById(validId)).thenReturn(versionOptional.toJavaUtil());
+        VersionDtoResponse dtoResponse = newsService.readVersionById(validId);
+        Assertions.assertEquals(lastModified, dtoResponse.getLastModified());
+        Assertions.assertEquals("testFingerprint", dtoResponse.getFingerprint());
+    }
+
+    @Test
+    void readVersionById_withInvalidId_throwNotFoundException_Test() {
+        long invalidId = 999L;
+        Assertions.assertThrows(NotFoundException.class, () -> newsService.readVersionById(invalidId));
+    }
+
+    @Test
+    void exportAll_handsOverMappedChunks_Test() {
+        Mockito.doAnswer(invocation -> {
+            Consumer<List<NewsView>> chunkConsumer = invocation.getArgument(0);
+            chunkConsumer.accept(List.of(
+                new NewsView(1L, "testTitle1", "testContent1", LocalDateTime.now(), LocalDateTime.now(), null, new ArrayList<>(), new ArrayList<>(), null)));
+            chunkConsumer.accept(List.of(
+                new NewsView(2L, "testTitle2", "testContent2", LocalDateTime.now(), LocalDateTime.now(), null, new ArrayList<>(), new ArrayList<>(), null)));
+            return null;
+        }).when(newsRepository).readAllViewsInChunks(any());
+        List<List<NewsDtoResponse>> chunks = new ArrayList<>();
+        newsService.exportAll(chunks::add);
+        Assertions.assertEquals(2, chunks.size());
+        Assertions.assertEquals("testTitle1", chunks.get(0).get(0).getTitle());
+        Assertions.assertEquals(2L, chunks.get(1).get(0).getId());
+    }
+
     @Test
     void create_withValidData_Test() {
         long validId = 5L;
         String validTitle = "testTitle";
         String validContent = "testContent";
-        Optional<Author> modelOptional = Optional.of(new Author(1L, "authorName", LocalDateTime.now(), LocalDateTime.now()));
+        Author author = new Author(1L, "authorName", LocalDateTime.now(), LocalDateTime.now());
         NewsDtoCreateRequest dtoRequest = new NewsDtoCreateRequest(validId, validTitle, validContent, null, "authorName", null);
-        News model = new News(validId, validTitle, validContent, LocalDateTime.now(), LocalDateTime.now(), new Author(1L, "authorName", LocalDateTime.now(), LocalDateTime.now()), new ArrayList<>(), new ArrayList<>());
+        News model = new News(validId, validTitle, validContent, LocalDateTime.now(), LocalDateTime.now(), author, new ArrayList<>(), new ArrayList<>());
         Mockito.when(newsRepository.create(any())).thenReturn(model);
-        Mockito.when(authorRepository.readByName(any())).thenReturn(modelOptional.toJavaUtil());
+        Mockito.when(newsRepository.readViewsByIds(List.of(validId))).thenReturn(List.of(view(validId, validTitle, validContent)));
+        Mockito.when(authorRepository.ensureByNames(any())).thenReturn(List.of(author));
         NewsDtoResponse dtoResponse = newsService.create(dtoRequest);
         Assertions.assertEquals(validId, dtoResponse.getId());
         Assertions.assertEquals(validContent, dtoResponse.getContent());
@@ -121,9 +197,7 @@ class NewsServiceImplTest {
         long validId = 5L;
         String validTitle = "testTitle";
         String validContent = "testContent";
-        Optional<Author> modelOptional = Optional.of(new Author(1L, "authorName", LocalDateTime.now(), LocalDateTime.now()));
         Mockito.when(newsRepository.create(any())).thenThrow(new EntityConflictRepositoryException(""));
-        Mockito.when(authorRepository.readByName(any())).thenReturn(modelOptional.toJavaUtil());
         Assertions.assertThrows(ResourceConflictServiceException.class, () -> newsService.create(
             new NewsDtoCreateRequest(validId, validTitle, validContent, null, null, null)));
     }
@@ -136,6 +210,7 @@ class NewsServiceImplTest {
         NewsDtoUpdateRequest dtoRequest = new NewsDtoUpdateRequest(validTitle, validContent,"authorName", new ArrayList<>(), new ArrayList<>());
         News model = new News(validId, validTitle, validContent, LocalDateTime.now(), LocalDateTime.now(), null, new ArrayList<>(), new ArrayList<>());
         Mockito.when(newsRepository.update(any())).thenReturn(model);
+        Mockito.when(newsRepository.readViewsByIds(List.of(validId))).thenReturn(List.of(view(validId, validTitle, validContent)));
         Mockito.when(newsRepository.existById(validId)).thenReturn(true);
         NewsDtoResponse dtoResponse = newsService.update(validId, dtoRequest);
         Assertions.assertEquals(validId, dtoResponse.getId());
@@ -164,4 +239,8 @@ class NewsServiceImplTest {
         long invalidId = 999L;
         Assertions.assertThrows(NotFoundException.class, () -> newsService.deleteById(invalidId));
     }
+
+    private static NewsView view(Long id, String title, String content) {
+        return new NewsView(id, title, content, LocalDateTime.now(), LocalDateTime.now(), null, new ArrayList<>(), new ArrayList<>(), 0L);
+    }
 }
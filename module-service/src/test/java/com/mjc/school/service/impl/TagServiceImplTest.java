@@ -3,13 +3,18 @@ package com.mjc.school.service.impl;
 import com.mjc.school.repository.NewsRepository;
 import com.mjc.school.repository.TagRepository;
 import com.mjc.school.repository.exception.EntityConflictRepositoryException;
+import com.mjc.school.repository.exception.InvalidCursorRepositoryException;
 import com.mjc.school.repository.model.Tag;
 import com.mjc.school.repository.pagination.Page;
 import com.mjc.school.repository.pagination.Pagination;
+import com.mjc.school.repository.query.TagView;
 import com.mjc.school.service.dto.*;
+import com.mjc.school.service.event.ChangeEventPublisher;
 import com.mjc.school.service.exceptions.NotFoundException;
 import com.mjc.school.service.exceptions.ResourceConflictServiceException;
+import com.mjc.school.service.exceptions.ValidatorException;
 import com.mjc.school.service.mapper.TagMapper;
+import com.mjc.school.service.search.NewsSearchIndex;
 import com.tngtech.archunit.thirdparty.com.google.common.base.Optional;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -34,28 +39,41 @@ class TagServiceImplTest {
 
     @Mock
     private TagRepository tagRepository;
+    @Mock
+    private ChangeEventPublisher changeEventPublisher;
 
     @Mock
     private NewsRepository newsRepository;
+    @Mock
+    private NewsSearchIndex newsSearchIndex;
 
     @Spy
     private TagMapper tagMapper = Mappers.getMapper(TagMapper.class);
 
     @Test
     void readAll_Test(){
-        List<Tag> modelList = List.of(
-            new Tag(1L, "testTag1"),
-            new Tag(5L, "testTag2")
+        List<TagView> viewList = List.of(
+            new TagView(1L, "testTag1"),
+            new TagView(5L, "testTag2")
         );
-        Page<Tag> page = new Page<>(modelList, 1, 1);
-        Mockito.when(tagRepository.readAll(any(Pagination.class), any(), any())).thenReturn(page);
+        Page<TagView> page = new Page<>(viewList, 1, 1);
+        Mockito.when(tagRepository.readAllViews(any(Pagination.class), any(), any())).thenReturn(page);
 
         PageDtoResponse<TagDtoResponse> pageDtoResponse = tagService.readAll(
             new PaginationDtoRequest(1, 5), null, null);
 
         Assertions.assertEquals(page.entities().size(), pageDtoResponse.getModelDtoList().size());
-        Assertions.assertEquals(page.entities().get(0).getName(), pageDtoResponse.getModelDtoList().get(0).getName());
-        Assertions.assertEquals(page.entities().get(1).getName(), pageDtoResponse.getModelDtoList().get(1).getName());
+        Assertions.assertEquals(page.entities().get(0).name(), pageDtoResponse.getModelDtoList().get(0).getName());
+        Assertions.assertEquals(page.entities().get(1).name(), pageDtoResponse.getModelDtoList().get(1).getName());
+    }
+
+    @Test
+    void readAll_withInvalidCursor_throwValidatorException_Test(){
+        Mockito.when(tagRepository.readAllViews(any(Pagination.class), any(), any()))
+            .thenThrow(new InvalidCursorRepositoryException("Pagination cursor does not match sorting [id]."));
+
+        Assertions.assertThrows(ValidatorException.class,
+            () -> tagService.readAll(new PaginationDtoRequest(1, 5, "aWQ9NDI", null), null, null));
     }
 
     @Test
@@ -0,0 +1,127 @@
+package com.mjc.school.service.search;
+
+import com.mjc.school.repository.NewsRepository;
+import com.mjc.school.repository.filter.SearchCriteria;
+import com.mjc.school.repository.pagination.Page;
+import com.mjc.school.repository.pagination.Pagination;
+import com.mjc.school.repository.query.NewsSearchView;
+import com.mjc.school.repository.query.TagView;
+import com.mjc.school.repository.routing.PrimaryReads;
+import com.mjc.school.repository.sorting.SortOrder;
+import com.mjc.school.repository.sorting.Sorting;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+class NewsSearchIndexTest {
+    private static final List<Sorting> CREATED_DATE_DESC = List.of(new Sorting("createdDate", SortOrder.DESC));
+
+    private NewsSearchIndex newsSearchIndex;
+    private final List<Runnable> reloadTasks = new ArrayList<>();
+    @Mock
+    private NewsRepository newsRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        TagView sport = new TagView(1L, "sport");
+        TagView politics = new TagView(2L, "politics");
+        Mockito.when(newsRepository.readAllSearchViews()).thenReturn(List.of(
+            new NewsSearchView(1L, "Football final tonight", now.minusDays(3), now, "authorA", new ArrayList<>(List.of(sport))),
+            new NewsSearchView(2L, "Final vote in parliament", now.minusDays(2), now, "authorB", new ArrayList<>(List.of(politics))),
+            new NewsSearchView(3L, "Tennis final", now.minusDays(1), now, "authorA", new ArrayList<>(List.of(sport, politics)))));
+        newsSearchIndex = new NewsSearchIndex(newsRepository, transactionManager, true, reloadTasks::add);
+        newsSearchIndex.reload();
+    }
+
+    @Test
+    void search_intersectsFiltersInSortingOrder_Test() {
+        Page<Long> page = newsSearchIndex.search(new Pagination(1, 5), CREATED_DATE_DESC, List.of(
+            new SearchCriteria("tags.name", "sport"),
+            new SearchCriteria("author.name", "authorA"),
+            new SearchCriteria("title", "final"))).orElseThrow();
+
+        Assertions.assertEquals(List.of(3L, 1L), page.entities());
+        Assertions.assertEquals(1, page.pageCount());
+        Assertions.assertFalse(page.hasNextPage());
+    }
+
+    @Test
+    void search_pagesWithCursorForNextPage_Test() {
+        Page<Long> page = newsSearchIndex.search(new Pagination(1, 1), CREATED_DATE_DESC,
+            List.of(new SearchCriteria("tags.id", "1"))).orElseThrow();
+
+        Assertions.assertEquals(List.of(3L), page.entities());
+        Assertions.assertEquals(2, page.pageCount());
+        Assertions.assertTrue(page.hasNextPage());
+        Assertions.assertNotNull(page.nextCursor());
+    }
+
+    @Test
+    void reload_readsFromPrimary_Test() {
+        List<Boolean> primaryReads = new ArrayList<>();
+        Mockito.when(newsRepository.readAllSearchViews()).thenAnswer(invocation -> {
+            primaryReads.add(PrimaryReads.isActive());
+            return List.of();
+        });
+
+        newsSearchIndex.reload();
+
+        Assertions.assertEquals(List.of(true), primaryReads);
+        Assertions.assertFalse(PrimaryReads.isActive());
+    }
+
+    @Test
+    void reloadAfterCommit_rebuildsInBackgroundAndFallsBackMeanwhile_Test() {
+        Mockito.when(newsRepository.readAllSearchViews()).thenReturn(List.of(
+            new NewsSearchView(1L, "Football final tonight", LocalDateTime.now(), LocalDateTime.now(), "authorA",
+                new ArrayList<>(List.of(new TagView(1L, "football"))))));
+        List<SearchCriteria> renamedTag = List.of(new SearchCriteria("tags.name", "football"));
+
+        newsSearchIndex.reloadAfterCommit();
+        newsSearchIndex.reloadAfterCommit();
+
+        Assertions.assertEquals(1, reloadTasks.size());
+        Assertions.assertEquals(Optional.empty(), newsSearchIndex.search(new Pagination(1, 5), CREATED_DATE_DESC, renamedTag));
+
+        reloadTasks.remove(0).run();
+
+        Assertions.assertEquals(List.of(1L),
+            newsSearchIndex.search(new Pagination(1, 5), CREATED_DATE_DESC, renamedTag).orElseThrow().entities());
+    }
+
+    @Test
+    void search_followsIncrementalChanges_Test() {
+        newsSearchIndex.removeAfterCommit(3L);
+        newsSearchIndex.indexAfterCommit(List.of(new NewsSearchView(4L, "Chess final", LocalDateTime.now(), LocalDateTime.now(),
+            "authorC", new ArrayList<>(List.of(new TagView(1L, "sport"))))));
+
+        Page<Long> page = newsSearchIndex.search(new Pagination(1, 5), CREATED_DATE_DESC,
+            List.of(new SearchCriteria("tags.name", "sport"))).orElseThrow();
+
+        Assertions.assertEquals(List.of(4L, 1L), page.entities());
+    }
+
+    @Test
+    void search_leavesUnsupportedRequestsToDatabase_Test() {
+        Assertions.assertEquals(Optional.empty(), newsSearchIndex.search(new Pagination(1, 5), CREATED_DATE_DESC,
+            List.of(new SearchCriteria("content", "final"))));
+        Assertions.assertEquals(Optional.empty(), newsSearchIndex.search(new Pagination(1, 5),
+            List.of(new Sorting("rank", SortOrder.DESC)), List.of(new SearchCriteria("tags.name", "sport"))));
+        Assertions.assertEquals(Optional.empty(), newsSearchIndex.search(new Pagination(1, 5), CREATED_DATE_DESC,
+            List.of(new SearchCriteria("title", "fi"))));
+    }
+}
@@ -0,0 +1,62 @@
+package com.mjc.school.service.validator;
+
+import com.mjc.school.service.dto.NewsDtoCreateRequest;
+import com.mjc.school.service.dto.NewsDtoCreateRequest_Validator;
+import com.mjc.school.service.validator.checker.ConstraintChecker;
+import com.mjc.school.service.validator.checker.MaxConstraintChecker;
+import com.mjc.school.service.validator.checker.MinConstraintChecker;
+import com.mjc.school.service.validator.checker.NotNullConstraintChecker;
+import com.mjc.school.service.validator.checker.SizeConstraintChecker;
+import com.mjc.school.service.validator.constraint.Min;
+import com.mjc.school.service.validator.constraint.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+class ValidatorImplTest {
+    private final ValidatorImpl validator = new ValidatorImpl(List.of(new NotNullConstraintChecker(), new MinConstraintChecker()));
+
+    @Test
+    void validate_withValidObject_returnsNoViolations_Test() {
+        List<String> violations = validator.validate(new Request("testName", 5, new Nested(1)), null);
+        Assertions.assertSame(Collections.emptyList(), violations);
+    }
+
+    @Test
+    void validate_reportsViolationsOfFieldsAndNestedObjects_Test() {
+        List<String> violations = validator.validate(new Request(null, 0, new Nested(-1)), null);
+        Assertions.assertEquals(List.of(
+            "NotNull", "null", "name",
+            "Min", "0", "count",
+            "Min", "-1", "value"), violations);
+    }
+
+    @Test
+    void validate_withNullNestedObject_skipsItsFields_Test() {
+        Assertions.assertEquals(List.of("NotNull", "null", "nested"), validator.validate(new Request("testName", 1, null), null));
+    }
+
+    @Test
+    void validate_generatedValidatorAgreesWithFieldPlans_Test() {
+        List<ConstraintChecker> checkers = List.of(new NotNullConstraintChecker(), new MinConstraintChecker(),
+            new MaxConstraintChecker(), new SizeConstraintChecker());
+        ValidatorImpl reflective = new ValidatorImpl(checkers);
+        ValidatorImpl generated = new ValidatorImpl(checkers, List.of(new NewsDtoCreateRequest_Validator()));
+        for (NewsDtoCreateRequest request : List.of(
+            new NewsDtoCreateRequest("testTitle", "testContent", null, "testAuthor", null),
+            new NewsDtoCreateRequest(null, "test", null, "ab", List.of("testTag")),
+            new NewsDtoCreateRequest("t".repeat(31), null, null, null, null))) {
+            Assertions.assertEquals(reflective.validate(request, null), generated.validate(request, null));
+        }
+        Assertions.assertEquals(List.of("NotNull", "null", "title", "Size", "test", "content", "Size", "ab", "authorName"),
+            generated.validate(new NewsDtoCreateRequest(null, "test", null, "ab", null), null));
+    }
+
+    private record Request(@NotNull String name, @Min(1) int count, @NotNull Nested nested) {
+    }
+
+    private record Nested(@Min(0) int value) {
+    }
+}
@@ -0,0 +1,360 @@
+package com.mjc.school.validator.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a {@code <Dto>_Validator} next to every DTO with constrained fields. {@code @Min}, {@code @Max},
+ * {@code @Size} and {@code @NotNull} are checked inline with the same rules as their checkers, constraints
+ * without attributes, such as {@code @FilterFields}, are handed to their checker beans.
+ * A DTO the generated code could not read or check the same way is left to the reflective validator.
+ */
+@SupportedAnnotationTypes(ValidatorProcessor.CONSTRAINT_PACKAGE + ".*")
+public class ValidatorProcessor extends AbstractProcessor {
+    static final String CONSTRAINT_PACKAGE = "com.mjc.school.service.validator.constraint";
+    static final String VALIDATOR_SUFFIX = "_Validator";
+    private static final String CONSTRAINT = CONSTRAINT_PACKAGE + ".Constraint";
+    private static final String MIN = CONSTRAINT_PACKAGE + ".Min";
+    private static final String MAX = CONSTRAINT_PACKAGE + ".Max";
+    private static final String SIZE = CONSTRAINT_PACKAGE + ".Size";
+    private static final String NOT_NULL = CONSTRAINT_PACKAGE + ".NotNull";
+    private static final String GENERATED_VALIDATOR = "com.mjc.school.service.validator.GeneratedValidator";
+    private static final String CONSTRAINT_CHECKER = "com.mjc.school.service.validator.checker.ConstraintChecker";
+    private static final String LOMBOK_GETTER = "lombok.Getter";
+
+    private final Set<String> processedTypes = new HashSet<>();
+    private Elements elements;
+    private Types types;
+    private Filer filer;
+    private Messager messager;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+        filer = processingEnv.getFiler();
+        messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> constrainedTypes = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            if (!isConstraint(annotation)) {
+                continue;
+            }
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.FIELD && element.getEnclosingElement() instanceof TypeElement type) {
+                    constrainedTypes.add(type);
+                }
+            }
+        }
+        for (TypeElement type : constrainedTypes) {
+            if (processedTypes.add(type.getQualifiedName().toString())) {
+                generate(type);
+            }
+        }
+        // the constraints stay visible to other processors
+        return false;
+    }
+
+    private void generate(TypeElement type) {
+        if (type.getNestingKind() != NestingKind.TOP_LEVEL || !type.getModifiers().contains(Modifier.PUBLIC)) {
+            skip(type, "it is not a public top level class");
+            return;
+        }
+        List<ConstrainedField> fields = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (field.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            List<AnnotationMirror> constraints = new ArrayList<>();
+            for (AnnotationMirror annotation : field.getAnnotationMirrors()) {
+                if (isConstraint((TypeElement) annotation.getAnnotationType().asElement())) {
+                    constraints.add(annotation);
+                }
+            }
+            if (constraints.isEmpty()) {
+                continue;
+            }
+            String accessor = accessor(type, field);
+            if (accessor == null) {
+                skip(type, "field " + field.getSimpleName() + " has no getter");
+                return;
+            }
+            if (!isLeaf(field.asType())) {
+                // the reflective validator also validates the fields of such a value
+                skip(type, "field " + field.getSimpleName() + " holds an object that may have constraints of its own");
+                return;
+            }
+            fields.add(new ConstrainedField(field, accessor, constraints));
+        }
+        Map<String, TypeElement> delegated = new LinkedHashMap<>();
+        for (ConstrainedField field : fields) {
+            for (AnnotationMirror constraint : field.constraints()) {
+                TypeElement annotationType = (TypeElement) constraint.getAnnotationType().asElement();
+                String name = annotationType.getQualifiedName().toString();
+                if (isInlined(name)) {
+                    continue;
+                }
+                if (!ElementFilter.methodsIn(annotationType.getEnclosedElements()).isEmpty()) {
+                    skip(type, "constraint " + name + " has attributes");
+                    return;
+                }
+                delegated.put(name, annotationType);
+            }
+        }
+        try {
+            write(type, fields, delegated);
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Could not write the validator of " + type + ": " + e.getMessage(), type);
+        }
+    }
+
+    private void write(TypeElement type, List<ConstrainedField> fields, Map<String, TypeElement> delegated) throws IOException {
+        String packageName = ((PackageElement) type.getEnclosingElement()).getQualifiedName().toString();
+        String typeName = type.getSimpleName().toString();
+        String validatorName = typeName + VALIDATOR_SUFFIX;
+        StringBuilder source = new StringBuilder();
+        source.append("package ").append(packageName).append(";\n\n");
+        source.append("@javax.annotation.processing.Generated(\"").append(ValidatorProcessor.class.getName()).append("\")\n");
+        source.append("@org.springframework.stereotype.Component\n");
+        source.append("public final class ").append(validatorName)
+            .append(" implements ").append(GENERATED_VALIDATOR).append('<').append(typeName).append("> {\n");
+        for (TypeElement annotationType : delegated.values()) {
+            String annotationName = annotationType.getQualifiedName().toString();
+            source.append("    private static final ").append(annotationName).append(' ').append(constantName(annotationType))
+                .append(" = new ").append(annotationName).append("() {\n")
+                .append("        @Override\n")
+                .append("        public Class<? extends java.lang.annotation.Annotation> annotationType() {\n")
+                .append("            return ").append(annotationName).append(".class;\n")
+                .append("        }\n")
+                .append("    };\n");
+        }
+        for (TypeElement annotationType : delegated.values()) {
+            source.append("    private final ").append(CONSTRAINT_CHECKER).append('<').append(annotationType.getQualifiedName())
+                .append("> ").append(checkerName(annotationType)).append(";\n");
+        }
+        source.append('\n');
+        source.append("    public ").append(validatorName).append('(');
+        int parameter = 0;
+        for (TypeElement annotationType : delegated.values()) {
+            source.append(parameter++ == 0 ? "" : ", ").append(CONSTRAINT_CHECKER).append('<')
+                .append(annotationType.getQualifiedName()).append("> ").append(checkerName(annotationType));
+        }
+        source.append(") {\n");
+        for (TypeElement annotationType : delegated.values()) {
+            source.append("        this.").append(checkerName(annotationType)).append(" = ").append(checkerName(annotationType)).append(";\n");
+        }
+        source.append("    }\n\n");
+        source.append("    @Override\n");
+        source.append("    public Class<").append(typeName).append("> getType() {\n");
+        source.append("        return ").append(typeName).append(".class;\n");
+        source.append("    }\n\n");
+        source.append("    @Override\n");
+        source.append("    public java.util.List<String> validate(").append(typeName)
+            .append(" object, java.lang.annotation.Annotation mainAnnotation, java.util.List<String> violations) {\n");
+        int check = 0;
+        for (ConstrainedField field : fields) {
+            String value = field.element().getSimpleName() + "Value";
+            source.append("        var ").append(value).append(" = object.").append(field.accessor()).append("();\n");
+            for (AnnotationMirror constraint : field.constraints()) {
+                TypeElement annotationType = (TypeElement) constraint.getAnnotationType().asElement();
+                String condition = violationCondition(field.element().asType(), value, constraint, annotationType, check++);
+                if (condition == null) {
+                    continue;
+                }
+                source.append("        if (").append(condition).append(") {\n")
+                    .append("            violations = ").append(GENERATED_VALIDATOR).append(".addViolation(violations, \"")
+                    .append(annotationType.getSimpleName()).append("\", String.valueOf(").append(value).append("), \"")
+                    .append(field.element().getSimpleName()).append("\");\n")
+                    .append("        }\n");
+            }
+        }
+        source.append("        return violations;\n");
+        source.append("    }\n");
+        source.append("}\n");
+        try (Writer writer = filer.createSourceFile(packageName + "." + validatorName, type).openWriter()) {
+            writer.write(source.toString());
+        }
+    }
+
+    // null when the constraint always holds for the type of the field
+    private String violationCondition(TypeMirror fieldType, String value, AnnotationMirror constraint, TypeElement annotationType, int check) {
+        String name = annotationType.getQualifiedName().toString();
+        boolean primitive = fieldType.getKind().isPrimitive();
+        boolean numeric = primitive && fieldType.getKind() != TypeKind.BOOLEAN && fieldType.getKind() != TypeKind.CHAR;
+        switch (name) {
+            case NOT_NULL:
+                return primitive ? null : value + " == null";
+            case MIN:
+            case MAX: {
+                String operator = MIN.equals(name) ? " < " : " > ";
+                String bound = longValue(constraint, "value") + "L";
+                if (numeric) {
+                    return "(long) " + value + operator + bound;
+                }
+                if (primitive || !mayBe(fieldType, Number.class)) {
+                    return null;
+                }
+                if (isA(fieldType, Number.class)) {
+                    return value + " != null && " + value + ".longValue()" + operator + bound;
+                }
+                String number = "number" + check;
+                return value + " instanceof Number " + number + " && " + number + ".longValue()" + operator + bound;
+            }
+            case SIZE: {
+                if (primitive || !mayBe(fieldType, CharSequence.class)) {
+                    return null;
+                }
+                long min = longValue(constraint, "min");
+                long max = longValue(constraint, "max");
+                if (min < 0 && max < 0) {
+                    return null;
+                }
+                // a pattern of a supertype of the field type does not compile, the field is used directly then
+                boolean sequenceField = isA(fieldType, CharSequence.class);
+                String sequence = sequenceField ? value : "sequence" + check;
+                List<String> bounds = new ArrayList<>();
+                if (min >= 0) {
+                    bounds.add(sequence + ".length() < " + min);
+                }
+                if (max >= 0) {
+                    bounds.add(sequence + ".length() > " + max);
+                }
+                return (sequenceField ? value + " != null" : value + " instanceof CharSequence " + sequence)
+                    + " && (" + String.join(" || ", bounds) + ")";
+            }
+            default:
+                return "!" + checkerName(annotationType) + ".check(" + value + ", " + constantName(annotationType) + ", mainAnnotation)";
+        }
+    }
+
+    private long longValue(AnnotationMirror annotation, String attribute) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+            : elements.getElementValuesWithDefaults(annotation).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(attribute)) {
+                return ((Number) entry.getValue().getValue()).longValue();
+            }
+        }
+        throw new IllegalStateException(annotation + " has no attribute " + attribute);
+    }
+
+    private String accessor(TypeElement type, VariableElement field) {
+        String name = field.getSimpleName().toString();
+        if (type.getKind() == ElementKind.RECORD) {
+            return name;
+        }
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        String getter = (field.asType().getKind() == TypeKind.BOOLEAN ? "is" : "get") + capitalized;
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (method.getSimpleName().contentEquals(getter) && method.getParameters().isEmpty()
+                && method.getModifiers().contains(Modifier.PUBLIC)) {
+                return getter;
+            }
+        }
+        // Lombok adds the getter while the sources compile, it may not be visible to this processor yet
+        return hasAnnotation(type, LOMBOK_GETTER) || hasAnnotation(field, LOMBOK_GETTER) ? getter : null;
+    }
+
+    // values of these types have no constrained fields the reflective validator would descend into
+    private boolean isLeaf(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return true;
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        Element element = ((DeclaredType) type).asElement();
+        PackageElement typePackage = elements.getPackageOf(element);
+        return typePackage.getQualifiedName().toString().startsWith("java.");
+    }
+
+    private boolean isA(TypeMirror type, Class<?> supertype) {
+        return types.isAssignable(type, elements.getTypeElement(supertype.getName()).asType());
+    }
+
+    // false when a value of the type can never be an instance of the given type
+    private boolean mayBe(TypeMirror type, Class<?> supertype) {
+        if (isA(type, supertype)) {
+            return true;
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        Element element = ((DeclaredType) type).asElement();
+        return !element.getModifiers().contains(Modifier.FINAL) && element.getKind() != ElementKind.RECORD
+            && element.getKind() != ElementKind.ENUM;
+    }
+
+    private boolean isConstraint(TypeElement annotationType) {
+        return hasAnnotation(annotationType, CONSTRAINT);
+    }
+
+    private static boolean isInlined(String annotationName) {
+        return MIN.equals(annotationName) || MAX.equals(annotationName)
+            || SIZE.equals(annotationName) || NOT_NULL.equals(annotationName);
+    }
+
+    private boolean hasAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (((TypeElement) types.asElement(annotation.getAnnotationType())).getQualifiedName().contentEquals(annotationName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String checkerName(TypeElement annotationType) {
+        String name = annotationType.getSimpleName().toString();
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1) + "Checker";
+    }
+
+    private static String constantName(TypeElement annotationType) {
+        return annotationType.getSimpleName().toString().replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase();
+    }
+
+    private void skip(TypeElement type, String reason) {
+        messager.printMessage(Diagnostic.Kind.NOTE, "No validator generated for " + type + ", " + reason, type);
+    }
+
+    private record ConstrainedField(VariableElement element, String accessor, List<AnnotationMirror> constraints) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.mjc.school.config;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.mjc.school.controller.conditional.ConditionalGetInterceptor;
+import com.mjc.school.controller.fields.SparseFieldsMixin;
+import com.mjc.school.controller.statistics.StatementBudgetInterceptor;
+import com.mjc.school.controller.statistics.StatementStatisticsFilter;
+import com.mjc.school.service.dto.AuthorDtoResponse;
+import com.mjc.school.service.dto.AuthorWithNewsCountDtoResponse;
+import com.mjc.school.service.dto.CommentDtoResponse;
+import com.mjc.school.service.dto.CommentForNewsDtoResponse;
+import com.mjc.school.service.dto.NewsDtoResponse;
+import com.mjc.school.service.dto.TagDtoResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfiguration implements WebMvcConfigurer {
+    private final StatementStatisticsFilter statementStatisticsFilter;
+
+    @Autowired
+    public WebConfiguration(final StatementStatisticsFilter statementStatisticsFilter) {
+        this.statementStatisticsFilter = statementStatisticsFilter;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConditionalGetInterceptor());
+        registry.addInterceptor(new StatementBudgetInterceptor(statementStatisticsFilter));
+    }
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsCustomizer() {
+        // mixed into the concrete DTOs, since the HAL module has its own mixin for RepresentationModel;
+        // everything is written unless a request asks for fields
+        return builder -> builder
+            .mixIn(NewsDtoResponse.class, SparseFieldsMixin.class)
+            .mixIn(AuthorDtoResponse.class, SparseFieldsMixin.class)
+            .mixIn(AuthorWithNewsCountDtoResponse.class, SparseFieldsMixin.class)
+            .mixIn(TagDtoResponse.class, SparseFieldsMixin.class)
+            .mixIn(CommentDtoResponse.class, SparseFieldsMixin.class)
+            .mixIn(CommentForNewsDtoResponse.class, SparseFieldsMixin.class)
+            .filters(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+}
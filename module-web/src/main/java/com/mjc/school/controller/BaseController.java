@@ -15,6 +15,8 @@ public interface BaseController<C, R, K, U> {
 
     PageDtoResponse<R> readAll(int page,
                                int pageSize,
+                               String cursor,
+                               String countStrategy,
                                List<String> sortByAndOrder,
                                List<String> filters);
 
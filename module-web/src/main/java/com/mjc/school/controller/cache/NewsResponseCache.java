@@ -0,0 +1,197 @@
+package com.mjc.school.controller.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mjc.school.repository.routing.PrimaryReads;
+import com.mjc.school.service.dto.NewsDtoResponse;
+import com.mjc.school.service.dto.TagDtoResponse;
+import com.mjc.school.service.dto.VersionDtoResponse;
+import com.mjc.school.service.event.AuthorChangedEvent;
+import com.mjc.school.service.event.NewsChangedEvent;
+import com.mjc.school.service.event.TagChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Fully built news responses, links included, by news id. Bounded by the total size of the responses
+ * serialized, least recently read evicted first. An entry is evicted when its news, one of its comments,
+ * one of its tags or its author changes; the cached responses are shared and must not be modified.
+ */
+@Component
+public class NewsResponseCache {
+    private final ObjectMapper objectMapper;
+    private final long maxWeight;
+    // all guarded by this
+    private final LinkedHashMap<Long, CachedResponse> responses = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Long, Set<Long>> newsIdsByTagId = new HashMap<>();
+    private final Map<Long, Set<Long>> newsIdsByAuthorId = new HashMap<>();
+    private long totalWeight;
+    // a change that happened while a response was loaded makes it stale, so it is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public NewsResponseCache(final ObjectMapper objectMapper,
+                             @Value("${web.news-response-cache.max-weight-bytes:16777216}") final long maxWeight) {
+        this.objectMapper = objectMapper;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * The cached response of the news, or the loaded one. Its version is loaded first, so that it is never
+     * newer than the response it is cached with. Both are read from the primary, a lagging replica would
+     * fill the cache with a stale response that no later change evicts.
+     */
+    public NewsDtoResponse getOrLoad(Long newsId, Supplier<VersionDtoResponse> versionLoader, Supplier<NewsDtoResponse> loader) {
+        synchronized (this) {
+            CachedResponse cached = responses.get(newsId);
+            if (cached != null) {
+                return cached.response();
+            }
+        }
+        long loadGeneration = generation.get();
+        VersionDtoResponse version = PrimaryReads.call(versionLoader);
+        NewsDtoResponse response = PrimaryReads.call(loader);
+        int weight = weigh(response);
+        if (weight <= maxWeight) {
+            synchronized (this) {
+                if (loadGeneration == generation.get()) {
+                    put(newsId, new CachedResponse(response, version, weight, getTagIds(response), getAuthorId(response)));
+                }
+            }
+        }
+        return response;
+    }
+
+    /**
+     * The cached response of the news, or null without loading it.
+     */
+    @Nullable
+    public synchronized NewsDtoResponse get(Long newsId) {
+        CachedResponse cached = responses.get(newsId);
+        return cached == null ? null : cached.response();
+    }
+
+    /**
+     * Version of a response this cache returned, or null when it is no longer cached.
+     */
+    @Nullable
+    public synchronized VersionDtoResponse versionOf(NewsDtoResponse response) {
+        CachedResponse cached = responses.get(response.getId());
+        return cached != null && cached.response() == response ? cached.version() : null;
+    }
+
+    @EventListener
+    public void onNewsChanged(NewsChangedEvent event) {
+        generation.incrementAndGet();
+        synchronized (this) {
+            remove(event.newsId());
+        }
+    }
+
+    @EventListener
+    public void onTagChanged(TagChangedEvent event) {
+        generation.incrementAndGet();
+        synchronized (this) {
+            Set<Long> newsIds = newsIdsByTagId.get(event.tagId());
+            if (newsIds != null) {
+                new ArrayList<>(newsIds).forEach(this::remove);
+            }
+        }
+    }
+
+    @EventListener
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        generation.incrementAndGet();
+        synchronized (this) {
+            Set<Long> newsIds = newsIdsByAuthorId.get(event.authorId());
+            if (newsIds != null) {
+                new ArrayList<>(newsIds).forEach(this::remove);
+            }
+        }
+    }
+
+    private void put(Long newsId, CachedResponse cached) {
+        remove(newsId);
+        responses.put(newsId, cached);
+        totalWeight += cached.weight();
+        for (Long tagId : cached.tagIds()) {
+            newsIdsByTagId.computeIfAbsent(tagId, id -> new HashSet<>()).add(newsId);
+        }
+        if (cached.authorId() != null) {
+            newsIdsByAuthorId.computeIfAbsent(cached.authorId(), id -> new HashSet<>()).add(newsId);
+        }
+        Iterator<Map.Entry<Long, CachedResponse>> leastRecentlyRead = responses.entrySet().iterator();
+        while (totalWeight > maxWeight && leastRecentlyRead.hasNext()) {
+            Map.Entry<Long, CachedResponse> evicted = leastRecentlyRead.next();
+            leastRecentlyRead.remove();
+            unlink(evicted.getKey(), evicted.getValue());
+        }
+    }
+
+    private void remove(Long newsId) {
+        unlink(newsId, responses.remove(newsId));
+    }
+
+    private void unlink(Long newsId, CachedResponse cached) {
+        if (cached == null) {
+            return;
+        }
+        totalWeight -= cached.weight();
+        for (Long tagId : cached.tagIds()) {
+            removeFrom(newsIdsByTagId, tagId, newsId);
+        }
+        if (cached.authorId() != null) {
+            removeFrom(newsIdsByAuthorId, cached.authorId(), newsId);
+        }
+    }
+
+    private static void removeFrom(Map<Long, Set<Long>> newsIdsByKey, Long key, Long newsId) {
+        Set<Long> newsIds = newsIdsByKey.get(key);
+        if (newsIds != null) {
+            newsIds.remove(newsId);
+            if (newsIds.isEmpty()) {
+                newsIdsByKey.remove(key);
+            }
+        }
+    }
+
+    private int weigh(NewsDtoResponse response) {
+        try {
+            return objectMapper.writeValueAsBytes(response).length;
+        } catch (JsonProcessingException e) {
+            // not cached
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    private static List<Long> getTagIds(NewsDtoResponse response) {
+        List<Long> tagIds = new ArrayList<>();
+        if (response.getTagDtos() != null) {
+            for (TagDtoResponse tag : response.getTagDtos()) {
+                tagIds.add(tag.getId());
+            }
+        }
+        return tagIds;
+    }
+
+    private static Long getAuthorId(NewsDtoResponse response) {
+        return response.getAuthorDto() == null ? null : response.getAuthorDto().getId();
+    }
+
+    private record CachedResponse(NewsDtoResponse response, VersionDtoResponse version, int weight, List<Long> tagIds, Long authorId) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.mjc.school.controller.conditional;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks a read by id of a {@link VersionedController}: a request whose If-None-Match or If-Modified-Since
+ * matches the current version is answered with 304 before the handler runs.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ConditionalGet {
+}
@@ -0,0 +1,57 @@
+package com.mjc.school.controller.conditional;
+
+import com.mjc.school.repository.routing.PrimaryReads;
+import com.mjc.school.service.dto.VersionDtoResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+
+/**
+ * Answers {@link ConditionalGet} reads with If-None-Match or If-Modified-Since from the version of the entity
+ * alone, so an unchanged entity is neither loaded nor mapped. Other reads do not look the version up, their
+ * ETag and Last-Modified headers are set by {@link ConditionalGetResponseAdvice}.
+ */
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+    private static final String ID_VARIABLE = "id";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)
+            || !handlerMethod.hasMethodAnnotation(ConditionalGet.class)
+            || !(handlerMethod.getBean() instanceof VersionedController controller)
+            || !(HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod()))
+            || (request.getHeader(HttpHeaders.IF_NONE_MATCH) == null && request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) == null)) {
+            return true;
+        }
+        Long id = readId(request);
+        if (id == null) {
+            return true;
+        }
+        // from the primary, a lagging replica would answer 304 to a client holding a newer copy than it has
+        VersionDtoResponse version = PrimaryReads.call(() -> controller.readVersionById(id));
+        if (version == null) {
+            return true;
+        }
+        // sets 304 when the client's version is current, and the headers of the full response otherwise
+        return !new ServletWebRequest(request, response).checkNotModified(
+            EntityTags.strong(id, version, EntityTags.representation(request)), EntityTags.toEpochMilli(version.getLastModified()));
+    }
+
+    @Nullable
+    static Long readId(HttpServletRequest request) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> uriVariables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (uriVariables == null || uriVariables.get(ID_VARIABLE) == null) {
+            return null;
+        }
+        return Long.valueOf(uriVariables.get(ID_VARIABLE));
+    }
+}
@@ -0,0 +1,63 @@
+package com.mjc.school.controller.conditional;
+
+import com.mjc.school.service.dto.VersionDtoResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Sets the ETag and Last-Modified headers of a full {@link ConditionalGet} response from the version its
+ * controller knows for it, for the requests {@link ConditionalGetInterceptor} did not look the version up for.
+ * Runs before {@code FieldsResponseAdvice} wraps the body.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ControllerAdvice
+public class ConditionalGetResponseAdvice implements ResponseBodyAdvice<Object> {
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return returnType.hasMethodAnnotation(ConditionalGet.class);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body,
+                                  MethodParameter returnType,
+                                  MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request,
+                                  ServerHttpResponse response) {
+        Object value = body instanceof MappingJacksonValue container ? container.getValue() : body;
+        if (value == null
+            || !(request instanceof ServletServerHttpRequest servletRequest)
+            || response.getHeaders().getETag() != null) {
+            return body;
+        }
+        HttpServletRequest servletHttpRequest = servletRequest.getServletRequest();
+        Long id = ConditionalGetInterceptor.readId(servletHttpRequest);
+        if (id == null
+            || !(servletHttpRequest.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handlerMethod)
+            || !(handlerMethod.getBean() instanceof VersionedController controller)) {
+            return body;
+        }
+        VersionDtoResponse version = controller.versionOf(value);
+        if (version != null) {
+            response.getHeaders().setETag(EntityTags.strong(id, version, EntityTags.representation(servletHttpRequest)));
+            long lastModified = EntityTags.toEpochMilli(version.getLastModified());
+            if (lastModified >= 0) {
+                response.getHeaders().setLastModified(lastModified);
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,54 @@
+package com.mjc.school.controller.conditional;
+
+import com.mjc.school.service.dto.PageDtoResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Tags pages with a weak ETag and answers a matching If-None-Match with 304, so an unchanged page is
+ * not serialized and sent again. Runs before {@code FieldsResponseAdvice} wraps the page, the tag covers the
+ * requested fields too.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ControllerAdvice
+public class ConditionalPageResponseAdvice implements ResponseBodyAdvice<Object> {
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return PageDtoResponse.class.isAssignableFrom(returnType.getParameterType());
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body,
+                                  MethodParameter returnType,
+                                  MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request,
+                                  ServerHttpResponse response) {
+        Object value = body instanceof MappingJacksonValue container ? container.getValue() : body;
+        if (!(value instanceof PageDtoResponse<?> page)
+            || !(request instanceof ServletServerHttpRequest servletRequest)
+            || !(response instanceof ServletServerHttpResponse servletResponse)
+            || !(request.getMethod() == HttpMethod.GET || request.getMethod() == HttpMethod.HEAD)) {
+            return body;
+        }
+        String etag = EntityTags.weak(page, EntityTags.representation(servletRequest.getServletRequest()));
+        if (etag == null) {
+            return body;
+        }
+        boolean notModified = new ServletWebRequest(servletRequest.getServletRequest(), servletResponse.getServletResponse())
+            .checkNotModified(etag);
+        return notModified ? null : body;
+    }
+}
@@ -0,0 +1,95 @@
+package com.mjc.school.controller.conditional;
+
+import com.mjc.school.controller.fields.SparseFieldsets;
+import com.mjc.school.service.dto.*;
+import org.springframework.util.DigestUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * ETags of the API responses. A read by id gets a strong tag of its version. A page gets a weak one of the ids
+ * and dates of its entities, since its links and counts are not part of it.
+ */
+public final class EntityTags {
+    private EntityTags() {
+    }
+
+    public static String strong(Long id, VersionDtoResponse version, String representation) {
+        return "\"" + hash(id + "|" + representation + version.getFingerprint()) + "\"";
+    }
+
+    /**
+     * Weak tag of the page, or null when it holds entities without known versions.
+     */
+    public static String weak(PageDtoResponse<?> page, String representation) {
+        StringBuilder fingerprint = new StringBuilder(representation)
+            .append(page.getCurrentPage()).append('|').append(page.getPageCount()).append('|')
+            .append(page.isHasNextPage()).append('|').append(page.getNextCursor());
+        for (Object dto : page.getModelDtoList()) {
+            if (!appendFingerprint(fingerprint.append('|'), dto)) {
+                return null;
+            }
+        }
+        return "W/\"" + hash(fingerprint.toString()) + "\"";
+    }
+
+    /**
+     * The {@code fields} and {@code embed} parameters of the request, empty without them, since responses
+     * written with fewer fields or associations must not share a tag with the full ones.
+     */
+    public static String representation(HttpServletRequest request) {
+        String[] fields = request.getParameterValues(SparseFieldsets.FIELDS_PARAMETER);
+        String[] embed = request.getParameterValues(SparseFieldsets.EMBED_PARAMETER);
+        if (fields == null && embed == null) {
+            return "";
+        }
+        return (fields == null ? "" : "fields=" + String.join(",", fields) + "|")
+            + (embed == null ? "" : "embed=" + String.join(",", embed) + "|");
+    }
+
+    public static long toEpochMilli(LocalDateTime lastModified) {
+        // audit dates are written in the default zone, negative means unknown to the conditional checks
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static boolean appendFingerprint(StringBuilder fingerprint, Object dto) {
+        if (dto instanceof NewsDtoResponse news) {
+            fingerprint.append(news.getId()).append(':').append(news.getLastUpdatedDate());
+            if (news.getAuthorDto() != null) {
+                fingerprint.append(",a").append(news.getAuthorDto().getId()).append(':').append(news.getAuthorDto().getLastUpdatedDate());
+            }
+            if (news.getTagDtos() != null) {
+                news.getTagDtos().forEach(tag -> fingerprint.append(",t").append(tag.getId()).append(':').append(tag.getName()));
+            }
+            if (news.getCommentForNewsDtos() != null) {
+                news.getCommentForNewsDtos().forEach(comment ->
+                    fingerprint.append(",c").append(comment.getId()).append(':').append(comment.getLastUpdatedDate()));
+            }
+            // deleting a comment older than the latest ones changes only the count
+            fingerprint.append(",n").append(news.getCommentCount());
+        } else if (dto instanceof AuthorDtoResponse author) {
+            fingerprint.append(author.getId()).append(':').append(author.getLastUpdatedDate());
+        } else if (dto instanceof AuthorWithNewsCountDtoResponse author) {
+            fingerprint.append(author.getId()).append(':').append(author.getLastUpdatedDate()).append(':').append(author.getNewsCount());
+        } else if (dto instanceof TagDtoResponse tag) {
+            fingerprint.append(tag.getId()).append(':').append(tag.getName());
+        } else if (dto instanceof CommentDtoResponse comment) {
+            fingerprint.append(comment.getId()).append(':').append(comment.getLastUpdatedDate());
+            if (comment.getNewsDto() != null) {
+                fingerprint.append(",n").append(comment.getNewsDto().getId()).append(':').append(comment.getNewsDto().getLastUpdatedDate());
+            }
+        } else if (dto instanceof CommentForNewsDtoResponse comment) {
+            fingerprint.append(comment.getId()).append(':').append(comment.getLastUpdatedDate());
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private static String hash(String fingerprint) {
+        return DigestUtils.md5DigestAsHex(fingerprint.getBytes(StandardCharsets.UTF_8));
+    }
+}
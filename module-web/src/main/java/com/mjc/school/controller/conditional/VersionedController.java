@@ -0,0 +1,15 @@
+package com.mjc.school.controller.conditional;
+
+import com.mjc.school.service.dto.VersionDtoResponse;
+import org.springframework.lang.Nullable;
+
+public interface VersionedController {
+    VersionDtoResponse readVersionById(Long id);
+
+    /**
+     * Version of a response the controller returned, for the headers of a full response, or null when it is
+     * not known without reading it again.
+     */
+    @Nullable
+    VersionDtoResponse versionOf(Object response);
+}
@@ -2,7 +2,9 @@ package com.mjc.school.controller.exception;
 
 public enum ControllerErrorCode {
     URL_NOT_SUPPORTED("100001", "Requested Url not not supported. Url: %s"),
-    API_VERSION_NOT_SUPPORTED("100002", "Api version not supported.");
+    API_VERSION_NOT_SUPPORTED("100002", "Api version not supported."),
+    BATCH_BODY_NOT_READABLE("100003", "Batch body is not a JSON array or NDJSON stream of news. Cause: %s"),
+    STATEMENT_BUDGET_EXCEEDED("100004", "Statement budget exceeded by %s");
 
     private final String errorCode;
     private final String errorMessage;
@@ -0,0 +1,12 @@
+package com.mjc.school.controller.exception;
+
+/**
+ * A request executed more statements than the budget of its endpoint, a server-side problem answered with 500.
+ * Thrown only with the fail mode, after the work of the request is done: nothing is rolled back.
+ */
+public class StatementBudgetExceededException extends ControllerException {
+
+    public StatementBudgetExceededException(String overBudget) {
+        super(ControllerErrorCode.STATEMENT_BUDGET_EXCEEDED, overBudget);
+    }
+}
@@ -0,0 +1,54 @@
+package com.mjc.school.controller.fields;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.mjc.school.service.dto.PageDtoResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+
+/**
+ * Applies the {@code fields} and {@code embed} request parameters to the resource, or to each resource
+ * of a page, being written by any endpoint. Authors and tags have no associations, for them only the fields
+ * apply. Runs last, the other advices get the resource rather than its container.
+ */
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ControllerAdvice
+public class FieldsResponseAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer,
+                                           MediaType contentType,
+                                           MethodParameter returnType,
+                                           ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        HttpServletRequest servletHttpRequest = servletRequest.getServletRequest();
+        String[] fields = servletHttpRequest.getParameterValues(SparseFieldsets.FIELDS_PARAMETER);
+        String[] embed = servletHttpRequest.getParameterValues(SparseFieldsets.EMBED_PARAMETER);
+        Class<?> resourceType = resourceType(bodyContainer.getValue());
+        if ((fields == null && embed == null) || resourceType == null) {
+            return;
+        }
+        bodyContainer.setFilters(new SimpleFilterProvider().addFilter(SparseFieldsets.FILTER_ID,
+            new SparseFieldsFilter(resourceType, fields == null ? null : List.of(fields), embed == null ? null : List.of(embed))));
+    }
+
+    private static Class<?> resourceType(Object body) {
+        if (body instanceof PageDtoResponse<?> page) {
+            List<?> resources = page.getModelDtoList();
+            return resources == null || resources.isEmpty() ? null : resources.get(0).getClass();
+        }
+        return body == null ? null : body.getClass();
+    }
+}
@@ -0,0 +1,63 @@
+package com.mjc.school.controller.fields;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import org.springframework.lang.Nullable;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes only the requested fields and embedded associations of the resource type. Nested resources,
+ * such as the author of a news, are written whole.
+ */
+public class SparseFieldsFilter extends SimpleBeanPropertyFilter {
+    private final Class<?> resourceType;
+    @Nullable
+    private final Set<String> fields;
+    private final Set<String> hiddenAssociations = new HashSet<>();
+
+    public SparseFieldsFilter(Class<?> resourceType, @Nullable List<String> fields, @Nullable List<String> embed) {
+        this.resourceType = resourceType;
+        Map<String, String> associationProperties = SparseFieldsets.associationProperties(resourceType);
+        if (fields == null) {
+            this.fields = null;
+        } else {
+            this.fields = new HashSet<>();
+            for (String field : SparseFieldsets.normalize(fields)) {
+                this.fields.add(associationProperties.getOrDefault(field, field));
+            }
+        }
+        List<String> embedded = SparseFieldsets.associationsToLoad(resourceType, fields, embed);
+        if (embedded != null) {
+            associationProperties.forEach((association, property) -> {
+                if (!embedded.contains(association)) {
+                    hiddenAssociations.add(property);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void serializeAsField(Object pojo, JsonGenerator jgen, SerializerProvider provider, PropertyWriter writer) throws Exception {
+        if (pojo.getClass() != resourceType || isWritten(writer.getName())) {
+            writer.serializeAsField(pojo, jgen, provider);
+        } else if (!jgen.canOmitFields()) {
+            writer.serializeAsOmittedField(pojo, jgen, provider);
+        }
+    }
+
+    private boolean isWritten(String property) {
+        if (SparseFieldsets.ALWAYS_WRITTEN.contains(property)) {
+            return true;
+        }
+        if (SparseFieldsets.associationProperties(resourceType).containsValue(property)) {
+            return !hiddenAssociations.contains(property);
+        }
+        return fields == null || fields.contains(property);
+    }
+}
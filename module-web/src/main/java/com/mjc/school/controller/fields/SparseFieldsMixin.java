@@ -0,0 +1,10 @@
+package com.mjc.school.controller.fields;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+/**
+ * Mixed into the response DTOs so that {@link SparseFieldsFilter} can drop their properties.
+ */
+@JsonFilter(SparseFieldsets.FILTER_ID)
+public interface SparseFieldsMixin {
+}
@@ -0,0 +1,75 @@
+package com.mjc.school.controller.fields;
+
+import com.mjc.school.service.dto.CommentDtoResponse;
+import com.mjc.school.service.dto.NewsDtoResponse;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the {@code fields} and {@code embed} request parameters. Without {@code embed} the associations
+ * named in {@code fields} are embedded, and without both everything is, as before these parameters existed.
+ */
+public final class SparseFieldsets {
+    public static final String FILTER_ID = "sparseFields";
+    public static final String FIELDS_PARAMETER = "fields";
+    public static final String EMBED_PARAMETER = "embed";
+    // written whatever the fields, so a client can always follow a resource
+    static final Set<String> ALWAYS_WRITTEN = Set.of("id", "links", "_links");
+
+    private static final Map<Class<?>, Map<String, String>> ASSOCIATION_PROPERTIES = Map.of(
+        NewsDtoResponse.class, Map.of(
+            "author", "authorDto",
+            "tags", "tagDtos",
+            "comments", "commentForNewsDtos"),
+        CommentDtoResponse.class, Map.of(
+            "news", "newsDto"));
+
+    private SparseFieldsets() {
+    }
+
+    /**
+     * Associations of the resource type to load, null for all of them.
+     */
+    @Nullable
+    public static List<String> associationsToLoad(Class<?> resourceType, @Nullable List<String> fields, @Nullable List<String> embed) {
+        if (embed != null) {
+            return normalize(embed);
+        }
+        if (fields == null) {
+            return null;
+        }
+        List<String> associations = new ArrayList<>();
+        for (String field : normalize(fields)) {
+            if (associationProperties(resourceType).containsKey(field)) {
+                associations.add(field);
+            }
+        }
+        return associations;
+    }
+
+    /**
+     * Whether the field is written, so has to be read, for the requested fields.
+     */
+    public static boolean writesField(@Nullable List<String> fields, String field) {
+        return fields == null || ALWAYS_WRITTEN.contains(field) || normalize(fields).contains(field);
+    }
+
+    static Map<String, String> associationProperties(Class<?> resourceType) {
+        return ASSOCIATION_PROPERTIES.getOrDefault(resourceType, Collections.emptyMap());
+    }
+
+    static List<String> normalize(List<String> values) {
+        // accepts both fields=id,title and fields=id&fields=title
+        return values.stream()
+            .flatMap(value -> List.of(value.split(",")).stream())
+            .map(String::trim)
+            .filter(value -> !value.isEmpty())
+            .collect(Collectors.toList());
+    }
+}
@@ -1,5 +1,7 @@
 package com.mjc.school.controller.handler;
 
+import com.mjc.school.controller.exception.ControllerException;
+import com.mjc.school.controller.exception.StatementBudgetExceededException;
 import com.mjc.school.service.exceptions.*;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -32,6 +34,26 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
                 .build());
     }
 
+    @ExceptionHandler(ControllerException.class)
+    public ResponseEntity<ErrorResponse> handleControllerException(ControllerException e, Locale locale) {
+        return ResponseEntity
+            .status(HttpStatus.BAD_REQUEST)
+            .body(ErrorResponse.builder()
+                .errorCode(e.getErrorCode())
+                .errorMessage(e.getLocalizedMessage(locale))
+                .build());
+    }
+
+    @ExceptionHandler(StatementBudgetExceededException.class)
+    public ResponseEntity<ErrorResponse> handleStatementBudgetExceededException(StatementBudgetExceededException e, Locale locale) {
+        return ResponseEntity
+            .status(HttpStatus.INTERNAL_SERVER_ERROR)
+            .body(ErrorResponse.builder()
+                .errorCode(e.getErrorCode())
+                .errorMessage(e.getLocalizedMessage(locale))
+                .build());
+    }
+
     @ExceptionHandler(ValidatorException.class)
     public ResponseEntity<ErrorResponse> handleValidatorException(ValidatorException e, Locale locale) {
         return ResponseEntity
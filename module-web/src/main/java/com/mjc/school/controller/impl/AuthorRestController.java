@@ -1,6 +1,9 @@
 package com.mjc.school.controller.impl;
 
 import com.mjc.school.controller.BaseController;
+import com.mjc.school.controller.conditional.ConditionalGet;
+import com.mjc.school.controller.conditional.VersionedController;
+import com.mjc.school.controller.link.HateoasLinkFactory;
 import com.mjc.school.service.AuthorService;
 import com.mjc.school.service.dto.*;
 import io.swagger.annotations.Api;
@@ -12,17 +15,17 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @RestController
 @RequestMapping(value = "/api/v1/authors", produces = MediaType.APPLICATION_JSON_VALUE)
 @Api(tags = "Author API", produces = MediaType.APPLICATION_JSON_VALUE)
-public class AuthorRestController implements BaseController<AuthorDtoRequest, AuthorDtoResponse, Long, AuthorDtoRequest> {
+public class AuthorRestController implements BaseController<AuthorDtoRequest, AuthorDtoResponse, Long, AuthorDtoRequest>, VersionedController {
+    private static final HateoasLinkFactory.Template AUTHOR_LINK = HateoasLinkFactory.template(AuthorRestController.class, "readById");
+    private static final HateoasLinkFactory.Template AUTHORS_LINK = HateoasLinkFactory.template(AuthorRestController.class, "readAll",
+        "page=1&page-size=10");
+
     private final AuthorService authorService;
 
     @Autowired
@@ -39,12 +42,16 @@ public class AuthorRestController implements BaseController<AuthorDtoRequest, Au
     })
     public PageDtoResponse<AuthorDtoResponse> readAll(@RequestParam(value = "page", defaultValue = "1") int page,
                                                       @RequestParam(value = "page-size", defaultValue = "10") int pageSize,
+                                                      @RequestParam(value = "cursor", required = false) String cursor,
+                                                      @RequestParam(value = "page-count", required = false) String countStrategy,
                                                       @RequestParam(value = "sorting", required = false) List<String> sortByAndOrder,
                                                       @RequestParam(value = "filter", required = false) List<String> filters
     ) {
         PaginationDtoRequest paginationDtoRequest = PaginationDtoRequest.builder()
             .page(page)
             .pageSize(pageSize)
+            .cursor(cursor)
+            .countStrategy(countStrategy)
             .build();
         SearchFilterDtoRequest searchFilterDtoRequest = SearchFilterDtoRequest.builder()
             .filters(filters)
@@ -56,17 +63,32 @@ public class AuthorRestController implements BaseController<AuthorDtoRequest, Au
     }
 
     @Override
+    @ConditionalGet
     @GetMapping(value = "/{id:\\d+}")
     @ResponseStatus(HttpStatus.OK)
     @ApiOperation(value = "View author by supplied id", response = AuthorDtoResponse.class)
     @ApiResponses(value = {
         @ApiResponse(code = 200, message = "Successfully retrieved the author with the supplied id"),
+        @ApiResponse(code = 304, message = "Author not modified since the supplied ETag or date"),
         @ApiResponse(code = 404, message = "Author with the supplied id not found")
     })
     public AuthorDtoResponse readById(@PathVariable Long id) {
         return addHateoasLinksToAuthorDtoResponse(authorService.readById(id));
     }
 
+    @Override
+    public VersionDtoResponse readVersionById(Long id) {
+        return authorService.readVersionById(id);
+    }
+
+    @Override
+    public VersionDtoResponse versionOf(Object response) {
+        // the version of an author is its last update date alone, as readVersionById reads it
+        return response instanceof AuthorDtoResponse author
+            ? new VersionDtoResponse(author.getLastUpdatedDate(), String.valueOf(author.getLastUpdatedDate()))
+            : null;
+    }
+
     @Override
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
     @ResponseStatus(HttpStatus.CREATED)
@@ -111,10 +133,12 @@ public class AuthorRestController implements BaseController<AuthorDtoRequest, Au
     }
     )
     public PageDtoResponse<AuthorWithNewsCountDtoResponse> readWithNewsCount(@RequestParam(value = "page", defaultValue = "1") int page,
-                                                                             @RequestParam(value = "page-size", defaultValue = "10") int pageSize) {
+                                                                             @RequestParam(value = "page-size", defaultValue = "10") int pageSize,
+                                                                             @RequestParam(value = "page-count", required = false) String countStrategy) {
         PaginationDtoRequest paginationDtoRequest = PaginationDtoRequest.builder()
             .page(page)
             .pageSize(pageSize)
+            .countStrategy(countStrategy)
             .build();
         PageDtoResponse<AuthorWithNewsCountDtoResponse> pageDtoResponse = authorService.readWithNewsCount(paginationDtoRequest);
         pageDtoResponse.setModelDtoList(pageDtoResponse.getModelDtoList().stream().map(AuthorRestController::addHateoasLinksToAuthorDtoResponse)
@@ -123,13 +147,13 @@ public class AuthorRestController implements BaseController<AuthorDtoRequest, Au
     }
 
     static AuthorDtoResponse addHateoasLinksToAuthorDtoResponse(AuthorDtoResponse dtoResponse) {
-        dtoResponse.add(linkTo(methodOn(AuthorRestController.class).readById(dtoResponse.getId())).withSelfRel());
-        dtoResponse.add(linkTo(methodOn(AuthorRestController.class).readAll(1, 10, Collections.emptyList(), Collections.emptyList())).withRel("collection"));
+        dtoResponse.add(AUTHOR_LINK.selfLink(dtoResponse.getId()));
+        dtoResponse.add(AUTHORS_LINK.link("collection"));
         return dtoResponse;
     }
 
     static AuthorWithNewsCountDtoResponse addHateoasLinksToAuthorDtoResponse(AuthorWithNewsCountDtoResponse withNewsCountDtoResponse) {
-        withNewsCountDtoResponse.add(linkTo(methodOn(AuthorRestController.class).readById(withNewsCountDtoResponse.getId())).withSelfRel());
+        withNewsCountDtoResponse.add(AUTHOR_LINK.selfLink(withNewsCountDtoResponse.getId()));
         return withNewsCountDtoResponse;
     }
 }
@@ -0,0 +1,40 @@
+package com.mjc.school.controller.impl;
+
+import com.mjc.school.service.CacheStatisticsService;
+import com.mjc.school.service.dto.CacheRegionStatisticsDtoResponse;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/api/v1/cache-statistics", produces = MediaType.APPLICATION_JSON_VALUE)
+@Api(tags = "Cache statistics API", produces = MediaType.APPLICATION_JSON_VALUE)
+public class CacheStatisticsRestController {
+    private final CacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    public CacheStatisticsRestController(final CacheStatisticsService cacheStatisticsService) {
+        this.cacheStatisticsService = cacheStatisticsService;
+    }
+
+    @GetMapping
+    @ResponseStatus(HttpStatus.OK)
+    @ApiOperation(value = "View hit and miss counts of the second-level cache regions", response = CacheRegionStatisticsDtoResponse.class,
+        responseContainer = "List")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Successfully retrieved the cache statistics")
+    })
+    public List<CacheRegionStatisticsDtoResponse> readAll() {
+        return cacheStatisticsService.readAll();
+    }
+}
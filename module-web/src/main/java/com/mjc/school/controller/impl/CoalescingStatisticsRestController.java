@@ -0,0 +1,40 @@
+package com.mjc.school.controller.impl;
+
+import com.mjc.school.service.CoalescingStatisticsService;
+import com.mjc.school.service.dto.CoalescingStatisticsDtoResponse;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/api/v1/coalescing-statistics", produces = MediaType.APPLICATION_JSON_VALUE)
+@Api(tags = "Coalescing statistics API", produces = MediaType.APPLICATION_JSON_VALUE)
+public class CoalescingStatisticsRestController {
+    private final CoalescingStatisticsService coalescingStatisticsService;
+
+    @Autowired
+    public CoalescingStatisticsRestController(final CoalescingStatisticsService coalescingStatisticsService) {
+        this.coalescingStatisticsService = coalescingStatisticsService;
+    }
+
+    @GetMapping
+    @ResponseStatus(HttpStatus.OK)
+    @ApiOperation(value = "View how many calls of each coalesced read were answered by a call already in flight",
+        response = CoalescingStatisticsDtoResponse.class, responseContainer = "List")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Successfully retrieved the coalescing statistics")
+    })
+    public List<CoalescingStatisticsDtoResponse> readAll() {
+        return coalescingStatisticsService.readAll();
+    }
+}
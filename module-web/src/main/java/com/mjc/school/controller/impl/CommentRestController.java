@@ -1,6 +1,8 @@
 package com.mjc.school.controller.impl;
 
 import com.mjc.school.controller.BaseController;
+import com.mjc.school.controller.fields.SparseFieldsets;
+import com.mjc.school.controller.link.HateoasLinkFactory;
 import com.mjc.school.service.CommentService;
 import com.mjc.school.service.dto.*;
 import io.swagger.annotations.Api;
@@ -12,17 +14,17 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @RestController
 @RequestMapping(value = "/api/v1/comments", produces = MediaType.APPLICATION_JSON_VALUE)
 @Api(tags = "Comment API", produces = MediaType.APPLICATION_JSON_VALUE)
 public class CommentRestController implements BaseController<CommentDtoRequest, CommentDtoResponse, Long, CommentDtoRequest> {
+    private static final HateoasLinkFactory.Template COMMENT_LINK = HateoasLinkFactory.template(CommentRestController.class, "readById");
+    private static final HateoasLinkFactory.Template COMMENTS_LINK = HateoasLinkFactory.template(CommentRestController.class, "readAll",
+        "page=1&page-size=10");
+
     private final CommentService commentService;
 
     @Autowired
@@ -31,6 +33,15 @@ public class CommentRestController implements BaseController<CommentDtoRequest,
     }
 
     @Override
+    public PageDtoResponse<CommentDtoResponse> readAll(int page,
+                                                       int pageSize,
+                                                       String cursor,
+                                                       String countStrategy,
+                                                       List<String> sortByAndOrder,
+                                                       List<String> filters) {
+        return readAll(page, pageSize, cursor, countStrategy, sortByAndOrder, filters, null, null);
+    }
+
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
     @ApiOperation(value = "View all comments", response = PageDtoResponse.class)
@@ -39,17 +50,24 @@ public class CommentRestController implements BaseController<CommentDtoRequest,
     })
     public PageDtoResponse<CommentDtoResponse> readAll(@RequestParam(value = "page", defaultValue = "1") int page,
                                                        @RequestParam(value = "page-size", defaultValue = "10") int pageSize,
+                                                       @RequestParam(value = "cursor", required = false) String cursor,
+                                                       @RequestParam(value = "page-count", required = false) String countStrategy,
                                                        @RequestParam(value = "sorting", required = false) List<String> sortByAndOrder,
-                                                       @RequestParam(value = "filter", required = false) List<String> filters
+                                                       @RequestParam(value = "filter", required = false) List<String> filters,
+                                                       @RequestParam(value = SparseFieldsets.FIELDS_PARAMETER, required = false) List<String> fields,
+                                                       @RequestParam(value = SparseFieldsets.EMBED_PARAMETER, required = false) List<String> embed
     ) {
         PaginationDtoRequest paginationDtoRequest = PaginationDtoRequest.builder()
             .page(page)
             .pageSize(pageSize)
+            .cursor(cursor)
+            .countStrategy(countStrategy)
             .build();
         SortingDtoRequest sortingDtoRequest = SortingDtoRequest.builder()
             .sortByAndOrder(sortByAndOrder)
             .build();
-        PageDtoResponse<CommentDtoResponse> pageDtoResponse = commentService.readAll(paginationDtoRequest, sortingDtoRequest, null);
+        PageDtoResponse<CommentDtoResponse> pageDtoResponse = commentService.readAll(paginationDtoRequest, sortingDtoRequest, null,
+            new EmbedDtoRequest(SparseFieldsets.associationsToLoad(CommentDtoResponse.class, fields, embed)));
         pageDtoResponse.setModelDtoList(pageDtoResponse.getModelDtoList().stream().map(CommentRestController::addHateoasLinksToCommentDtoResponse)
             .collect(Collectors.toList()));
         return pageDtoResponse;
@@ -107,13 +125,13 @@ public class CommentRestController implements BaseController<CommentDtoRequest,
     }
 
     static CommentDtoResponse addHateoasLinksToCommentDtoResponse(CommentDtoResponse dtoResponse) {
-        dtoResponse.add(linkTo(methodOn(CommentRestController.class).readById(dtoResponse.getId())).withSelfRel());
-        dtoResponse.add(linkTo((methodOn(CommentRestController.class).readAll(1, 10, Collections.emptyList(), Collections.emptyList()))).withRel("collection"));
+        dtoResponse.add(COMMENT_LINK.selfLink(dtoResponse.getId()));
+        dtoResponse.add(COMMENTS_LINK.link("collection"));
         return dtoResponse;
     }
 
     static CommentForNewsDtoResponse addHateoasLinksToCommentForNewsDtoResponse(CommentForNewsDtoResponse forNewsDtoResponse) {
-        forNewsDtoResponse.add(linkTo(methodOn(CommentRestController.class).readById(forNewsDtoResponse.getId())).withSelfRel());
+        forNewsDtoResponse.add(COMMENT_LINK.selfLink(forNewsDtoResponse.getId()));
         return forNewsDtoResponse;
     }
 
@@ -1,8 +1,22 @@
 package com.mjc.school.controller.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
 import com.mjc.school.controller.BaseController;
+import com.mjc.school.controller.cache.NewsResponseCache;
+import com.mjc.school.controller.conditional.ConditionalGet;
+import com.mjc.school.controller.conditional.VersionedController;
+import com.mjc.school.controller.exception.ControllerErrorCode;
+import com.mjc.school.controller.exception.ControllerException;
+import com.mjc.school.controller.fields.SparseFieldsets;
+import com.mjc.school.controller.link.HateoasLinkFactory;
 import com.mjc.school.service.AuthorService;
 import com.mjc.school.service.CommentService;
+import com.mjc.school.service.NewsBatchService;
 import com.mjc.school.service.NewsService;
 import com.mjc.school.service.TagService;
 import com.mjc.school.service.dto.*;
@@ -11,39 +25,80 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
-import java.util.Collections;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @RestController
 @RequestMapping(value = "/api/v1/news", produces = MediaType.APPLICATION_JSON_VALUE)
 @Api(tags = "News API", produces = MediaType.APPLICATION_JSON_VALUE)
-public class NewsRestController implements BaseController<NewsDtoCreateRequest, NewsDtoResponse, Long, NewsDtoUpdateRequest> {
+public class NewsRestController implements BaseController<NewsDtoCreateRequest, NewsDtoResponse, Long, NewsDtoUpdateRequest>, VersionedController {
+    // read only when the requested fields include it, it is the largest column
+    private static final String CONTENT_FIELD = "content";
+    private static final HateoasLinkFactory.Template NEWS_LINK = HateoasLinkFactory.template(NewsRestController.class, "readById");
+    private static final HateoasLinkFactory.Template NEWS_TAGS_LINK = HateoasLinkFactory.template(NewsRestController.class,
+        "readTagsByNewsId", "page=1&page-size=10");
+    private static final HateoasLinkFactory.Template NEWS_COMMENTS_LINK = HateoasLinkFactory.template(NewsRestController.class,
+        "readCommentsByNewsId", "page=1&page-size=10");
+    private static final HateoasLinkFactory.Template NEWS_AUTHOR_LINK = HateoasLinkFactory.template(NewsRestController.class,
+        "readAuthorByNewsId");
+
     private final NewsService newsService;
     private final TagService tagService;
     private final CommentService commentService;
     private final AuthorService authorService;
+    private final NewsBatchService newsBatchService;
+    private final ObjectReader createRequestReader;
+    private final ObjectWriter exportWriter;
+    private final NewsResponseCache newsResponseCache;
+    private final AsyncTaskExecutor exportExecutor;
+    private final long exportTimeoutMs;
 
 
     @Autowired
     public NewsRestController(final NewsService newsService,
                               final TagService tagService,
                               final CommentService commentService,
-                              final AuthorService authorService) {
+                              final AuthorService authorService,
+                              final NewsBatchService newsBatchService,
+                              final ObjectMapper objectMapper,
+                              final NewsResponseCache newsResponseCache,
+                              @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) final AsyncTaskExecutor exportExecutor,
+                              @Value("${web.news-export.timeout-ms:600000}") final long exportTimeoutMs) {
         this.newsService = newsService;
         this.tagService = tagService;
         this.commentService = commentService;
         this.authorService = authorService;
+        this.newsBatchService = newsBatchService;
+        this.createRequestReader = objectMapper.readerFor(NewsDtoCreateRequest.class);
+        this.exportWriter = objectMapper.writerFor(NewsDtoResponse.class);
+        this.newsResponseCache = newsResponseCache;
+        this.exportExecutor = exportExecutor;
+        this.exportTimeoutMs = exportTimeoutMs;
     }
 
     @Override
+    public PageDtoResponse<NewsDtoResponse> readAll(int page,
+                                                    int pageSize,
+                                                    String cursor,
+                                                    String countStrategy,
+                                                    List<String> sortByAndOrder,
+                                                    List<String> filters) {
+        return readAll(page, pageSize, cursor, countStrategy, sortByAndOrder, filters, null, null);
+    }
+
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
     @ApiOperation(value = "View all news", response = PageDtoResponse.class)
@@ -52,12 +107,18 @@ public class NewsRestController implements BaseController<NewsDtoCreateRequest,
     })
     public PageDtoResponse<NewsDtoResponse> readAll(@RequestParam(value = "page", defaultValue = "1") int page,
                                                     @RequestParam(value = "page-size", defaultValue = "10") int pageSize,
+                                                    @RequestParam(value = "cursor", required = false) String cursor,
+                                                    @RequestParam(value = "page-count", required = false) String countStrategy,
                                                     @RequestParam(value = "sorting", required = false) List<String> sortByAndOrder,
-                                                    @RequestParam(value = "filter", required = false) List<String> filters
+                                                    @RequestParam(value = "filter", required = false) List<String> filters,
+                                                    @RequestParam(value = SparseFieldsets.FIELDS_PARAMETER, required = false) List<String> fields,
+                                                    @RequestParam(value = SparseFieldsets.EMBED_PARAMETER, required = false) List<String> embed
     ) {
         PaginationDtoRequest paginationDtoRequest = PaginationDtoRequest.builder()
             .page(page)
             .pageSize(pageSize)
+            .cursor(cursor)
+            .countStrategy(countStrategy)
             .build();
         SortingDtoRequest sortingDtoRequest = SortingDtoRequest.builder()
             .sortByAndOrder(sortByAndOrder)
@@ -65,23 +126,86 @@ public class NewsRestController implements BaseController<NewsDtoCreateRequest,
         SearchFilterDtoRequest searchFilterDtoRequest = SearchFilterDtoRequest.builder()
             .filters(filters)
             .build();
-        PageDtoResponse<NewsDtoResponse> pageDtoResponse = newsService.readAll(paginationDtoRequest, sortingDtoRequest, searchFilterDtoRequest);
+        PageDtoResponse<NewsDtoResponse> pageDtoResponse = newsService.readAll(paginationDtoRequest, sortingDtoRequest, searchFilterDtoRequest,
+            new EmbedDtoRequest(SparseFieldsets.associationsToLoad(NewsDtoResponse.class, fields, embed),
+                !SparseFieldsets.writesField(fields, CONTENT_FIELD)));
         for (NewsDtoResponse dto : pageDtoResponse.getModelDtoList()) {
             addHateoasLinksToNewsDtoResponse(dto);
         }
         return pageDtoResponse;
     }
 
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @ApiOperation(value = "Export all news as an NDJSON stream", response = NewsDtoResponse.class,
+        notes = "One news per line in id order, written while it is read from a database cursor.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Successfully exported all news")
+    })
+    public ResponseBodyEmitter exportAll() {
+        // an export takes as long as the table is large, so it gets its own timeout rather than the MVC default
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(exportTimeoutMs);
+        exportExecutor.execute(() -> {
+            try {
+                newsService.exportAll(chunk -> {
+                    try {
+                        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+                        for (NewsDtoResponse dto : chunk) {
+                            lines.write(exportWriter.writeValueAsBytes(dto));
+                            lines.write('\n');
+                        }
+                        // sent and flushed at once, the client gets every chunk as soon as it is read
+                        emitter.send(lines.toByteArray(), MediaType.APPLICATION_NDJSON);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                emitter.complete();
+            } catch (RuntimeException e) {
+                // also ends an export that timed out or whose client went away
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
     @Override
+    public NewsDtoResponse readById(Long id) {
+        return readById(id, null, null);
+    }
+
+    @ConditionalGet
     @GetMapping(value = "/{id:\\d+}")
     @ResponseStatus(HttpStatus.OK)
     @ApiOperation(value = "Retrieve specific news with the supplied id", response = NewsDtoResponse.class)
     @ApiResponses(value = {
         @ApiResponse(code = 200, message = "Successfully retrieved the news with the supplied id"),
+        @ApiResponse(code = 304, message = "News not modified since the supplied ETag or date"),
         @ApiResponse(code = 404, message = "News with the supplied id not found")
     })
-    public NewsDtoResponse readById(@PathVariable Long id) {
-        return addHateoasLinksToNewsDtoResponse(newsService.readById(id));
+    public NewsDtoResponse readById(@PathVariable Long id,
+                                    @RequestParam(value = SparseFieldsets.FIELDS_PARAMETER, required = false) List<String> fields,
+                                    @RequestParam(value = SparseFieldsets.EMBED_PARAMETER, required = false) List<String> embed) {
+        List<String> associations = SparseFieldsets.associationsToLoad(NewsDtoResponse.class, fields, embed);
+        if (associations != null) {
+            // the cache holds full responses, which serve fewer associations as well, a miss reads only these
+            NewsDtoResponse cached = newsResponseCache.get(id);
+            return cached != null ? cached
+                : addHateoasLinksToNewsDtoResponse(newsService.readById(id,
+                    new EmbedDtoRequest(associations, !SparseFieldsets.writesField(fields, CONTENT_FIELD))));
+        }
+        return newsResponseCache.getOrLoad(id, () -> newsService.readVersionById(id),
+            () -> addHateoasLinksToNewsDtoResponse(newsService.readById(id)));
+    }
+
+    @Override
+    public VersionDtoResponse readVersionById(Long id) {
+        return newsService.readVersionById(id);
+    }
+
+    @Override
+    public VersionDtoResponse versionOf(Object response) {
+        return response instanceof NewsDtoResponse news ? newsResponseCache.versionOf(news) : null;
     }
 
     @Override
@@ -96,6 +220,29 @@ public class NewsRestController implements BaseController<NewsDtoCreateRequest,
         return addHateoasLinksToNewsDtoResponse(newsService.create(dtoRequest));
     }
 
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @ResponseStatus(HttpStatus.OK)
+    @ApiOperation(value = "Create news from a JSON array or an NDJSON stream", response = NewsBatchDtoResponse.class,
+        notes = "Items are stored chunk by chunk, each chunk in its own transaction. The report lists the result of every item.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Batch processed, see the per-item report"),
+        @ApiResponse(code = 400, message = "Batch body could not be read, chunks before the unreadable item are stored")
+    }
+    )
+    public NewsBatchDtoResponse createAll(InputStream body) throws IOException {
+        // a root level array is unwrapped, NDJSON values are read one after another
+        try (MappingIterator<NewsDtoCreateRequest> createRequests = createRequestReader.readValues(body)) {
+            return newsBatchService.createAll(createRequests);
+        } catch (JsonProcessingException | RuntimeJsonMappingException e) {
+            throw new ControllerException(ControllerErrorCode.BATCH_BODY_NOT_READABLE, e.getMessage());
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof JsonProcessingException) {
+                throw new ControllerException(ControllerErrorCode.BATCH_BODY_NOT_READABLE, e.getCause().getMessage());
+            }
+            throw e;
+        }
+    }
+
     @Override
     @PatchMapping(value = "/{id:\\d+}", consumes = MediaType.APPLICATION_JSON_VALUE)
     @ResponseStatus(HttpStatus.OK)
@@ -132,10 +279,12 @@ public class NewsRestController implements BaseController<NewsDtoCreateRequest,
     )
     public PageDtoResponse<TagDtoResponse> readTagsByNewsId(@PathVariable Long id,
                                                             @RequestParam(value = "page", defaultValue = "1") int page,
-                                                            @RequestParam(value = "page-size", defaultValue = "10") int pageSize) {
+                                                            @RequestParam(value = "page-size", defaultValue = "10") int pageSize,
+                                                            @RequestParam(value = "page-count", required = false) String countStrategy) {
         PaginationDtoRequest paginationDtoRequest = PaginationDtoRequest.builder()
             .page(page)
             .pageSize(pageSize)
+            .countStrategy(countStrategy)
             .build();
         PageDtoResponse<TagDtoResponse> pageDtoResponse = tagService.readByNewsId(id, paginationDtoRequest);
         pageDtoResponse.setModelDtoList(pageDtoResponse.getModelDtoList().stream().map(TagRestController::addHateoasLinksToTagDtoResponse)
@@ -153,10 +302,12 @@ public class NewsRestController implements BaseController<NewsDtoCreateRequest,
     public PageDtoResponse<CommentForNewsDtoResponse> readCommentsByNewsId(@PathVariable Long id,
                                                                            @RequestParam(value = "page", defaultValue = "1") int page,
                                                                            @RequestParam(value = "page-size", defaultValue = "10") int pageSize,
+                                                                           @RequestParam(value = "page-count", required = false) String countStrategy,
                                                                            @RequestParam(value = "sorting", required = false) List<String> sortByAndOrder) {
         PaginationDtoRequest paginationDtoRequest = PaginationDtoRequest.builder()
             .page(page)
             .pageSize(pageSize)
+            .countStrategy(countStrategy)
             .build();
         SortingDtoRequest sortingDtoRequest = SortingDtoRequest.builder()
             .sortByAndOrder(sortByAndOrder)
@@ -181,11 +332,10 @@ public class NewsRestController implements BaseController<NewsDtoCreateRequest,
     }
 
     static NewsDtoResponse addHateoasLinksToNewsDtoResponse(NewsDtoResponse dtoResponse) {
-        dtoResponse.add(linkTo(methodOn(NewsRestController.class).readById(dtoResponse.getId())).withSelfRel());
-        dtoResponse.add(linkTo(methodOn(NewsRestController.class).readTagsByNewsId(dtoResponse.getId(), 1, 10)).withRel("tagsNames"));
-        dtoResponse.add(linkTo(methodOn(NewsRestController.class).readCommentsByNewsId(dtoResponse.getId(),
-            1, 10, Collections.emptyList())).withRel("comments"));
-        dtoResponse.add(linkTo(methodOn(NewsRestController.class).readAuthorByNewsId(dtoResponse.getId())).withRel("authorName"));
+        dtoResponse.add(NEWS_LINK.selfLink(dtoResponse.getId()));
+        dtoResponse.add(NEWS_TAGS_LINK.link(dtoResponse.getId(), "tagsNames"));
+        dtoResponse.add(NEWS_COMMENTS_LINK.link(dtoResponse.getId(), "comments"));
+        dtoResponse.add(NEWS_AUTHOR_LINK.link(dtoResponse.getId(), "authorName"));
         return dtoResponse;
     }
 }
@@ -1,6 +1,7 @@
 package com.mjc.school.controller.impl;
 
 import com.mjc.school.controller.BaseController;
+import com.mjc.school.controller.link.HateoasLinkFactory;
 import com.mjc.school.service.TagService;
 import com.mjc.school.service.dto.*;
 import io.swagger.annotations.Api;
@@ -15,13 +16,12 @@ import org.springframework.web.bind.annotation.*;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @RestController
 @RequestMapping(value = "/api/v1/tags", produces = MediaType.APPLICATION_JSON_VALUE)
 @Api(tags = "Tag API", produces = MediaType.APPLICATION_JSON_VALUE)
 public class TagRestController implements BaseController<TagDtoRequest, TagDtoResponse, Long, TagDtoRequest> {
+    private static final HateoasLinkFactory.Template TAG_LINK = HateoasLinkFactory.template(TagRestController.class, "readById");
+
     private final TagService tagService;
 
     @Autowired
@@ -38,12 +38,16 @@ public class TagRestController implements BaseController<TagDtoRequest, TagDtoRe
     })
     public PageDtoResponse<TagDtoResponse> readAll(@RequestParam(value = "page", defaultValue = "1") int page,
                                                    @RequestParam(value = "page-size", defaultValue = "10") int pageSize,
+                                                   @RequestParam(value = "cursor", required = false) String cursor,
+                                                   @RequestParam(value = "page-count", required = false) String countStrategy,
                                                    @RequestParam(value = "sorting", required = false) List<String> sortByAndOrder,
                                                    @RequestParam(value = "filter", required = false) List<String> filters
     ) {
         PaginationDtoRequest paginationDtoRequest = PaginationDtoRequest.builder()
             .page(page)
             .pageSize(pageSize)
+            .cursor(cursor)
+            .countStrategy(countStrategy)
             .build();
         SearchFilterDtoRequest searchFilterDtoRequest = SearchFilterDtoRequest.builder()
             .filters(filters)
@@ -103,7 +107,7 @@ public class TagRestController implements BaseController<TagDtoRequest, TagDtoRe
     }
 
     static TagDtoResponse addHateoasLinksToTagDtoResponse(TagDtoResponse dtoResponse) {
-        dtoResponse.add(linkTo(methodOn(TagRestController.class).readById(dtoResponse.getId())).withSelfRel());
+        dtoResponse.add(TAG_LINK.selfLink(dtoResponse.getId()));
         return dtoResponse;
     }
 }
@@ -0,0 +1,115 @@
+package com.mjc.school.controller.link;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.regex.Pattern;
+
+/**
+ * Links to controller methods from URI templates read once from their mappings, so that a link is built by
+ * string concatenation instead of {@code linkTo(methodOn(...))}, which records an invocation on a proxy and
+ * resolves the request URI for every link. Unlike {@code linkTo}, links are relative to the host, so that
+ * responses cached or coalesced across requests do not carry the host of the request that built them.
+ */
+public final class HateoasLinkFactory {
+    private static final String BASE_PATH_ATTRIBUTE = HateoasLinkFactory.class.getName() + ".BASE_PATH";
+    private static final String ID_VARIABLE = "{id}";
+    // {id:\d+} is matched by the mapping but written as {id}
+    private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\{(\\w+):[^}]*}");
+
+    private HateoasLinkFactory() {
+    }
+
+    /**
+     * Template of the link to the request mapped method of the controller with that name, with the query
+     * appended as is when there is one.
+     */
+    public static Template template(Class<?> controller, String methodName, String query) {
+        String path = mappedPath(controller) + mappedPath(findMappedMethod(controller, methodName));
+        path = VARIABLE_PATTERN.matcher(path).replaceAll("{$1}");
+        if (query != null && !query.isEmpty()) {
+            path = path + "?" + query;
+        }
+        return new Template(path);
+    }
+
+    public static Template template(Class<?> controller, String methodName) {
+        return template(controller, methodName, null);
+    }
+
+    private static Method findMappedMethod(Class<?> controller, String methodName) {
+        for (Method method : controller.getDeclaredMethods()) {
+            if (method.getName().equals(methodName) && !method.isBridge()
+                && AnnotatedElementUtils.isAnnotated(method, RequestMapping.class)) {
+                return method;
+            }
+        }
+        throw new IllegalStateException("No request mapped method " + methodName + " in " + controller.getName());
+    }
+
+    private static String mappedPath(AnnotatedElement element) {
+        RequestMapping mapping = AnnotatedElementUtils.getMergedAnnotation(element, RequestMapping.class);
+        return mapping == null || mapping.path().length == 0 ? "" : mapping.path()[0];
+    }
+
+    // the context path and servlet mapping, resolved once per request
+    private static String basePath() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return "";
+        }
+        String basePath = (String) attributes.getAttribute(BASE_PATH_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (basePath == null) {
+            basePath = ServletUriComponentsBuilder.fromCurrentServletMapping().build().getPath();
+            basePath = basePath == null ? "" : basePath;
+            attributes.setAttribute(BASE_PATH_ATTRIBUTE, basePath, RequestAttributes.SCOPE_REQUEST);
+        }
+        return basePath;
+    }
+
+    public static final class Template {
+        private final String path;
+        // the path around its {id} variable, when it has one
+        private final String beforeId;
+        private final String afterId;
+
+        private Template(String path) {
+            this.path = path;
+            int idIndex = path.indexOf(ID_VARIABLE);
+            this.beforeId = idIndex < 0 ? path : path.substring(0, idIndex);
+            this.afterId = idIndex < 0 ? "" : path.substring(idIndex + ID_VARIABLE.length());
+        }
+
+        public Link link(LinkRelation relation) {
+            return Link.of(basePath() + path, relation);
+        }
+
+        public Link link(String relation) {
+            return link(LinkRelation.of(relation));
+        }
+
+        public Link link(Object id, LinkRelation relation) {
+            return Link.of(basePath() + beforeId + id + afterId, relation);
+        }
+
+        public Link link(Object id, String relation) {
+            return link(id, LinkRelation.of(relation));
+        }
+
+        public Link selfLink(Object id) {
+            return link(id, IanaLinkRelations.SELF);
+        }
+
+        public String getPath() {
+            return path;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.mjc.school.controller.routing;
+
+import com.mjc.school.repository.routing.ClientContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Binds the client of the request, so that it reads its own writes when reads go to replicas. A client
+ * names itself with the X-Client-Id header, otherwise its address is used: the first one of X-Forwarded-For,
+ * as behind a proxy the remote address is the proxy's and all clients would share it. A client only routes
+ * its own reads to the primary, so trusting these headers is harmless.
+ */
+@Component
+public class ClientContextFilter extends OncePerRequestFilter {
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+    public static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        ClientContext.setClient(readClient(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ClientContext.clear();
+        }
+    }
+
+    static String readClient(HttpServletRequest request) {
+        String client = request.getHeader(CLIENT_ID_HEADER);
+        if (client != null && !client.isBlank()) {
+            return client;
+        }
+        String forwardedFor = request.getHeader(FORWARDED_FOR_HEADER);
+        if (forwardedFor != null) {
+            String address = forwardedFor.split(",", 2)[0].trim();
+            if (!address.isEmpty()) {
+                return address;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
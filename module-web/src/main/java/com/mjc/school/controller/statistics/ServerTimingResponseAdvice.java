@@ -0,0 +1,50 @@
+package com.mjc.school.controller.statistics;
+
+import com.mjc.school.repository.statistics.StatementStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Checks the statement budget and adds the Server-Timing header with the statements counted so far just
+ * before a body is written, since neither an error nor a header can be sent once it is.
+ */
+@ControllerAdvice
+public class ServerTimingResponseAdvice implements ResponseBodyAdvice<Object> {
+    private final StatementStatisticsFilter statementStatisticsFilter;
+
+    @Autowired
+    public ServerTimingResponseAdvice(final StatementStatisticsFilter statementStatisticsFilter) {
+        this.statementStatisticsFilter = statementStatisticsFilter;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body,
+                                  MethodParameter returnType,
+                                  MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request,
+                                  ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            // over budget with the fail mode throws, the error response is written instead of this body
+            statementStatisticsFilter.checkBudget(servletRequest.getServletRequest());
+        }
+        StatementStatistics statistics = StatementStatistics.current();
+        if (statistics != null) {
+            response.getHeaders().set(StatementStatisticsFilter.SERVER_TIMING_HEADER,
+                StatementStatisticsFilter.serverTiming(statistics));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,27 @@
+package com.mjc.school.controller.statistics;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Checks the statement budget of handlers that write no body, such as deletes, after they ran and before the
+ * response is committed. A written body was checked by {@link ServerTimingResponseAdvice} already.
+ */
+public class StatementBudgetInterceptor implements HandlerInterceptor {
+    private final StatementStatisticsFilter statementStatisticsFilter;
+
+    public StatementBudgetInterceptor(final StatementStatisticsFilter statementStatisticsFilter) {
+        this.statementStatisticsFilter = statementStatisticsFilter;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) {
+        if (handler instanceof HandlerMethod) {
+            statementStatisticsFilter.checkBudget(request);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.mjc.school.controller.statistics;
+
+import com.mjc.school.controller.exception.StatementBudgetExceededException;
+import com.mjc.school.repository.statistics.StatementStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts the statements each request executes, sends the counts in a Server-Timing header and checks them
+ * against the statement budget of the endpoint, web.statement-budget.&lt;Controller&gt;.&lt;method&gt; or
+ * web.statement-budget.default. The budget is checked before the response is written, by
+ * {@link ServerTimingResponseAdvice} for a body and by {@link StatementBudgetInterceptor} otherwise, so that
+ * the fail mode still answers with an error, a 500. The fail mode is for tests only: the check runs after the
+ * controller returned, so it never rolls back what the request did, a write being committed already.
+ * Over budget is logged with the warn mode.
+ * Statements executed while streaming a body asynchronously are not counted.
+ */
+@Component
+public class StatementStatisticsFilter extends OncePerRequestFilter {
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+    private static final String BUDGET_PROPERTY_PREFIX = "web.statement-budget.";
+    // requests no controller handled share the default budget
+    private static final String UNMATCHED_ENDPOINT = "unmatched";
+    private static final String BUDGET_CHECKED_ATTRIBUTE = StatementStatisticsFilter.class.getName() + ".BUDGET_CHECKED";
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatementStatisticsFilter.class);
+
+    private final Environment environment;
+    private final boolean failOverBudget;
+    private final int defaultBudget;
+    // by controller method, so bounded by the mappings
+    private final Map<String, Integer> budgets = new ConcurrentHashMap<>();
+
+    @Autowired
+    public StatementStatisticsFilter(final Environment environment,
+                                     @Value("${web.statement-budget.mode:warn}") final String mode,
+                                     @Value("${web.statement-budget.default:10}") final int defaultBudget) {
+        this.environment = environment;
+        this.failOverBudget = mode.toLowerCase(Locale.ROOT).equals("fail");
+        this.defaultBudget = defaultBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        StatementStatistics statistics = StatementStatistics.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            StatementStatistics.stop();
+        }
+        // a written body got the header from ServerTimingResponseAdvice
+        if (!response.isCommitted() && !response.containsHeader(SERVER_TIMING_HEADER)) {
+            response.addHeader(SERVER_TIMING_HEADER, serverTiming(statistics));
+        }
+    }
+
+    /**
+     * Checks the statements the request executed so far against the budget of its endpoint, once per request.
+     * Over budget throws {@link StatementBudgetExceededException} with the fail mode.
+     */
+    public void checkBudget(HttpServletRequest request) {
+        StatementStatistics statistics = StatementStatistics.current();
+        if (statistics == null || request.getAttribute(BUDGET_CHECKED_ATTRIBUTE) != null) {
+            return;
+        }
+        // an error response written for a failed check is not checked again
+        request.setAttribute(BUDGET_CHECKED_ATTRIBUTE, Boolean.TRUE);
+        String endpoint = endpoint(request);
+        int budget = endpoint.equals(UNMATCHED_ENDPOINT) ? defaultBudget : budgets.computeIfAbsent(endpoint,
+            key -> environment.getProperty(BUDGET_PROPERTY_PREFIX + key, Integer.class, defaultBudget));
+        if (statistics.getStatements() <= budget) {
+            LOGGER.debug("{} {} ({}): {}", request.getMethod(), request.getRequestURI(), endpoint, statistics);
+            return;
+        }
+        String overBudget = String.format("%s %s (%s): %s, budget %d statements",
+            request.getMethod(), request.getRequestURI(), endpoint, statistics, budget);
+        if (failOverBudget) {
+            throw new StatementBudgetExceededException(overBudget);
+        }
+        LOGGER.warn("Statement budget exceeded by {}", overBudget);
+    }
+
+    static String serverTiming(StatementStatistics statistics) {
+        return String.format(Locale.ROOT, "db;dur=%.3f;desc=\"%d statements, %d rows\"",
+            statistics.getNanos() / 1_000_000.0, statistics.getStatements(), statistics.getRows());
+    }
+
+    // the controller method, not the path, which would give every URI probed an entry of its own
+    private static String endpoint(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return UNMATCHED_ENDPOINT;
+    }
+}
@@ -1,5 +1,6 @@
 package com.mjc.school.controller;
 
+import com.mjc.school.controller.conditional.EntityTags;
 import com.mjc.school.controller.impl.AuthorRestController;
 import com.mjc.school.service.AuthorService;
 import com.mjc.school.service.dto.*;
@@ -67,6 +68,21 @@ public class AuthorRestControllerTest {
 
 
 
+    @Test
+    void readById_withFields_writesOnlyRequestedFields_Test() {
+        Mockito.when(authorService.readById(eq(1L))).thenReturn(
+            new AuthorDtoResponse(1L, "testAuthorName1", LocalDateTime.now(), LocalDateTime.now()));
+        RestAssuredMockMvc.given()
+            .param("fields", "name")
+            .when()
+            .get(BASE_PATH + "/1")
+            .then()
+            .statusCode(200)
+            .body("name", Matchers.equalTo("testAuthorName1"))
+            .body("$", Matchers.not(Matchers.hasKey("createdDate")))
+            .body("$", Matchers.not(Matchers.hasKey("lastUpdatedDate")));
+    }
+
     @Test
     void readById_ResponseCode200_Test() {
         long id1 = 1L;
@@ -93,6 +109,22 @@ public class AuthorRestControllerTest {
         Assertions.assertEquals(404, statusCode);
     }
 
+    @Test
+    void readById_withCurrentETag_ResponseCode304_Test() {
+        long id1 = 1L;
+        LocalDateTime lastModified = LocalDateTime.now();
+        VersionDtoResponse version = new VersionDtoResponse(lastModified, lastModified.toString());
+        Mockito.when(authorService.readVersionById(eq(id1))).thenReturn(version);
+
+        RestAssuredMockMvc.given()
+            .header("If-None-Match", EntityTags.strong(id1, version, ""))
+            .when()
+            .get(BASE_PATH + "/1")
+            .then()
+            .statusCode(304);
+        Mockito.verify(authorService, Mockito.never()).readById(eq(id1));
+    }
+
     @Test
     void create_ResponseCode201_Test() {
         long id1 = 1L;
@@ -0,0 +1,50 @@
+package com.mjc.school.controller;
+
+import com.mjc.school.controller.impl.CacheStatisticsRestController;
+import com.mjc.school.service.CacheStatisticsService;
+import com.mjc.school.service.dto.CacheRegionStatisticsDtoResponse;
+import io.restassured.module.mockmvc.RestAssuredMockMvc;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+@WebMvcTest(CacheStatisticsRestController.class)
+public class CacheStatisticsRestControllerTest {
+    private final String BASE_PATH = "/api/v1/cache-statistics";
+
+    @MockBean
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        RestAssuredMockMvc.mockMvc(mockMvc);
+    }
+
+    @Test
+    void readAll_ResponseCode200_Test() {
+        Mockito.when(cacheStatisticsService.readAll()).thenReturn(List.of(
+            new CacheRegionStatisticsDtoResponse("tags", 7, 2, 2, 2),
+            new CacheRegionStatisticsDtoResponse("tags-by-name", 5, 1, 1, 1)));
+        RestAssuredMockMvc.given()
+            .when()
+            .get(BASE_PATH)
+            .then()
+            .statusCode(200)
+            .body("size()", Matchers.equalTo(2))
+            .body("[0].region", Matchers.equalTo("tags"))
+            .body("[0].hitCount", Matchers.equalTo(7))
+            .body("[0].missCount", Matchers.equalTo(2))
+            .body("[1].region", Matchers.equalTo("tags-by-name"));
+        Mockito.verify(cacheStatisticsService).readAll();
+    }
+}
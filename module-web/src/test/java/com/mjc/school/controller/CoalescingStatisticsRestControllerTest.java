@@ -0,0 +1,49 @@
+package com.mjc.school.controller;
+
+import com.mjc.school.controller.impl.CoalescingStatisticsRestController;
+import com.mjc.school.service.CoalescingStatisticsService;
+import com.mjc.school.service.dto.CoalescingStatisticsDtoResponse;
+import io.restassured.module.mockmvc.RestAssuredMockMvc;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+@WebMvcTest(CoalescingStatisticsRestController.class)
+public class CoalescingStatisticsRestControllerTest {
+    private final String BASE_PATH = "/api/v1/coalescing-statistics";
+
+    @MockBean
+    private CoalescingStatisticsService coalescingStatisticsService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        RestAssuredMockMvc.mockMvc(mockMvc);
+    }
+
+    @Test
+    void readAll_ResponseCode200_Test() {
+        Mockito.when(coalescingStatisticsService.readAll()).thenReturn(List.of(
+            new CoalescingStatisticsDtoResponse("NewsServiceImpl.readAll", 12, 3),
+            new CoalescingStatisticsDtoResponse("NewsServiceImpl.readById", 40, 25)));
+        RestAssuredMockMvc.given()
+            .when()
+            .get(BASE_PATH)
+            .then()
+            .statusCode(200)
+            .body("size()", Matchers.equalTo(2))
+            .body("[0].operation", Matchers.equalTo("NewsServiceImpl.readAll"))
+            .body("[0].callCount", Matchers.equalTo(12))
+            .body("[1].coalescedCount", Matchers.equalTo(25));
+        Mockito.verify(coalescingStatisticsService).readAll();
+    }
+}
@@ -50,7 +50,7 @@ public class CommentRestControllerTest {
         String content1 = "testComment1";
         String content2 = "testComment2";
 
-        Mockito.when(commentService.readAll(any(), any(), any())).thenReturn(new PageDtoResponse<CommentDtoResponse>(List.of(
+        Mockito.when(commentService.readAll(any(), any(), any(), any())).thenReturn(new PageDtoResponse<CommentDtoResponse>(List.of(
             new CommentDtoResponse(id1, content1, LocalDateTime.now(), LocalDateTime.now(), null),
             new CommentDtoResponse(id2, content2, LocalDateTime.now(), LocalDateTime.now(), null)
         ), 1, 1));
@@ -66,7 +66,7 @@ public class CommentRestControllerTest {
             .body("modelDtoList[0].content", Matchers.equalTo(content1))
             .body("modelDtoList[1].id", Matchers.equalTo((int) id2))
             .body("modelDtoList[1].content", Matchers.equalTo(content2));
-        Mockito.verify(commentService).readAll(any(), any(), any());
+        Mockito.verify(commentService).readAll(any(), any(), any(), any());
     }
 
     @Test
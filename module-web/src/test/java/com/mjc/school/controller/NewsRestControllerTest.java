@@ -1,8 +1,10 @@
 package com.mjc.school.controller;
 
+import com.mjc.school.controller.cache.NewsResponseCache;
 import com.mjc.school.controller.impl.NewsRestController;
 import com.mjc.school.service.AuthorService;
 import com.mjc.school.service.CommentService;
+import com.mjc.school.service.NewsBatchService;
 import com.mjc.school.service.NewsService;
 import com.mjc.school.service.TagService;
 import com.mjc.school.service.dto.*;
@@ -20,11 +22,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -42,6 +51,10 @@ public class NewsRestControllerTest {
     private CommentService commentService;
     @MockBean
     private AuthorService authorService;
+    @MockBean
+    private NewsBatchService newsBatchService;
+    @MockBean
+    private NewsResponseCache newsResponseCache;
 
     @Autowired
     private MockMvc mockMvc;
@@ -49,6 +62,8 @@ public class NewsRestControllerTest {
     @BeforeEach
     void setUp() {
         RestAssuredMockMvc.mockMvc(mockMvc);
+        Mockito.when(newsResponseCache.getOrLoad(any(), any(), any()))
+            .thenAnswer(invocation -> invocation.<Supplier<NewsDtoResponse>>getArgument(2).get());
     }
 
     @Test
@@ -60,9 +75,9 @@ public class NewsRestControllerTest {
         String title2 = "testNewsTitle2";
         String content2 = "testNewsContent2";
 
-        Mockito.when(newsService.readAll(any(), any(), any())).thenReturn(new PageDtoResponse<NewsDtoResponse>(List.of(
-            new NewsDtoResponse(id1, title1, content1, LocalDateTime.now(), LocalDateTime.now(), null, null, null),
-            new NewsDtoResponse(id2, title2, content2, LocalDateTime.now(), LocalDateTime.now(), null, null, null)
+        Mockito.when(newsService.readAll(any(), any(), any(), any())).thenReturn(new PageDtoResponse<NewsDtoResponse>(List.of(
+            new NewsDtoResponse(id1, title1, content1, LocalDateTime.now(), LocalDateTime.now(), null, null, null, null),
+            new NewsDtoResponse(id2, title2, content2, LocalDateTime.now(), LocalDateTime.now(), null, null, null, null)
         ), 1, 1));
         RestAssuredMockMvc.given()
             .param("page", "1")
@@ -78,7 +93,133 @@ public class NewsRestControllerTest {
             .body("modelDtoList[1].id", Matchers.equalTo((int) id2))
             .body("modelDtoList[1].title", Matchers.equalTo(title2))
             .body("modelDtoList[1].content", Matchers.equalTo(content2));
-        Mockito.verify(newsService).readAll(any(), any(), any());
+        Mockito.verify(newsService).readAll(any(), any(), any(), any());
+    }
+
+    @Test
+    void readAll_sendsServerTimingOfStatements_Test() {
+        Mockito.when(newsService.readAll(any(), any(), any(), any())).thenReturn(new PageDtoResponse<NewsDtoResponse>(List.of(
+            new NewsDtoResponse(1L, "testNewsTitle1", "testNewsContent1", LocalDateTime.now(), LocalDateTime.now(), null, null, null, null)
+        ), 1, 1));
+        RestAssuredMockMvc.given()
+            .when()
+            .get(BASE_PATH)
+            .then()
+            .statusCode(200)
+            .header("Server-Timing", Matchers.startsWith("db;dur="))
+            .header("Server-Timing", Matchers.containsString("0 statements, 0 rows"));
+    }
+
+    @Test
+    void readAll_withCurrentETag_ResponseCode304_Test() {
+        Mockito.when(newsService.readAll(any(), any(), any(), any())).thenReturn(new PageDtoResponse<NewsDtoResponse>(List.of(
+            new NewsDtoResponse(1L, "testNewsTitle1", "testNewsContent1", LocalDateTime.now(), LocalDateTime.now(), null, null, null, null)
+        ), 1, 1));
+        String etag = RestAssuredMockMvc.given()
+            .when()
+            .get(BASE_PATH)
+            .then()
+            .statusCode(200)
+            .header("ETag", Matchers.startsWith("W/"))
+            .extract().header("ETag");
+
+        RestAssuredMockMvc.given()
+            .header("If-None-Match", etag)
+            .when()
+            .get(BASE_PATH)
+            .then()
+            .statusCode(304);
+    }
+
+    @Test
+    void readAll_withETagOfOtherCommentCount_ResponseCode200_Test() {
+        LocalDateTime now = LocalDateTime.now();
+        Mockito.when(newsService.readAll(any(), any(), any(), any())).thenReturn(new PageDtoResponse<NewsDtoResponse>(List.of(
+            new NewsDtoResponse(1L, "testNewsTitle1", "testNewsContent1", now, now, null, null, null, 3L)
+        ), 1, 1));
+        String etag = RestAssuredMockMvc.given()
+            .when()
+            .get(BASE_PATH)
+            .then()
+            .statusCode(200)
+            .extract().header("ETag");
+        Mockito.when(newsService.readAll(any(), any(), any(), any())).thenReturn(new PageDtoResponse<NewsDtoResponse>(List.of(
+            new NewsDtoResponse(1L, "testNewsTitle1", "testNewsContent1", now, now, null, null, null, 2L)
+        ), 1, 1));
+
+        RestAssuredMockMvc.given()
+            .header("If-None-Match", etag)
+            .when()
+            .get(BASE_PATH)
+            .then()
+            .statusCode(200);
+    }
+
+    @Test
+    void readAll_withFieldsAndIfNoneMatch_tagsEachRepresentation_Test() {
+        Mockito.when(newsService.readAll(any(), any(), any(), any())).thenReturn(new PageDtoResponse<NewsDtoResponse>(List.of(
+            new NewsDtoResponse(1L, "testNewsTitle1", "testNewsContent1", LocalDateTime.now(), LocalDateTime.now(), null, null, null, null)
+        ), 1, 1));
+        String etag = RestAssuredMockMvc.given()
+            .param("fields", "title")
+            .when()
+            .get(BASE_PATH)
+            .then()
+            .statusCode(200)
+            .header("ETag", Matchers.startsWith("W/"))
+            .extract().header("ETag");
+
+        RestAssuredMockMvc.given()
+            .param("fields", "title")
+            .header("If-None-Match", etag)
+            .when()
+            .get(BASE_PATH)
+            .then()
+            .statusCode(304);
+        RestAssuredMockMvc.given()
+            .header("If-None-Match", etag)
+            .when()
+            .get(BASE_PATH)
+            .then()
+            .statusCode(200)
+            .body("modelDtoList[0].content", Matchers.equalTo("testNewsContent1"));
+    }
+
+    @Test
+    void readAll_withFields_writesOnlyRequestedFieldsAndLoadsNoAssociations_Test() {
+        Mockito.when(newsService.readAll(any(), any(), any(), any())).thenReturn(new PageDtoResponse<NewsDtoResponse>(List.of(
+            new NewsDtoResponse(1L, "testNewsTitle1", "testNewsContent1", LocalDateTime.now(), LocalDateTime.now(), null, null, null, null)
+        ), 1, 1));
+        RestAssuredMockMvc.given()
+            .param("fields", "title")
+            .when()
+            .get(BASE_PATH)
+            .then()
+            .statusCode(200)
+            .body("modelDtoList[0].id", Matchers.equalTo(1))
+            .body("modelDtoList[0].title", Matchers.equalTo("testNewsTitle1"))
+            .body("modelDtoList[0]", Matchers.not(Matchers.hasKey("content")))
+            .body("modelDtoList[0]", Matchers.not(Matchers.hasKey("tagDtos")))
+            .body("currentPage", Matchers.equalTo(1));
+        Mockito.verify(newsService).readAll(any(), any(), any(), eq(new EmbedDtoRequest(List.of(), true)));
+    }
+
+    @Test
+    void readAll_withEmbed_loadsOnlyEmbeddedAssociations_Test() {
+        Mockito.when(newsService.readAll(any(), any(), any(), any())).thenReturn(new PageDtoResponse<NewsDtoResponse>(List.of(
+            new NewsDtoResponse(1L, "testNewsTitle1", "testNewsContent1", LocalDateTime.now(), LocalDateTime.now(), null,
+                List.of(new TagDtoResponse(2L, "testTag")), null, null)
+        ), 1, 1));
+        RestAssuredMockMvc.given()
+            .param("embed", "tags")
+            .when()
+            .get(BASE_PATH)
+            .then()
+            .statusCode(200)
+            .body("modelDtoList[0].content", Matchers.equalTo("testNewsContent1"))
+            .body("modelDtoList[0].tagDtos[0].name", Matchers.equalTo("testTag"))
+            .body("modelDtoList[0]", Matchers.not(Matchers.hasKey("commentForNewsDtos")));
+        Mockito.verify(newsService).readAll(any(), any(), any(), eq(new EmbedDtoRequest(List.of("tags"))));
     }
 
     @Test
@@ -90,6 +231,33 @@ public class NewsRestControllerTest {
         Assertions.assertEquals(400, statusCode);
     }
 
+    @Test
+    void exportAll_streamsOneNewsPerLine_ResponseCode200_Test() throws Exception {
+        Mockito.doAnswer(invocation -> {
+            Consumer<List<NewsDtoResponse>> chunkConsumer = invocation.getArgument(0);
+            chunkConsumer.accept(List.of(
+                new NewsDtoResponse(1L, "testNewsTitle1", "testNewsContent1", LocalDateTime.now(), LocalDateTime.now(), null, null, null, null),
+                new NewsDtoResponse(2L, "testNewsTitle2", "testNewsContent2", LocalDateTime.now(), LocalDateTime.now(), null, null, null, null)));
+            chunkConsumer.accept(List.of(
+                new NewsDtoResponse(3L, "testNewsTitle3", "testNewsContent3", LocalDateTime.now(), LocalDateTime.now(), null, null, null, null)));
+            return null;
+        }).when(newsService).exportAll(any());
+
+        MvcResult asyncResult = mockMvc.perform(MockMvcRequestBuilders.get(BASE_PATH + "/export"))
+            .andExpect(MockMvcResultMatchers.request().asyncStarted())
+            .andReturn();
+        // the export's own timeout, the other async requests keep the default
+        Assertions.assertEquals(600_000L, asyncResult.getRequest().getAsyncContext().getTimeout());
+        String body = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(asyncResult))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        Assertions.assertEquals(3, lines.length);
+        Assertions.assertTrue(lines[0].contains("\"title\":\"testNewsTitle1\""));
+        Assertions.assertTrue(lines[2].contains("\"title\":\"testNewsTitle3\""));
+    }
+
     @Test
     void readById_ResponseCode200_Test() {
         long id1 = 1L;
@@ -97,7 +265,7 @@ public class NewsRestControllerTest {
         String content1 = "testNewsContent1";
 
         Mockito.when(newsService.readById(eq(id1))).thenReturn(
-            new NewsDtoResponse(id1, title1, content1, LocalDateTime.now(), LocalDateTime.now(), null, null, null)
+            new NewsDtoResponse(id1, title1, content1, LocalDateTime.now(), LocalDateTime.now(), null, null, null, null)
         );
         RestAssuredMockMvc.given()
             .when()
@@ -110,6 +278,25 @@ public class NewsRestControllerTest {
         Mockito.verify(newsService).readById(eq(id1));
     }
 
+    @Test
+    void readById_withEmbed_readsOnlyEmbeddedAssociations_Test() {
+        long id1 = 1L;
+        Mockito.when(newsService.readById(eq(id1), any())).thenReturn(
+            new NewsDtoResponse(id1, "testNewsTitle1", "testNewsContent1", LocalDateTime.now(), LocalDateTime.now(), null,
+                List.of(new TagDtoResponse(2L, "testTag")), null, null));
+        RestAssuredMockMvc.given()
+            .param("embed", "tags")
+            .when()
+            .get(BASE_PATH + "/1")
+            .then()
+            .statusCode(200)
+            .body("content", Matchers.equalTo("testNewsContent1"))
+            .body("tagDtos[0].name", Matchers.equalTo("testTag"))
+            .body("$", Matchers.not(Matchers.hasKey("commentForNewsDtos")));
+        Mockito.verify(newsService).readById(eq(id1), eq(new EmbedDtoRequest(List.of("tags"))));
+        Mockito.verify(newsService, Mockito.never()).readById(eq(id1));
+    }
+
     @Test
     void readById_ResponseCode404_Test(){
         RestAssured.baseURI = BASE_URI;
@@ -119,13 +306,78 @@ public class NewsRestControllerTest {
         Assertions.assertEquals(404, statusCode);
     }
 
+    @Test
+    void readById_withCurrentETag_ResponseCode304_Test() {
+        long id1 = 1L;
+        VersionDtoResponse version = new VersionDtoResponse(LocalDateTime.now(), "testFingerprint");
+        Mockito.when(newsService.readVersionById(eq(id1))).thenReturn(version);
+        Mockito.when(newsService.readById(eq(id1))).thenReturn(
+            new NewsDtoResponse(id1, "testNewsTitle1", "testNewsContent1", LocalDateTime.now(), LocalDateTime.now(), null, null, null, null));
+        Mockito.when(newsResponseCache.versionOf(any())).thenReturn(version);
+        String etag = RestAssuredMockMvc.given()
+            .when()
+            .get(BASE_PATH + "/1")
+            .then()
+            .statusCode(200)
+            .header("ETag", Matchers.notNullValue())
+            .header("Last-Modified", Matchers.notNullValue())
+            .extract().header("ETag");
+        // the full response got its version from the cache
+        Mockito.verify(newsService, Mockito.never()).readVersionById(eq(id1));
+
+        RestAssuredMockMvc.given()
+            .header("If-None-Match", etag)
+            .when()
+            .get(BASE_PATH + "/1")
+            .then()
+            .statusCode(304);
+        Mockito.verify(newsService).readById(eq(id1));
+        Mockito.verify(newsService).readVersionById(eq(id1));
+    }
+
+    @Test
+    void readById_withFieldsAndETagOfOtherFields_ResponseCode200_Test() {
+        long id1 = 1L;
+        VersionDtoResponse version = new VersionDtoResponse(LocalDateTime.now(), "testFingerprint");
+        NewsDtoResponse cached = new NewsDtoResponse(id1, "testNewsTitle1", "testNewsContent1", LocalDateTime.now(), LocalDateTime.now(),
+            null, null, null, null);
+        Mockito.when(newsService.readVersionById(eq(id1))).thenReturn(version);
+        Mockito.when(newsService.readById(eq(id1))).thenReturn(cached);
+        Mockito.when(newsResponseCache.get(id1)).thenReturn(cached);
+        Mockito.when(newsResponseCache.versionOf(any())).thenReturn(version);
+        String etag = RestAssuredMockMvc.given()
+            .param("fields", "title")
+            .when()
+            .get(BASE_PATH + "/1")
+            .then()
+            .statusCode(200)
+            .body("title", Matchers.equalTo("testNewsTitle1"))
+            .body("$", Matchers.not(Matchers.hasKey("content")))
+            .extract().header("ETag");
+
+        RestAssuredMockMvc.given()
+            .header("If-None-Match", etag)
+            .when()
+            .get(BASE_PATH + "/1")
+            .then()
+            .statusCode(200)
+            .body("content", Matchers.equalTo("testNewsContent1"));
+        RestAssuredMockMvc.given()
+            .param("fields", "title")
+            .header("If-None-Match", etag)
+            .when()
+            .get(BASE_PATH + "/1")
+            .then()
+            .statusCode(304);
+    }
+
     @Test
     void create_ResponseCode201_Test() {
         long id1 = 1L;
         String title1 = "testNewsTitle1";
         String content1 = "testNewsContent1";
         Mockito.when(newsService.create(any(NewsDtoCreateRequest.class))).thenReturn(
-            new NewsDtoResponse(id1, title1, content1, LocalDateTime.now(), LocalDateTime.now(), null, null, null)
+            new NewsDtoResponse(id1, title1, content1, LocalDateTime.now(), LocalDateTime.now(), null, null, null, null)
         );
         RestAssuredMockMvc.given()
             .contentType("application/json")
@@ -158,7 +410,7 @@ public class NewsRestControllerTest {
         String title1 = "testNewsTitle1";
         String content1 = "testNewsContent1";
         Mockito.when(newsService.update(eq(id1), any(NewsDtoUpdateRequest.class))).thenReturn(
-            new NewsDtoResponse(id1, title1, content1, LocalDateTime.now(), LocalDateTime.now(), null, null, null)
+            new NewsDtoResponse(id1, title1, content1, LocalDateTime.now(), LocalDateTime.now(), null, null, null, null)
         );
         RestAssuredMockMvc.given()
             .contentType("application/json")
@@ -324,4 +576,47 @@ public class NewsRestControllerTest {
         int statusCode = response.getStatusCode();
         Assertions.assertEquals(404, statusCode);
     }
+
+    @Test
+    void createAll_withNdjson_ResponseCode200_Test() {
+        Mockito.when(newsBatchService.createAll(any())).thenAnswer(invocation -> {
+            Iterator<NewsDtoCreateRequest> createRequests = invocation.getArgument(0);
+            List<NewsBatchItemDtoResponse> items = new ArrayList<>();
+            while (createRequests.hasNext()) {
+                createRequests.next();
+                items.add(NewsBatchItemDtoResponse.created(items.size(), items.size() + 1L));
+            }
+            return new NewsBatchDtoResponse(items.size(), 0, items);
+        });
+        RestAssuredMockMvc.given()
+            .contentType("application/x-ndjson")
+            .body("{\"title\":\"testNewsTitle1\",\"content\":\"testNewsContent1\"}\n" +
+                "{\"title\":\"testNewsTitle2\",\"content\":\"testNewsContent2\",\"tagsNames\":[\"tag\"]}\n")
+            .when()
+            .post(BASE_PATH + "/batch")
+            .then()
+            .statusCode(200)
+            .body("createdCount", Matchers.equalTo(2))
+            .body("items.size()", Matchers.equalTo(2))
+            .body("items[1].status", Matchers.equalTo("CREATED"))
+            .body("items[1].id", Matchers.equalTo(2));
+    }
+
+    @Test
+    void createAll_withUnreadableBody_ResponseCode400_Test() {
+        Mockito.when(newsBatchService.createAll(any())).thenAnswer(invocation -> {
+            Iterator<NewsDtoCreateRequest> createRequests = invocation.getArgument(0);
+            while (createRequests.hasNext()) {
+                createRequests.next();
+            }
+            return new NewsBatchDtoResponse();
+        });
+        RestAssuredMockMvc.given()
+            .contentType("application/json")
+            .body("[{\"title\":\"testNewsTitle1\",\"content\":\"testNewsContent1\"}, {\"title\":")
+            .when()
+            .post(BASE_PATH + "/batch")
+            .then()
+            .statusCode(400);
+    }
 }
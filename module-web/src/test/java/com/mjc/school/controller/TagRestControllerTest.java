@@ -68,6 +68,21 @@ public class TagRestControllerTest {
         Mockito.verify(tagService).readAll(any(), any(), any());
     }
 
+    @Test
+    void readAll_withFields_writesOnlyRequestedFields_Test() {
+        Mockito.when(tagService.readAll(any(), any(), any())).thenReturn(new PageDtoResponse<TagDtoResponse>(List.of(
+            new TagDtoResponse(1L, "testTag1")
+        ), 1, 1));
+        RestAssuredMockMvc.given()
+            .param("fields", "id")
+            .when()
+            .get(BASE_PATH)
+            .then()
+            .statusCode(200)
+            .body("modelDtoList[0].id", Matchers.equalTo(1))
+            .body("modelDtoList[0]", Matchers.not(Matchers.hasKey("name")));
+    }
+
     @Test
     void readById_ResponseCode200_Test() {
         long id1 = 1L;
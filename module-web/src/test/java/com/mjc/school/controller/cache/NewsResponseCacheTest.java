@@ -0,0 +1,117 @@
+package com.mjc.school.controller.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mjc.school.service.dto.AuthorDtoResponse;
+import com.mjc.school.service.dto.NewsDtoResponse;
+import com.mjc.school.service.dto.TagDtoResponse;
+import com.mjc.school.service.dto.VersionDtoResponse;
+import com.mjc.school.service.event.AuthorChangedEvent;
+import com.mjc.school.service.event.NewsChangedEvent;
+import com.mjc.school.service.event.TagChangedEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+class NewsResponseCacheTest {
+    private static final VersionDtoResponse VERSION = new VersionDtoResponse(LocalDateTime.of(2023, 1, 2, 10, 15), "testFingerprint");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void getOrLoad_loadsOnceUntilNewsChanges_Test() {
+        NewsResponseCache cache = new NewsResponseCache(objectMapper, 1024 * 1024);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<NewsDtoResponse> loader = () -> {
+            loads.incrementAndGet();
+            return news(1L, 10L, 100L);
+        };
+
+        cache.getOrLoad(1L, () -> VERSION, loader);
+        cache.getOrLoad(1L, () -> VERSION, loader);
+        Assertions.assertEquals(1, loads.get());
+
+        cache.onNewsChanged(new NewsChangedEvent(1L));
+        cache.getOrLoad(1L, () -> VERSION, loader);
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    @Test
+    void onTagAndAuthorChanged_evictOnlyNewsReferencingThem_Test() {
+        NewsResponseCache cache = new NewsResponseCache(objectMapper, 1024 * 1024);
+        AtomicInteger loads = new AtomicInteger();
+        cache.getOrLoad(1L, () -> VERSION, () -> news(1L, 10L, 100L));
+        cache.getOrLoad(2L, () -> VERSION, () -> news(2L, 20L, 200L));
+
+        cache.onTagChanged(new TagChangedEvent(10L));
+        cache.onAuthorChanged(new AuthorChangedEvent(200L));
+        cache.getOrLoad(1L, () -> VERSION, () -> {
+            loads.incrementAndGet();
+            return news(1L, 10L, 100L);
+        });
+        cache.getOrLoad(2L, () -> VERSION, () -> {
+            loads.incrementAndGet();
+            return news(2L, 20L, 200L);
+        });
+
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getOrLoad_evictsLeastRecentlyReadBeyondMaxWeight_Test() throws Exception {
+        int weight = objectMapper.writeValueAsBytes(news(1L, 10L, 100L)).length;
+        NewsResponseCache cache = new NewsResponseCache(objectMapper, weight * 2L);
+        cache.getOrLoad(1L, () -> VERSION, () -> news(1L, 10L, 100L));
+        cache.getOrLoad(2L, () -> VERSION, () -> news(2L, 10L, 100L));
+        // reading 1 again makes 2 the least recently read one
+        cache.getOrLoad(1L, () -> VERSION, () -> news(1L, 10L, 100L));
+        cache.getOrLoad(3L, () -> VERSION, () -> news(3L, 10L, 100L));
+
+        AtomicInteger loads = new AtomicInteger();
+        cache.getOrLoad(1L, () -> VERSION, () -> {
+            loads.incrementAndGet();
+            return news(1L, 10L, 100L);
+        });
+        Assertions.assertEquals(0, loads.get());
+        cache.getOrLoad(2L, () -> VERSION, () -> {
+            loads.incrementAndGet();
+            return news(2L, 10L, 100L);
+        });
+        Assertions.assertEquals(1, loads.get());
+    }
+
+    @Test
+    void versionOf_returnsVersionLoadedBeforeTheCachedResponse_Test() {
+        NewsResponseCache cache = new NewsResponseCache(objectMapper, 1024 * 1024);
+        List<String> loads = new ArrayList<>();
+        NewsDtoResponse response = cache.getOrLoad(1L, () -> {
+            loads.add("version");
+            return VERSION;
+        }, () -> {
+            loads.add("response");
+            return news(1L, 10L, 100L);
+        });
+
+        Assertions.assertEquals(List.of("version", "response"), loads);
+        Assertions.assertSame(VERSION, cache.versionOf(response));
+        Assertions.assertNull(cache.versionOf(news(1L, 10L, 100L)));
+
+        cache.onNewsChanged(new NewsChangedEvent(1L));
+        Assertions.assertNull(cache.versionOf(response));
+    }
+
+    private static NewsDtoResponse news(Long id, Long tagId, Long authorId) {
+        return NewsDtoResponse.builder()
+            .id(id)
+            .title("testTitle")
+            .content("testContent")
+            .authorDto(new AuthorDtoResponse(authorId, "testAuthor", null, null))
+            .tagDtos(List.of(new TagDtoResponse(tagId, "testTag")))
+            .commentForNewsDtos(new ArrayList<>())
+            .build();
+    }
+}
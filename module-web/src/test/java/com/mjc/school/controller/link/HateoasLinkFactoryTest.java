@@ -0,0 +1,54 @@
+package com.mjc.school.controller.link;
+
+import com.mjc.school.controller.impl.NewsRestController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class HateoasLinkFactoryTest {
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void template_readsPathFromMappings_Test() {
+        Assertions.assertEquals("/api/v1/news/{id}", HateoasLinkFactory.template(NewsRestController.class, "readById").getPath());
+        Assertions.assertEquals("/api/v1/news/{id}/tags?page=1&page-size=10",
+            HateoasLinkFactory.template(NewsRestController.class, "readTagsByNewsId", "page=1&page-size=10").getPath());
+    }
+
+    @Test
+    void link_isRelativeToHostWithinRequest_Test() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/school/api/v1/news");
+        request.setServerName("example.com");
+        request.setServerPort(8080);
+        request.setContextPath("/school");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        Link link = HateoasLinkFactory.template(NewsRestController.class, "readTagsByNewsId", "page=1&page-size=10")
+            .link(5L, "tagsNames");
+
+        Assertions.assertEquals("/school/api/v1/news/5/tags?page=1&page-size=10", link.getHref());
+        Assertions.assertEquals("tagsNames", link.getRel().value());
+    }
+
+    @Test
+    void link_isRelativeOutsideRequest_Test() {
+        Link link = HateoasLinkFactory.template(NewsRestController.class, "readById").selfLink(7L);
+
+        Assertions.assertEquals("/api/v1/news/7", link.getHref());
+        Assertions.assertEquals(IanaLinkRelations.SELF, link.getRel());
+    }
+
+    @Test
+    void template_failsForUnmappedMethod_Test() {
+        Assertions.assertThrows(IllegalStateException.class,
+            () -> HateoasLinkFactory.template(NewsRestController.class, "readVersionById"));
+    }
+}
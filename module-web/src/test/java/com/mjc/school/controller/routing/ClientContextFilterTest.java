@@ -0,0 +1,35 @@
+package com.mjc.school.controller.routing;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class ClientContextFilterTest {
+
+    @Test
+    void readClient_prefersClientId_Test() {
+        MockHttpServletRequest request = request();
+        request.addHeader(ClientContextFilter.CLIENT_ID_HEADER, "testClient");
+
+        Assertions.assertEquals("testClient", ClientContextFilter.readClient(request));
+    }
+
+    @Test
+    void readClient_behindProxy_usesForwardedFor_Test() {
+        MockHttpServletRequest request = request();
+        request.addHeader(ClientContextFilter.FORWARDED_FOR_HEADER, "203.0.113.7, 10.0.0.2");
+
+        Assertions.assertEquals("203.0.113.7", ClientContextFilter.readClient(request));
+    }
+
+    @Test
+    void readClient_withoutHeaders_usesRemoteAddress_Test() {
+        Assertions.assertEquals("10.0.0.1", ClientContextFilter.readClient(request()));
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+}